@@ -0,0 +1,108 @@
+package com.revwf.bench;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Database stand-in for mapping benchmarks: a forward-only ResultSet over
+ * rows held in memory, so row mappers can be timed without a server or driver
+ * in the way. Supports the getters the DAOs use, by label or by index.
+ */
+public final class InMemoryResultSet {
+    private InMemoryResultSet() {
+    }
+
+    public static ResultSet of(String[] labels, Object[][] rows) {
+        Map<String, Integer> indexByLabel = new HashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            indexByLabel.put(labels[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+        Cursor cursor = new Cursor(indexByLabel, rows);
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, (proxy, method, args) -> cursor.invoke(method.getName(), args));
+    }
+
+    private static final class Cursor {
+        private final Map<String, Integer> indexByLabel;
+        private final Object[][] rows;
+        private int row = -1;
+        private boolean wasNull;
+
+        Cursor(Map<String, Integer> indexByLabel, Object[][] rows) {
+            this.indexByLabel = indexByLabel;
+            this.rows = rows;
+        }
+
+        Object invoke(String method, Object[] args) throws SQLException {
+            switch (method) {
+                case "next":
+                    return ++row < rows.length;
+                case "close":
+                    return null;
+                case "isClosed":
+                    return false;
+                case "wasNull":
+                    return wasNull;
+                case "findColumn":
+                    return column(args[0]);
+                case "getInt": {
+                    Object value = value(args[0]);
+                    return value == null ? 0 : ((Number) value).intValue();
+                }
+                case "getLong": {
+                    Object value = value(args[0]);
+                    return value == null ? 0L : ((Number) value).longValue();
+                }
+                case "getDouble": {
+                    Object value = value(args[0]);
+                    return value == null ? 0.0 : ((Number) value).doubleValue();
+                }
+                case "getBoolean": {
+                    Object value = value(args[0]);
+                    return value != null && ((Number) value).intValue() != 0;
+                }
+                case "getString": {
+                    Object value = value(args[0]);
+                    return value == null ? null : value.toString();
+                }
+                case "getDate":
+                    return (Date) value(args[0]);
+                case "getTimestamp":
+                    return (Timestamp) value(args[0]);
+                case "getObject":
+                    return value(args[0]);
+                case "hashCode":
+                    return System.identityHashCode(this);
+                case "equals":
+                    return false;
+                case "toString":
+                    return "InMemoryResultSet[row " + row + " of " + rows.length + "]";
+                default:
+                    throw new SQLException("Not supported by the stand-in: " + method);
+            }
+        }
+
+        private Object value(Object column) throws SQLException {
+            Object value = rows[row][column(column) - 1];
+            wasNull = value == null;
+            return value;
+        }
+
+        private int column(Object column) throws SQLException {
+            if (column instanceof Integer) {
+                return (Integer) column;
+            }
+            Integer index = indexByLabel.get(((String) column).toLowerCase(Locale.ROOT));
+            if (index == null) {
+                throw new SQLException("No column " + column);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.revwf.bench;
+
+import com.revwf.util.InputValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the validators the console and API run on every input
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InputValidatorBenchmark {
+    public String email = "first.last@mail.company.com";
+    public String phone = "9876543210";
+    public String employeeId = "EMP00042";
+    public String date = "2024-02-29";
+    public String salary = "75000.50";
+    public String menuChoice = "7";
+    public String dirtyInput = "  <script>alert('x')</script> name ";
+
+    @Benchmark
+    public boolean validEmail() {
+        return InputValidator.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean validPhone() {
+        return InputValidator.isValidPhone(phone);
+    }
+
+    @Benchmark
+    public boolean validEmployeeId() {
+        return InputValidator.isValidEmployeeId(employeeId);
+    }
+
+    @Benchmark
+    public boolean validDate() {
+        return InputValidator.isValidDate(date);
+    }
+
+    @Benchmark
+    public Date parseDate() throws ParseException {
+        return InputValidator.parseDate(date);
+    }
+
+    @Benchmark
+    public boolean validSalary() {
+        return InputValidator.isValidSalary(salary);
+    }
+
+    @Benchmark
+    public boolean validMenuChoice() {
+        return InputValidator.isValidMenuChoice(menuChoice, 9);
+    }
+
+    @Benchmark
+    public String sanitize() {
+        return InputValidator.sanitizeInput(dirtyInput);
+    }
+}
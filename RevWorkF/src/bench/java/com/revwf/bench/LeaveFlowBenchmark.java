@@ -0,0 +1,79 @@
+package com.revwf.bench;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.dao.LeaveApprovalPipeline;
+import com.revwf.model.LeaveApplication;
+import com.revwf.service.LeaveService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full leave round trip through the service layer: apply, approve and
+ * revoke, so the balance ends where it started and the loop can run for as
+ * long as JMH likes. This needs a real database; point it at a scratch schema
+ * with -Ddb.url/-Ddb.username/-Ddb.password passed through -jvmArgs, and pick
+ * an employee with a balance and that employee's manager with -p.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LeaveFlowBenchmark {
+    @Param({"1"})
+    public int empId;
+
+    @Param({"2"})
+    public int managerEmpId;
+
+    @Param({"1"})
+    public int leaveTypeId;
+
+    private LeaveService leaveService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DatabaseConfig.getInstance().warmUpPool();
+        leaveService = new LeaveService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConfig.getInstance().shutdown();
+    }
+
+    @Benchmark
+    public LeaveApprovalPipeline.BatchResult applyApproveRevoke() {
+        LocalDate day = LocalDate.now().plusDays(1);
+        LeaveService.LeaveApplicationResult applied =
+                leaveService.applyForLeave(empId, leaveTypeId, day, day, "Benchmark");
+        if (!applied.success) {
+            throw new IllegalStateException("Apply failed: " + applied.message);
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        for (LeaveApplication application : leaveService.getPendingLeaveApplicationsForManager(managerEmpId)) {
+            if (application.getEmpId() == empId) {
+                ids.add(application.getApplicationId());
+            }
+        }
+        LeaveApprovalPipeline.BatchResult result = leaveService.decideLeaveApplications(ids,
+                LeaveApplication.LeaveStatus.APPROVED, "Benchmark", managerEmpId);
+        for (int applicationId : result.applied) {
+            leaveService.revokeLeaveApplication(applicationId, "Benchmark", managerEmpId);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+package com.revwf.bench;
+
+import com.revwf.model.LeaveApplication;
+import com.revwf.service.LeaveReportService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The admin monthly trends aggregation over a year of leave applications
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LeaveReportBenchmark {
+    private static final LeaveApplication.LeaveStatus[] STATUSES = LeaveApplication.LeaveStatus.values();
+
+    @Param({"10000", "100000"})
+    public int applications;
+
+    private List<LeaveApplication> data;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate yearStart = LocalDate.of(2024, 1, 1);
+        data = new ArrayList<>(applications);
+        for (int i = 0; i < applications; i++) {
+            LocalDate start = yearStart.plusDays(random.nextInt(365));
+            LeaveApplication application = new LeaveApplication();
+            application.setApplicationId(i + 1);
+            application.setStartDate(Date.valueOf(start));
+            application.setEndDate(Date.valueOf(start.plusDays(random.nextInt(5))));
+            application.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            data.add(application);
+        }
+    }
+
+    @Benchmark
+    public LeaveReportService.MonthlyLeaveTrends monthlyTrends() {
+        return LeaveReportService.summarizeMonthlyTrends(data);
+    }
+}
@@ -0,0 +1,53 @@
+package com.revwf.bench;
+
+import com.revwf.util.PasswordUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing and verification at a few PBKDF2 work factors. Login latency is
+ * roughly one verify, so this is the number to hold up against a login budget.
+ * To tune password.hash.iterations, run a wider ladder on the target machine,
+ * e.g. -Dbench.args="PasswordUtilBenchmark.verify -f 1 -p iterations=100000,210000,400000,800000",
+ * and pick the largest count whose verify still fits the budget.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordUtilBenchmark {
+    private static final String PASSWORD = "Correct-Horse-42";
+
+    @Param({"10000", "210000"})
+    public int iterations;
+
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        storedHash = PasswordUtil.hashPassword(PASSWORD, iterations);
+    }
+
+    @Benchmark
+    public String hash() {
+        return PasswordUtil.hashPassword(PASSWORD, iterations);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return PasswordUtil.verifyPassword(PASSWORD, storedHash);
+    }
+
+    @Benchmark
+    public boolean verifyLegacyPlainText() {
+        return PasswordUtil.verifyPassword(PASSWORD, PASSWORD);
+    }
+}
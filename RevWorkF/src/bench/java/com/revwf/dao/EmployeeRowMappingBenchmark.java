@@ -0,0 +1,74 @@
+package com.revwf.dao;
+
+import com.revwf.bench.InMemoryResultSet;
+import com.revwf.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning employee join rows into Employee objects, measured over the
+ * in-memory result set so only the mapper is timed. The stand-in's own
+ * dispatch is included, so compare mappers with each other, not with a driver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeRowMappingBenchmark {
+    private static final String[] COLUMNS = {
+        "emp_id", "user_id", "first_name", "last_name", "phone", "address", "date_of_birth",
+        "joining_date", "dept_id", "designation_id", "manager_id", "salary", "emergency_contact",
+        "created_at", "updated_at", "dept_name", "designation_name", "manager_name", "is_active"
+    };
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "Sales", "Support", "People"};
+    private static final String[] DESIGNATIONS = {"Engineer", "Analyst", "Lead", "Manager", "Director"};
+
+    @Param({"1000"})
+    public int rows;
+
+    private Object[][] data;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Timestamp now = new Timestamp(1_700_000_000_000L);
+        data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            int dept = random.nextInt(DEPARTMENTS.length);
+            int designation = random.nextInt(DESIGNATIONS.length);
+            data[i] = new Object[] {
+                i + 1, i + 1, "First" + i, "Last" + i, "98765" + (10000 + i), i + " Main Street",
+                Date.valueOf("1990-01-01"), Date.valueOf("2020-06-01"), dept + 1, designation + 1,
+                i == 0 ? null : 1 + random.nextInt(Math.max(1, i)), 50000.0 + random.nextInt(50000),
+                "Contact " + i, now, now,
+                // Fresh strings per row, as a driver would return them
+                new String(DEPARTMENTS[dept]), new String(DESIGNATIONS[designation]),
+                i == 0 ? null : "Manager Name", 1
+            };
+        }
+    }
+
+    @Benchmark
+    public void mapEmployeeRows(Blackhole blackhole) throws SQLException {
+        ResultSet rs = InMemoryResultSet.of(COLUMNS, data);
+        EmployeeDAO.EmployeeMapper mapper = new EmployeeDAO.EmployeeMapper(rs);
+        while (rs.next()) {
+            Employee employee = mapper.map();
+            blackhole.consume(employee);
+        }
+    }
+}
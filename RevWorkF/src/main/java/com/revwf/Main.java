@@ -1,15 +1,26 @@
 package com.revwf;
 
+import com.revwf.api.ApiServer;
 import com.revwf.config.DatabaseConfig;
+import com.revwf.dao.SchemaMigrations;
+import com.revwf.service.NotificationOutbox;
+import com.revwf.service.NotificationRetentionJob;
 import com.revwf.view.LoginView;
 
+import java.sql.SQLException;
+import java.util.Arrays;
+
 public class Main {
 
 	public static void main(String[] args) {
         try {
             displayApplicationHeader();
             initializeDatabase();
-            startApplication();
+            if (Arrays.asList(args).contains("--server")) {
+                startServer();
+            } else {
+                startApplication();
+            }
         } catch (Exception e) {
             System.err.println("❌ Application failed to start: " + e.getMessage());
             System.err.println("Please check your database configuration and try again.");
@@ -30,6 +41,17 @@ public class Main {
         try {
             DatabaseConfig dbConfig = DatabaseConfig.getInstance();
             dbConfig.testConnection();
+            dbConfig.warmUpPool();
+            applySchemaMigrations();
+            NotificationRetentionJob.getInstance()
+                    .start(dbConfig.getIntProperty("notification.retention.interval.minutes", 1440));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                // Queued notifications need the pool, so they go first
+                ApiServer.shutdownIfStarted();
+                NotificationRetentionJob.shutdownIfStarted();
+                NotificationOutbox.shutdownIfStarted();
+                dbConfig.shutdown();
+            }, "revwf-shutdown"));
             System.out.println("✅ Database connection successful");
         } catch (Exception e) {
             System.err.println("❌ Database connection failed!");
@@ -37,6 +59,24 @@ public class Main {
         }
     }
 
+    private static void applySchemaMigrations() {
+        try {
+            SchemaMigrations.migrate();
+        } catch (SQLException e) {
+            // The account may lack DDL rights on a schema a DBA already migrated
+            System.err.println("⚠ Schema migration skipped: " + e.getMessage());
+        }
+    }
+
+    private static void startServer() {
+        try {
+            ApiServer server = ApiServer.start();
+            System.out.println("✅ API server listening on port " + server.getPort());
+        } catch (Exception e) {
+            throw new RuntimeException("API server failed to start", e);
+        }
+    }
+
     private static void startApplication() {
         System.out.println("✅ Application initialized successfully!");
         try {
@@ -0,0 +1,532 @@
+package com.revwf.api;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.dao.LeaveApprovalPipeline;
+import com.revwf.model.Employee;
+import com.revwf.model.LeaveApplication;
+import com.revwf.model.Notification;
+import com.revwf.model.Permission;
+import com.revwf.model.UserSession;
+import com.revwf.service.AuthService;
+import com.revwf.service.EmployeeService;
+import com.revwf.service.LeaveService;
+import com.revwf.service.NotificationService;
+import com.revwf.service.PerformanceService;
+import com.revwf.service.SessionRegistry;
+import com.revwf.util.Json;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP/JSON front end over the service layer, for serving many users
+ * at once and for load testing. Requests run on a bounded worker pool; callers
+ * authenticate with POST /api/login and send the returned token as
+ * "Authorization: Bearer token". Permissions come from the session, as in the console.
+ * GET /api/health is the only unauthenticated probe and says no more than whether
+ * the database answers; pool and worker figures are under GET /api/metrics.
+ */
+public class ApiServer {
+    private static final Logger logger = LogManager.getLogger(ApiServer.class);
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static volatile ApiServer instance;
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor executor;
+    private final AuthService authService = new AuthService();
+    private final EmployeeService employeeService = new EmployeeService();
+    private final LeaveService leaveService = new LeaveService();
+    private final NotificationService notificationService = new NotificationService();
+    private final PerformanceService performanceService = new PerformanceService();
+
+    // A login never moves to another employee record, so this needs no expiry
+    private final Map<Integer, Integer> empIdByUserId = new ConcurrentHashMap<>();
+
+    ApiServer(int port, int threads, int queueCapacity) throws IOException {
+        AtomicInteger workerCount = new AtomicInteger();
+        // When every worker is busy and the queue is full the accepting thread runs
+        // the request itself, which stops it accepting more until it is done
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread worker = new Thread(task, "revwf-api-" + workerCount.incrementAndGet());
+                    worker.setDaemon(true);
+                    return worker;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext("/api/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Start the server on api.port with api.threads workers
+     */
+    public static synchronized ApiServer start() throws IOException {
+        if (instance == null) {
+            DatabaseConfig config = DatabaseConfig.getInstance();
+            ApiServer apiServer = new ApiServer(config.getIntProperty("api.port", 8080),
+                    config.getIntProperty("api.threads", 64),
+                    config.getIntProperty("api.queue.capacity", 1000));
+            apiServer.listen();
+            instance = apiServer;
+            logger.info("API server listening on port {}", apiServer.getPort());
+        }
+        return instance;
+    }
+
+    /**
+     * Stop the server if it was ever started, letting requests in flight finish
+     */
+    public static void shutdownIfStarted() {
+        ApiServer apiServer = instance;
+        if (apiServer != null) {
+            apiServer.stop(DatabaseConfig.getInstance().getIntProperty("api.shutdown.grace.seconds", 5));
+        }
+    }
+
+    void listen() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop(int graceSeconds) {
+        server.stop(graceSeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(graceSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("API server stopped");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        int status;
+        try {
+            Object body = route(exchange, exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+            status = send(exchange, 200, body);
+        } catch (ApiException e) {
+            status = send(exchange, e.status, error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            status = send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("API request {} {} failed: {}", exchange.getRequestMethod(),
+                    exchange.getRequestURI(), e.getMessage());
+            status = send(exchange, 500, error("Internal error"));
+        } finally {
+            exchange.close();
+        }
+        logger.debug("{} {} -> {} in {} ms", exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                status, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Object route(HttpExchange exchange, String method, String path) throws IOException {
+        String[] parts = path.replaceAll("/+$", "").split("/");
+        // parts[0] is empty and parts[1] is "api"
+        String resource = parts.length > 2 ? parts[2] : "";
+        String sub = parts.length > 3 ? parts[3] : null;
+
+        if (resource.equals("health")) {
+            requireMethod(method, "GET");
+            return health();
+        }
+        if (resource.equals("login") && method.equals("POST")) {
+            return login(exchange, Json.parseObject(readBody(exchange)));
+        }
+
+        UserSession session = authenticate(exchange);
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        switch (resource) {
+            case "logout":
+                requireMethod(method, "POST");
+                authService.logout(session.getToken());
+                return Map.of("loggedOut", true);
+            case "me":
+                requireMethod(method, "GET");
+                require(session, Permission.VIEW_OWN_PROFILE);
+                return currentEmployee(session);
+            case "employees":
+                requireMethod(method, "GET");
+                require(session, Permission.VIEW_DIRECTORY);
+                return sub == null ? searchEmployees(query.get("q")) : employee(session, parseId(sub));
+            case "leaves":
+                return leaves(exchange, session, method, sub);
+            case "notifications":
+                return notifications(session, method, sub, query);
+            case "sql-stats":
+                requireMethod(method, "GET");
+                require(session, Permission.CONFIGURE_SYSTEM);
+                return DatabaseConfig.getInstance().getSqlStats().snapshot();
+            case "metrics":
+                requireMethod(method, "GET");
+                require(session, Permission.CONFIGURE_SYSTEM);
+                return metrics();
+            case "performance":
+                requireMethod(method, "GET");
+                if ("goals".equals(sub)) {
+                    require(session, Permission.VIEW_OWN_PROFILE);
+                    return performanceService.getEmployeeGoals(empId(session));
+                }
+                break;
+            default:
+                break;
+        }
+        throw new ApiException(404, "No such endpoint: " + method + " " + path);
+    }
+
+    private Object login(HttpExchange exchange, Map<String, Object> body) {
+        String employeeId = stringField(body, "employeeId");
+        String password = stringField(body, "password");
+        UserSession session = authService.openSession(employeeId, password);
+        if (session == null) {
+            long lockedSeconds = authService.getLockoutRemainingSeconds(employeeId);
+            if (lockedSeconds > 0) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(lockedSeconds));
+                throw new ApiException(429, "Account locked, try again in " + lockedSeconds + " seconds");
+            }
+            throw new ApiException(401, "Invalid employee ID or password");
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("token", session.getToken());
+        result.put("role", session.getUser().getRole());
+        result.put("expiresAt", session.getExpiresAt());
+        return result;
+    }
+
+    private Object leaves(HttpExchange exchange, UserSession session, String method, String sub) throws IOException {
+        if (sub == null && method.equals("GET")) {
+            require(session, Permission.APPLY_LEAVE);
+            return leaveService.getEmployeeLeaveApplications(empId(session));
+        }
+        if (sub == null && method.equals("POST")) {
+            require(session, Permission.APPLY_LEAVE);
+            Map<String, Object> body = Json.parseObject(readBody(exchange));
+            int leaveTypeId = intField(body, "leaveTypeId");
+            LocalDate startDate = dateField(body, "startDate");
+            LocalDate endDate = dateField(body, "endDate");
+            String reason = optionalStringField(body, "reason");
+            return leaveService.applyForLeave(empId(session), leaveTypeId, startDate, endDate, reason);
+        }
+        if ("balances".equals(sub) && method.equals("GET")) {
+            require(session, Permission.APPLY_LEAVE);
+            return leaveService.getEmployeeLeaveBalances(empId(session));
+        }
+        if ("pending".equals(sub) && method.equals("GET")) {
+            require(session, Permission.APPROVE_LEAVE);
+            return leaveService.getPendingLeaveApplicationsForManager(empId(session));
+        }
+        if ("decisions".equals(sub) && method.equals("POST")) {
+            require(session, Permission.APPROVE_LEAVE);
+            return decideLeaves(session, Json.parseObject(readBody(exchange)));
+        }
+        throw new ApiException(404, "No such endpoint: " + method + " /api/leaves" + (sub != null ? "/" + sub : ""));
+    }
+
+    private LeaveApprovalPipeline.BatchResult decideLeaves(UserSession session, Map<String, Object> body) {
+        LeaveApplication.LeaveStatus decision =
+                LeaveApplication.LeaveStatus.valueOf(stringField(body, "decision").toUpperCase());
+        String comments = optionalStringField(body, "comments");
+        Object rawIds = body.get("applicationIds");
+        if (!(rawIds instanceof List) || ((List<?>) rawIds).isEmpty()) {
+            throw new IllegalArgumentException("applicationIds must be a non-empty array");
+        }
+        int managerEmpId = empId(session);
+
+        // Managers may only decide what is waiting on them
+        Set<Integer> pending = new HashSet<>();
+        for (LeaveApplication application : leaveService.getPendingLeaveApplicationsForManager(managerEmpId)) {
+            pending.add(application.getApplicationId());
+        }
+        List<Integer> applicationIds = new ArrayList<>();
+        for (Object rawId : (List<?>) rawIds) {
+            if (!(rawId instanceof Long)) {
+                throw new IllegalArgumentException("applicationIds must hold integers");
+            }
+            int applicationId = ((Long) rawId).intValue();
+            if (!pending.contains(applicationId)) {
+                throw new ApiException(403, "Application " + applicationId + " is not pending your decision");
+            }
+            applicationIds.add(applicationId);
+        }
+        return leaveService.decideLeaveApplications(applicationIds, decision, comments, managerEmpId);
+    }
+
+    private Object notifications(UserSession session, String method, String sub, Map<String, String> query) {
+        require(session, Permission.VIEW_NOTIFICATIONS);
+        int empId = empId(session);
+        if (sub == null && method.equals("GET")) {
+            int limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : DEFAULT_PAGE_SIZE;
+            List<Notification> page = notificationService.getNotificationsPage(empId,
+                    Boolean.parseBoolean(query.get("unreadOnly")), parseCursor(query.get("after")), limit);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("notifications", page);
+            result.put("nextCursor", page.size() < Math.min(limit, NotificationService.MAX_INBOX_PAGE_SIZE)
+                    ? null : cursorOf(page.get(page.size() - 1)));
+            return result;
+        }
+        if ("unread-count".equals(sub) && method.equals("GET")) {
+            return Map.of("unread", notificationService.getUnreadNotificationCount(empId));
+        }
+        if ("read-all".equals(sub) && method.equals("POST")) {
+            return Map.of("updated", notificationService.markAllNotificationsAsRead(empId));
+        }
+        throw new ApiException(404, "No such endpoint: " + method + " /api/notifications"
+                + (sub != null ? "/" + sub : ""));
+    }
+
+    private Employee currentEmployee(UserSession session) {
+        Employee employee = employeeService.getEmployeeByUserId(session.getUser().getUserId());
+        if (employee == null) {
+            throw new ApiException(404, "No employee record for this login");
+        }
+        return employee;
+    }
+
+    /**
+     * Full record for the employee themselves, their manager and admins; a directory card for anyone else
+     */
+    private Object employee(UserSession session, int empId) {
+        Employee employee = employeeService.getEmployeeById(empId);
+        if (employee == null) {
+            throw new ApiException(404, "Employee not found: " + empId);
+        }
+        Integer managerId = employee.getManagerId();
+        if (session.hasPermission(Permission.MANAGE_EMPLOYEES) || empId == empId(session)
+                || (managerId != null && managerId == empId(session))) {
+            return employee;
+        }
+        return directoryCard(employee);
+    }
+
+    private List<Map<String, Object>> searchEmployees(String term) {
+        if (term == null || term.trim().length() < 2) {
+            throw new IllegalArgumentException("Search term q must have at least 2 characters");
+        }
+        List<Map<String, Object>> cards = new ArrayList<>();
+        for (Employee employee : employeeService.searchEmployeesByName(term.trim())) {
+            cards.add(directoryCard(employee));
+        }
+        return cards;
+    }
+
+    private Map<String, Object> directoryCard(Employee employee) {
+        Map<String, Object> card = new LinkedHashMap<>();
+        card.put("empId", employee.getEmpId());
+        card.put("firstName", employee.getFirstName());
+        card.put("lastName", employee.getLastName());
+        card.put("departmentName", employee.getDepartmentName());
+        card.put("designationName", employee.getDesignationName());
+        card.put("managerName", employee.getManagerName());
+        return card;
+    }
+
+    /**
+     * UP when a pooled connection can be borrowed and validated, 503 otherwise
+     */
+    private Map<String, Object> health() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        try (Connection conn = config.getConnection()) {
+            if (conn.isValid(config.getIntProperty("db.pool.validation.timeout", 5))) {
+                return Map.of("status", "UP");
+            }
+        } catch (SQLException e) {
+            logger.debug("Health check could not reach the database: {}", e.getMessage());
+        }
+        throw new ApiException(503, "DOWN");
+    }
+
+    private Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("pool", DatabaseConfig.getInstance().getPoolMetrics());
+        metrics.put("sessions", SessionRegistry.getInstance().size());
+        metrics.put("activeWorkers", executor.getActiveCount());
+        metrics.put("queuedRequests", executor.getQueue().size());
+        return metrics;
+    }
+
+    private UserSession authenticate(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new ApiException(401, "Missing bearer token");
+        }
+        UserSession session = authService.getSession(header.substring("Bearer ".length()).trim());
+        if (session == null) {
+            throw new ApiException(401, "Session expired or unknown");
+        }
+        return session;
+    }
+
+    private void require(UserSession session, Permission permission) {
+        if (!session.hasPermission(permission)) {
+            throw new ApiException(403, "Missing permission " + permission);
+        }
+    }
+
+    private int empId(UserSession session) {
+        int userId = session.getUser().getUserId();
+        Integer empId = empIdByUserId.get(userId);
+        if (empId == null) {
+            empId = currentEmployee(session).getEmpId();
+            empIdByUserId.put(userId, empId);
+        }
+        return empId;
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new ApiException(405, "Use " + expected);
+        }
+    }
+
+    /**
+     * Cursor of the form seconds:nanos:id so no precision of created_at is lost
+     */
+    private static String cursorOf(Notification notification) {
+        Timestamp createdAt = notification.getCreatedAt();
+        return Math.floorDiv(createdAt.getTime(), 1000) + ":" + createdAt.getNanos() + ":"
+                + notification.getNotificationId();
+    }
+
+    private static Notification parseCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = cursor.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Bad cursor: " + cursor);
+        }
+        Timestamp createdAt = new Timestamp(Long.parseLong(parts[0]) * 1000);
+        createdAt.setNanos(Integer.parseInt(parts[1]));
+        Notification after = new Notification();
+        after.setCreatedAt(createdAt);
+        after.setNotificationId(Integer.parseInt(parts[2]));
+        return after;
+    }
+
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Bad id: " + value);
+        }
+    }
+
+    private static String stringField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return (String) value;
+    }
+
+    private static String optionalStringField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static int intField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof Long)) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+        return ((Long) value).intValue();
+    }
+
+    private static LocalDate dateField(Map<String, Object> body, String name) {
+        try {
+            return LocalDate.parse(stringField(body, name));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be a date like 2024-12-31");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Request body too large");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", message);
+        return error;
+    }
+
+    private static int send(HttpExchange exchange, int status, Object body) {
+        try {
+            byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            logger.debug("Client went away before the response was sent: {}", e.getMessage());
+        }
+        return status;
+    }
+
+    /**
+     * Error that maps straight to an HTTP status
+     */
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
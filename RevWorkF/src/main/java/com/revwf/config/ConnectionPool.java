@@ -0,0 +1,373 @@
+package com.revwf.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size JDBC connection pool backing {@link DatabaseConfig#getConnection()}.
+ * Connections handed out are proxies whose close() returns the physical
+ * connection to the pool instead of closing it. When given a {@link SqlStats},
+ * the statements they create are timed into it, as is the wait for a connection.
+ */
+public class ConnectionPool implements DataSource {
+    private static final Logger logger = LogManager.getLogger(ConnectionPool.class);
+
+    /**
+     * Opens a new physical connection
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int initialSize;
+    private final int maxSize;
+    private final long timeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final long leakThresholdMillis;
+    private final SqlStats sqlStats;
+
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, Lease> leased = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService leakDetector;
+    private volatile boolean closed;
+
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public ConnectionPool(ConnectionFactory factory, int initialSize, int maxSize, long timeoutMillis,
+                          int validationTimeoutSeconds, long leakThresholdMillis) {
+        this(factory, initialSize, maxSize, timeoutMillis, validationTimeoutSeconds, leakThresholdMillis, null);
+    }
+
+    public ConnectionPool(ConnectionFactory factory, int initialSize, int maxSize, long timeoutMillis,
+                          int validationTimeoutSeconds, long leakThresholdMillis, SqlStats sqlStats) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool max size must be positive");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.initialSize = Math.max(0, Math.min(initialSize, maxSize));
+        this.timeoutMillis = timeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.sqlStats = sqlStats;
+        this.permits = new Semaphore(maxSize, true);
+
+        if (leakThresholdMillis > 0) {
+            this.leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "revwf-pool-leak-detector");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = Math.max(1000, leakThresholdMillis / 2);
+            leakDetector.scheduleAtFixedRate(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.leakDetector = null;
+        }
+    }
+
+    /**
+     * Open the configured initial number of connections up front
+     */
+    public void warmUp() {
+        int opened = 0;
+        while (totalConnections.get() < initialSize) {
+            try {
+                idle.offerLast(openPhysical());
+                opened++;
+            } catch (SQLException e) {
+                logger.error("Error warming up connection pool: " + e.getMessage());
+                break;
+            }
+        }
+        logger.info("Connection pool warmed up with {} connections (max {})", opened, maxSize);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is shut down");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + timeoutMillis + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            Connection physical = takeValidConnection();
+            borrowCount.incrementAndGet();
+            leased.put(physical, new Lease(leakThresholdMillis > 0 ? new Exception("Connection borrowed here") : null));
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pool connections use the configured credentials");
+    }
+
+    /**
+     * Snapshot of the pool counters
+     */
+    public PoolMetrics getMetrics() {
+        long borrows = borrowCount.get();
+        return new PoolMetrics(
+                totalConnections.get(),
+                idle.size(),
+                leased.size(),
+                permits.getQueueLength(),
+                maxSize,
+                borrows,
+                createdCount.get(),
+                validationFailures.get(),
+                timeoutCount.get(),
+                leakCount.get(),
+                borrows == 0 ? 0 : totalWaitNanos.get() / borrows / 1000,
+                maxWaitNanos.get() / 1000);
+    }
+
+    /**
+     * Close all idle connections and stop accepting new borrows
+     */
+    public void shutdown() {
+        closed = true;
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+        Connection conn;
+        while ((conn = idle.pollFirst()) != null) {
+            closePhysical(conn);
+        }
+        if (!leased.isEmpty()) {
+            logger.warn("Connection pool shut down with {} connections still in use", leased.size());
+        }
+        logger.info("Connection pool shut down");
+    }
+
+    private Connection takeValidConnection() throws SQLException {
+        Connection conn;
+        while ((conn = idle.pollFirst()) != null) {
+            if (isValid(conn)) {
+                return conn;
+            }
+            validationFailures.incrementAndGet();
+            logger.warn("Discarding invalid pooled connection");
+            closePhysical(conn);
+        }
+        return openPhysical();
+    }
+
+    private boolean isValid(Connection conn) {
+        try {
+            return !conn.isClosed() && conn.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection conn = factory.create();
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        logger.debug("Database connection established");
+        return conn;
+    }
+
+    private void closePhysical(Connection conn) {
+        totalConnections.decrementAndGet();
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            logger.warn("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void release(Connection physical) {
+        if (leased.remove(physical) == null) {
+            return;
+        }
+        try {
+            if (closed || physical.isClosed()) {
+                closePhysical(physical);
+            } else {
+                // Hand the next borrower a connection in its default state
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                idle.offerFirst(physical);
+            }
+        } catch (SQLException e) {
+            logger.warn("Discarding connection that failed to reset: " + e.getMessage());
+            closePhysical(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        if (sqlStats != null) {
+            sqlStats.recordConnectionWait(nanos);
+        }
+    }
+
+    private void detectLeaks() {
+        long now = System.currentTimeMillis();
+        for (Lease lease : leased.values()) {
+            if (!lease.reported && now - lease.borrowedAt > leakThresholdMillis) {
+                lease.reported = true;
+                leakCount.incrementAndGet();
+                logger.warn("Possible connection leak: connection held for {} ms", now - lease.borrowedAt,
+                        lease.origin);
+            }
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new PooledConnectionHandler(physical));
+    }
+
+    /**
+     * Routes calls to the physical connection, except close() which returns it to the pool
+     */
+    private class PooledConnectionHandler implements InvocationHandler {
+        private final Connection physical;
+        private boolean released;
+
+        PooledConnectionHandler(Connection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(physical);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    if (released) {
+                        throw new SQLException("Connection has been returned to the pool");
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    // prepareCall is passed through: the wrapper only implements PreparedStatement
+                    if (sqlStats != null && method.getName().equals("prepareStatement")) {
+                        return InstrumentedStatements.prepared((PreparedStatement) result, (String) args[0], sqlStats);
+                    }
+                    if (sqlStats != null && result instanceof Statement && method.getName().equals("createStatement")) {
+                        return InstrumentedStatements.plain((Statement) result, sqlStats);
+                    }
+                    return result;
+            }
+        }
+    }
+
+    private static class Lease {
+        final long borrowedAt = System.currentTimeMillis();
+        final Exception origin;
+        volatile boolean reported;
+
+        Lease(Exception origin) {
+            this.origin = origin;
+        }
+    }
+
+    // DataSource boilerplate
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return (int) (timeoutMillis / 1000);
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
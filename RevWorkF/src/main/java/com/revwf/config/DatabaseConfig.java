@@ -8,8 +8,11 @@ import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
 
+import javax.sql.DataSource;
+
 public class DatabaseConfig {
     private static final Logger logger = LogManager.getLogger(DatabaseConfig.class);
     private static Properties properties;
@@ -19,6 +22,8 @@ public class DatabaseConfig {
     private String username;
     private String password;
     private String driver;
+    private ConnectionPool pool;
+    private SqlStats sqlStats;
     
     private DatabaseConfig() {
         loadProperties();
@@ -44,6 +49,13 @@ public class DatabaseConfig {
                 throw new RuntimeException("Configuration file not found");
             }
             properties.load(input);
+            // -Dkey=value overrides a configured key, e.g. to point benchmarks at a scratch schema
+            for (String key : properties.stringPropertyNames()) {
+                String override = System.getProperty(key);
+                if (override != null) {
+                    properties.setProperty(key, override);
+                }
+            }
             logger.info("Configuration loaded successfully");
         } catch (IOException e) {
             logger.error("Error loading configuration: " + e.getMessage());
@@ -64,19 +76,73 @@ public class DatabaseConfig {
             logger.error("Database driver not found: " + e.getMessage());
             throw new RuntimeException("Database driver not found", e);
         }
+        
+        this.sqlStats = new SqlStats(getIntProperty("db.sql.stats.max.queries", 500),
+                getIntProperty("db.slow.query.threshold.ms", 500));
+        Properties connectionProps = new Properties();
+        if (username != null) {
+            connectionProps.setProperty("user", username);
+        }
+        if (password != null) {
+            connectionProps.setProperty("password", password);
+        }
+        // The driver keeps prepared statements open per physical connection, and the pool
+        // keeps those connections, so repeated SqlCatalog statements skip the re-prepare
+        connectionProps.setProperty("oracle.jdbc.implicitStatementCacheSize",
+                String.valueOf(getIntProperty("db.statement.cache.size", 50)));
+        this.pool = new ConnectionPool(
+                () -> DriverManager.getConnection(url, connectionProps),
+                getIntProperty("db.pool.initial.size", 5),
+                getIntProperty("db.pool.max.size", 20),
+                getIntProperty("db.pool.timeout", 30000),
+                getIntProperty("db.pool.validation.timeout", 5),
+                getIntProperty("db.pool.leak.detection.threshold", 60000),
+                sqlStats);
     }
     
     public Connection getConnection() throws SQLException {
         try {
-            Connection connection = DriverManager.getConnection(url, username, password);
-            logger.debug("Database connection established");
-            return connection;
+            return pool.getConnection();
         } catch (SQLException e) {
             logger.error("Failed to establish database connection: " + e.getMessage());
             throw e;
         }
     }
     
+    /**
+     * Pooled DataSource behind getConnection()
+     */
+    public DataSource getDataSource() {
+        return pool;
+    }
+    
+    /**
+     * Open the initial pool connections so the first requests skip connection setup
+     */
+    public void warmUpPool() {
+        pool.warmUp();
+    }
+    
+    public PoolMetrics getPoolMetrics() {
+        return pool.getMetrics();
+    }
+    
+    /**
+     * Per-statement latency and row counts of everything run through the pool
+     */
+    public SqlStats getSqlStats() {
+        return sqlStats;
+    }
+    
+    public void shutdown() {
+        logger.info("Final pool metrics: {}", pool.getMetrics());
+        List<SqlStats.QuerySnapshot> queries = sqlStats.snapshot();
+        for (SqlStats.QuerySnapshot query : queries.subList(0, Math.min(10, queries.size()))) {
+            logger.info("Top query: {}", query);
+        }
+        pool.shutdown();
+    }
+    
     public void testConnection() {
         try (Connection connection = getConnection()) {
             if (connection != null && !connection.isClosed()) {
@@ -94,6 +160,19 @@ public class DatabaseConfig {
         return properties.getProperty(key);
     }
     
+    public int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer for {}: {}, using default {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+    
     // Getters
     public String getUrl() {
         return url;
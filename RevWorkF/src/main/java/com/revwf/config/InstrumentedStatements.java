@@ -0,0 +1,185 @@
+package com.revwf.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Statement and ResultSet proxies that time execution into {@link SqlStats}.
+ * A query's latency is the execute call plus the time spent inside next(),
+ * so it covers fetch round trips but not the caller's row mapping. It is
+ * recorded with the row count once the result set is exhausted or closed.
+ */
+final class InstrumentedStatements {
+    private InstrumentedStatements() {
+    }
+
+    static PreparedStatement prepared(PreparedStatement target, String sql, SqlStats stats) {
+        return (PreparedStatement) Proxy.newProxyInstance(InstrumentedStatements.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, new StatementHandler(target, sql, stats));
+    }
+
+    static Statement plain(Statement target, SqlStats stats) {
+        return (Statement) Proxy.newProxyInstance(InstrumentedStatements.class.getClassLoader(),
+                new Class<?>[] { Statement.class }, new StatementHandler(target, null, stats));
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final SqlStats stats;
+        private String batchSql;
+        private ResultSetHandler openResult;
+
+        StatementHandler(Statement target, String preparedSql, SqlStats stats) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            // Plain statements carry their SQL in the call
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : batchSql;
+            switch (name) {
+                case "executeQuery": {
+                    finishOpenResult();
+                    long start = System.nanoTime();
+                    ResultSet rs = (ResultSet) call(target, method, args);
+                    openResult = new ResultSetHandler(rs, sql, stats, System.nanoTime() - start);
+                    return Proxy.newProxyInstance(InstrumentedStatements.class.getClassLoader(),
+                            new Class<?>[] { ResultSet.class }, openResult);
+                }
+                case "executeUpdate":
+                case "executeLargeUpdate": {
+                    long start = System.nanoTime();
+                    Object count = call(target, method, args);
+                    stats.record(sql, System.nanoTime() - start, ((Number) count).longValue());
+                    return count;
+                }
+                case "execute": {
+                    long start = System.nanoTime();
+                    Object hasResultSet = call(target, method, args);
+                    long elapsed = System.nanoTime() - start;
+                    stats.record(sql, elapsed, (Boolean) hasResultSet ? 0 : Math.max(0, target.getUpdateCount()));
+                    return hasResultSet;
+                }
+                case "executeBatch":
+                case "executeLargeBatch": {
+                    long start = System.nanoTime();
+                    Object counts = call(target, method, args);
+                    stats.record(sql, System.nanoTime() - start, batchRows(counts));
+                    if (preparedSql == null) {
+                        batchSql = null;
+                    }
+                    return counts;
+                }
+                case "addBatch":
+                    if (preparedSql == null && batchSql == null) {
+                        batchSql = sql;
+                    }
+                    return call(target, method, args);
+                case "close":
+                    finishOpenResult();
+                    return call(target, method, args);
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : call(target, method, args);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return call(target, method, args);
+            }
+        }
+
+        private void finishOpenResult() {
+            if (openResult != null) {
+                openResult.finish();
+                openResult = null;
+            }
+        }
+
+        /**
+         * Rows affected by a batch; drivers that report SUCCESS_NO_INFO count one per statement
+         */
+        private static long batchRows(Object counts) {
+            long rows = 0;
+            if (counts instanceof int[]) {
+                for (int count : (int[]) counts) {
+                    rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+                }
+            } else if (counts instanceof long[]) {
+                for (long count : (long[]) counts) {
+                    rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final String sql;
+        private final SqlStats stats;
+        private long nanos;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet target, String sql, SqlStats stats, long executeNanos) {
+            this.target = target;
+            this.sql = sql;
+            this.stats = stats;
+            this.nanos = executeNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next": {
+                    long start = System.nanoTime();
+                    boolean hasRow = (Boolean) call(target, method, args);
+                    nanos += System.nanoTime() - start;
+                    if (hasRow) {
+                        rows++;
+                    } else {
+                        finish();
+                    }
+                    return hasRow;
+                }
+                case "close":
+                    finish();
+                    return call(target, method, args);
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : call(target, method, args);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return call(target, method, args);
+            }
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                stats.record(sql, nanos, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.revwf.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed memory. Bucket i counts samples of
+ * [2^i, 2^(i+1)) microseconds, so percentiles are accurate to a factor of two,
+ * which is enough to tell a 2 ms query from a 200 ms one.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 32;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxMicros() {
+        return maxNanos.get() / 1000;
+    }
+
+    public long getMeanMicros() {
+        long samples = count.get();
+        return samples == 0 ? 0 : totalNanos.get() / samples / 1000;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100), capped at the max seen
+     */
+    public long getPercentileMicros(double percentile) {
+        long samples = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            samples += counts[i];
+        }
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(samples * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(1L << (i + 1), Math.max(1, getMaxMicros()));
+            }
+        }
+        return getMaxMicros();
+    }
+}
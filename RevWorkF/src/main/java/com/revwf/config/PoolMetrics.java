@@ -0,0 +1,54 @@
+package com.revwf.config;
+
+/**
+ * Point-in-time snapshot of connection pool counters
+ */
+public class PoolMetrics {
+    public final int totalConnections;
+    public final int idleConnections;
+    public final int activeConnections;
+    public final int waitingThreads;
+    public final int maxSize;
+    public final long borrowCount;
+    public final long createdCount;
+    public final long validationFailures;
+    public final long timeoutCount;
+    public final long leakCount;
+    public final long averageWaitMicros;
+    public final long maxWaitMicros;
+
+    public PoolMetrics(int totalConnections, int idleConnections, int activeConnections, int waitingThreads,
+                       int maxSize, long borrowCount, long createdCount, long validationFailures,
+                       long timeoutCount, long leakCount, long averageWaitMicros, long maxWaitMicros) {
+        this.totalConnections = totalConnections;
+        this.idleConnections = idleConnections;
+        this.activeConnections = activeConnections;
+        this.waitingThreads = waitingThreads;
+        this.maxSize = maxSize;
+        this.borrowCount = borrowCount;
+        this.createdCount = createdCount;
+        this.validationFailures = validationFailures;
+        this.timeoutCount = timeoutCount;
+        this.leakCount = leakCount;
+        this.averageWaitMicros = averageWaitMicros;
+        this.maxWaitMicros = maxWaitMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{" +
+                "total=" + totalConnections +
+                ", idle=" + idleConnections +
+                ", active=" + activeConnections +
+                ", waiting=" + waitingThreads +
+                ", max=" + maxSize +
+                ", borrows=" + borrowCount +
+                ", created=" + createdCount +
+                ", validationFailures=" + validationFailures +
+                ", timeouts=" + timeoutCount +
+                ", leaks=" + leakCount +
+                ", avgWaitMicros=" + averageWaitMicros +
+                ", maxWaitMicros=" + maxWaitMicros +
+                '}';
+    }
+}
@@ -0,0 +1,162 @@
+package com.revwf.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement execution statistics for every query that goes through the
+ * pool: a latency histogram, row counts and slow executions, keyed by the SQL
+ * with bind lists collapsed. At most maxQueries distinct statements are
+ * tracked; the rest share one "(other)" entry, so memory stays bounded.
+ * Executions slower than the threshold are written to the com.revwf.slowquery log.
+ */
+public class SqlStats {
+    private static final Logger slowQueryLog = LogManager.getLogger("com.revwf.slowquery");
+    private static final String OTHER = "(other)";
+    private static final Pattern BIND_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxQueries;
+    private final long slowThresholdNanos;
+    private final Map<String, QueryStats> byQuery = new ConcurrentHashMap<>();
+    private final Map<String, String> idBySql = new ConcurrentHashMap<>();
+    private final LatencyHistogram connectionWait = new LatencyHistogram();
+
+    /**
+     * @param slowThresholdMillis executions at or above this are logged; negative disables the log
+     */
+    public SqlStats(int maxQueries, long slowThresholdMillis) {
+        this.maxQueries = Math.max(1, maxQueries);
+        this.slowThresholdNanos = slowThresholdMillis < 0 ? Long.MAX_VALUE : slowThresholdMillis * 1_000_000;
+    }
+
+    /**
+     * Record one execution. rows is the rows fetched or affected.
+     */
+    public void record(String sql, long nanos, long rows) {
+        String queryId = queryId(sql);
+        QueryStats stats = byQuery.get(queryId);
+        if (stats == null) {
+            if (byQuery.size() >= maxQueries) {
+                queryId = OTHER;
+            }
+            stats = byQuery.computeIfAbsent(queryId, QueryStats::new);
+        }
+        stats.latency.record(nanos);
+        stats.rows.add(rows);
+
+        if (nanos >= slowThresholdNanos) {
+            stats.slowCount.incrementAndGet();
+            slowQueryLog.warn("{} ms, {} rows: {}", nanos / 1_000_000, rows, queryId);
+        }
+    }
+
+    public void recordConnectionWait(long nanos) {
+        connectionWait.record(nanos);
+    }
+
+    public LatencyHistogram getConnectionWait() {
+        return connectionWait;
+    }
+
+    /**
+     * All tracked statements, most total time first
+     */
+    public List<QuerySnapshot> snapshot() {
+        List<QuerySnapshot> snapshots = new ArrayList<>();
+        for (QueryStats stats : byQuery.values()) {
+            snapshots.add(stats.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong((QuerySnapshot s) -> s.totalMillis).reversed());
+        return snapshots;
+    }
+
+    /**
+     * The statement's identity for statistics: whitespace collapsed and IN (?, ?, ...) lists folded
+     */
+    String queryId(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        String queryId = idBySql.get(sql);
+        if (queryId == null) {
+            queryId = BIND_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?...)");
+            // Only memoize while small; generated SQL must not grow this without bound
+            if (idBySql.size() < maxQueries * 4) {
+                idBySql.put(sql, queryId);
+            }
+        }
+        return queryId;
+    }
+
+    private static class QueryStats {
+        final String queryId;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder rows = new LongAdder();
+        final AtomicLong slowCount = new AtomicLong();
+
+        QueryStats(String queryId) {
+            this.queryId = queryId;
+        }
+
+        QuerySnapshot snapshot() {
+            return new QuerySnapshot(queryId, latency.getCount(), latency.getTotalNanos() / 1_000_000,
+                    latency.getMeanMicros(), latency.getPercentileMicros(50), latency.getPercentileMicros(95),
+                    latency.getPercentileMicros(99), latency.getMaxMicros(), rows.sum(), slowCount.get());
+        }
+    }
+
+    /**
+     * Point-in-time statistics of one statement
+     */
+    public static class QuerySnapshot {
+        public final String queryId;
+        public final long executions;
+        public final long totalMillis;
+        public final long meanMicros;
+        public final long p50Micros;
+        public final long p95Micros;
+        public final long p99Micros;
+        public final long maxMicros;
+        public final long rows;
+        public final long slowExecutions;
+
+        public QuerySnapshot(String queryId, long executions, long totalMillis, long meanMicros, long p50Micros,
+                             long p95Micros, long p99Micros, long maxMicros, long rows, long slowExecutions) {
+            this.queryId = queryId;
+            this.executions = executions;
+            this.totalMillis = totalMillis;
+            this.meanMicros = meanMicros;
+            this.p50Micros = p50Micros;
+            this.p95Micros = p95Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+            this.rows = rows;
+            this.slowExecutions = slowExecutions;
+        }
+
+        @Override
+        public String toString() {
+            return "QuerySnapshot{" +
+                    "executions=" + executions +
+                    ", totalMillis=" + totalMillis +
+                    ", p50Micros=" + p50Micros +
+                    ", p95Micros=" + p95Micros +
+                    ", p99Micros=" + p99Micros +
+                    ", maxMicros=" + maxMicros +
+                    ", rows=" + rows +
+                    ", slow=" + slowExecutions +
+                    ", sql=" + queryId +
+                    '}';
+        }
+    }
+}
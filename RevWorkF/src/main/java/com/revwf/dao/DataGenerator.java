@@ -0,0 +1,617 @@
+package com.revwf.dao;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.util.PasswordUtil;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills a schema with a synthetic organization for scale testing: a manager
+ * tree of the requested depth, users, leave balances and histories, goals,
+ * reviews and notifications. Everything generated is a function of the seed
+ * and the options, so two runs against empty schemas with the same --as-of
+ * date (default today) produce the same data. Rows are written as JDBC
+ * batches, committed once per batch; a run that fails keeps every batch
+ * committed before the failure, so clear the schema before running again.
+ *
+ * Usage: DataGenerator [--seed=42] [--employees=100000] [--levels=5] [--years=3]
+ *        [--leaves-per-year=4] [--notifications=20] [--goals=3] [--batch-size=1000]
+ *        [--as-of=2024-12-31]
+ */
+public class DataGenerator {
+    private static final Logger logger = LogManager.getLogger(DataGenerator.class);
+    private static final String DEFAULT_PASSWORD = "Password@123";
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Priya", "Rahul", "Ananya", "Vikram", "Sneha", "Arjun", "Kavya", "Rohan", "Meera",
+        "James", "Olivia", "Liam", "Emma", "Noah", "Sophia", "Lucas", "Mia", "Ethan", "Chloe"
+    };
+    private static final String[] LAST_NAMES = {
+        "Sharma", "Patel", "Reddy", "Iyer", "Khan", "Gupta", "Nair", "Singh", "Das", "Rao",
+        "Smith", "Johnson", "Brown", "Taylor", "Wilson", "Clark", "Lewis", "Walker", "Hall", "Young"
+    };
+    private static final String[] NOTIFICATION_TYPES = {
+        "LEAVE_APPROVAL", "LEAVE_REJECTION", "PERFORMANCE_REVIEW",
+        "BIRTHDAY_REMINDER", "WORK_ANNIVERSARY", "SYSTEM_ANNOUNCEMENT"
+    };
+    private static final String[] GOAL_PRIORITIES = {"HIGH", "MEDIUM", "LOW"};
+    private static final String[] GOAL_STATUSES = {"NOT_STARTED", "IN_PROGRESS", "COMPLETED", "CANCELLED"};
+
+    private final DatabaseConfig dbConfig;
+    private final IdAllocator idAllocator;
+    private final Options options;
+    private final Map<String, Integer> rowsWritten = new LinkedHashMap<>();
+
+    public DataGenerator(Options options) {
+        this.dbConfig = DatabaseConfig.getInstance();
+        this.idAllocator = IdAllocator.getInstance();
+        this.options = options;
+    }
+
+    public static void main(String[] args) {
+        Options options = Options.parse(args);
+        System.out.println("Generating synthetic data: " + options);
+        try {
+            Map<String, Integer> rows = new DataGenerator(options).generate();
+            System.out.println("✓ Data generation completed: " + rows);
+        } catch (Exception e) {
+            System.err.println("✗ Data generation failed: " + e.getMessage());
+            logger.error("Data generation failed", e);
+            System.exit(1);
+        } finally {
+            DatabaseConfig.getInstance().shutdown();
+        }
+    }
+
+    /**
+     * Write the whole data set; returns rows written per table
+     */
+    public Map<String, Integer> generate() throws SQLException {
+        long start = System.currentTimeMillis();
+        Random random = new Random(options.seed);
+
+        int[] managerIndex = buildOrgTree(random, options.employees, options.levels);
+        int[] level = levelsOf(managerIndex);
+
+        try (Connection conn = dbConfig.getConnection()) {
+            // BatchWriter commits each batch as it flushes; if a write fails, the
+            // pool rolls back only the batch in progress when the connection returns
+            conn.setAutoCommit(false);
+            int[] deptIds = ensureReferenceRows(conn, "departments", "dept_id", IdAllocator.Sequence.DEPARTMENTS,
+                    "INSERT INTO departments (dept_id, dept_name, dept_code) VALUES (?, ?, ?)",
+                    new String[][] {{"Engineering", "ENG"}, {"Finance", "FIN"}, {"Sales", "SAL"},
+                            {"Human Resources", "HR"}, {"Operations", "OPS"}, {"Support", "SUP"}});
+            // Most senior first; an employee's level picks the designation
+            int[] designationIds = ensureReferenceRows(conn, "designations", "designation_id",
+                    IdAllocator.Sequence.DESIGNATIONS,
+                    "INSERT INTO designations (designation_id, designation_name, designation_code) VALUES (?, ?, ?)",
+                    new String[][] {{"Chief Executive", "CEO"}, {"Director", "DIR"}, {"Senior Manager", "SM"},
+                            {"Manager", "MGR"}, {"Engineer", "ENG"}});
+            int[][] leaveTypes = loadLeaveTypes(conn);
+
+            int[] userIds = writeUsers(conn, random, managerIndex);
+            int[] empIds = writeEmployees(conn, random, managerIndex, level, userIds, deptIds, designationIds);
+            writeLeaveHistory(conn, random, managerIndex, empIds, leaveTypes);
+            writeGoalsAndReviews(conn, random, managerIndex, empIds);
+            writeNotifications(conn, random, empIds);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("Generated {} in {} ms", rowsWritten, elapsed);
+        return new LinkedHashMap<>(rowsWritten);
+    }
+
+    /**
+     * Manager of each employee by index, -1 for the single root. Level sizes
+     * grow geometrically so the tree is exactly 'levels' deep, and each
+     * employee reports to a random employee one level up.
+     */
+    static int[] buildOrgTree(Random random, int employees, int levels) {
+        if (employees < 1 || levels < 1) {
+            throw new IllegalArgumentException("Need at least one employee and one level");
+        }
+        levels = Math.min(levels, employees);
+        if (levels == 1 && employees > 1) {
+            throw new IllegalArgumentException("More than one employee needs at least two levels");
+        }
+        // Smallest fan-out that fits everyone into the requested depth
+        double fanOut = 1.0;
+        while (treeSize(fanOut, levels) < employees) {
+            fanOut += 0.01;
+        }
+
+        int[] managerIndex = new int[employees];
+        managerIndex[0] = -1;
+        int levelStart = 0;
+        int levelSize = 1;
+        int next = 1;
+        for (int l = 1; l < levels && next < employees; l++) {
+            int remainingLevels = levels - l;
+            int size = l == levels - 1
+                    ? employees - next
+                    : Math.max(1, Math.min((int) Math.round(Math.pow(fanOut, l)), employees - next - (remainingLevels - 1)));
+            for (int i = 0; i < size; i++) {
+                managerIndex[next + i] = levelStart + random.nextInt(levelSize);
+            }
+            levelStart = next;
+            levelSize = size;
+            next += size;
+        }
+        return managerIndex;
+    }
+
+    private static double treeSize(double fanOut, int levels) {
+        double total = 0;
+        for (int l = 0; l < levels; l++) {
+            total += Math.pow(fanOut, l);
+        }
+        return total;
+    }
+
+    /**
+     * Depth of each employee; managers always come before their reports
+     */
+    static int[] levelsOf(int[] managerIndex) {
+        int[] level = new int[managerIndex.length];
+        for (int i = 1; i < managerIndex.length; i++) {
+            level[i] = level[managerIndex[i]] + 1;
+        }
+        return level;
+    }
+
+    private int[] writeUsers(Connection conn, Random random, int[] managerIndex) throws SQLException {
+        boolean[] isManager = new boolean[managerIndex.length];
+        for (int i = 1; i < managerIndex.length; i++) {
+            isManager[managerIndex[i]] = true;
+        }
+        // One shared hash: hashing every synthetic user separately would take hours
+        String passwordHash = PasswordUtil.hashPassword(DEFAULT_PASSWORD);
+        int[] userIds = new int[managerIndex.length];
+
+        String sql = "INSERT INTO users (user_id, employee_id, email, password_hash, role, is_active) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        try (BatchWriter writer = new BatchWriter(conn, sql, "users")) {
+            for (int i = 0; i < managerIndex.length; i++) {
+                userIds[i] = idAllocator.nextId(conn, IdAllocator.Sequence.USERS);
+                String loginId = loginId(i);
+                PreparedStatement stmt = writer.statement();
+                stmt.setInt(1, userIds[i]);
+                stmt.setString(2, loginId);
+                stmt.setString(3, loginId.toLowerCase() + "@revwf.example");
+                stmt.setString(4, passwordHash);
+                stmt.setString(5, i == 0 ? "ADMIN" : isManager[i] ? "MANAGER" : "EMPLOYEE");
+                stmt.setInt(6, i > 0 && random.nextInt(50) == 0 ? 0 : 1);
+                writer.add();
+            }
+        }
+        return userIds;
+    }
+
+    private int[] writeEmployees(Connection conn, Random random, int[] managerIndex, int[] level, int[] userIds,
+                                 int[] deptIds, int[] designationIds) throws SQLException {
+        int[] empIds = new int[managerIndex.length];
+        int[] deptOf = new int[managerIndex.length];
+        LocalDate today = options.asOf;
+
+        String sql = "INSERT INTO employees (emp_id, user_id, first_name, last_name, phone, " +
+                "address, date_of_birth, joining_date, dept_id, designation_id, " +
+                "manager_id, salary, emergency_contact) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        // Index order is level order, so every manager row is written before its reports
+        try (BatchWriter writer = new BatchWriter(conn, sql, "employees")) {
+            for (int i = 0; i < managerIndex.length; i++) {
+                empIds[i] = idAllocator.nextId(conn, IdAllocator.Sequence.EMPLOYEES);
+                // Each of the root's reports heads a department that its subtree inherits
+                deptOf[i] = level[i] <= 1 ? deptIds[i % deptIds.length] : deptOf[managerIndex[i]];
+
+                PreparedStatement stmt = writer.statement();
+                stmt.setInt(1, empIds[i]);
+                stmt.setInt(2, userIds[i]);
+                stmt.setString(3, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                stmt.setString(4, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                stmt.setString(5, String.valueOf(9_000_000_000L + random.nextInt(1_000_000_000)));
+                stmt.setString(6, (1 + random.nextInt(999)) + " Synthetic Street, Block " + (i % 100));
+                stmt.setDate(7, Date.valueOf(today.minusYears(22 + random.nextInt(38)).minusDays(random.nextInt(365))));
+                stmt.setDate(8, Date.valueOf(joiningDate(i, today)));
+                stmt.setInt(9, deptOf[i]);
+                stmt.setInt(10, designationIds[Math.min(level[i], designationIds.length - 1)]);
+                if (managerIndex[i] < 0) {
+                    stmt.setNull(11, Types.INTEGER);
+                } else {
+                    stmt.setInt(11, empIds[managerIndex[i]]);
+                }
+                stmt.setDouble(12, 300_000.0 / (level[i] + 1) + random.nextInt(20_000));
+                stmt.setString(13, String.valueOf(8_000_000_000L + random.nextInt(1_000_000_000)));
+                writer.add();
+            }
+        }
+        return empIds;
+    }
+
+    /**
+     * Balances for every year and type, plus leave applications that draw on them.
+     * Past leave is mostly decided; leave that has not started yet is mostly pending.
+     */
+    private void writeLeaveHistory(Connection conn, Random random, int[] managerIndex, int[] empIds,
+                                   int[][] leaveTypes) throws SQLException {
+        if (leaveTypes.length == 0) {
+            logger.warn("No leave types configured; skipping leave history");
+            return;
+        }
+        LocalDate today = options.asOf;
+        int firstYear = today.getYear() - options.years + 1;
+
+        String applicationSql = "INSERT INTO leave_applications (application_id, emp_id, leave_type_id, " +
+                "start_date, end_date, total_days, reason, status, applied_date, approved_by, approved_date, " +
+                "manager_comments) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String balanceSql = "INSERT INTO leave_balances (balance_id, emp_id, leave_type_id, allocated_days, " +
+                "used_days, remaining_days, year) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (BatchWriter applications = new BatchWriter(conn, applicationSql, "leave_applications");
+             BatchWriter balances = new BatchWriter(conn, balanceSql, "leave_balances")) {
+            for (int i = 0; i < empIds.length; i++) {
+                LocalDate joined = joiningDate(i, today);
+                Integer approver = managerIndex[i] >= 0 ? empIds[managerIndex[i]] : null;
+
+                for (int year = Math.max(firstYear, joined.getYear()); year <= today.getYear(); year++) {
+                    int[] used = new int[leaveTypes.length];
+                    int count = random.nextInt(options.leavesPerYear * 2 + 1);
+                    for (int n = 0; n < count; n++) {
+                        int type = random.nextInt(leaveTypes.length);
+                        LocalDate startDate = weekday(LocalDate.of(year, 1, 1).plusDays(random.nextInt(360)));
+                        if (startDate.isBefore(joined)) {
+                            continue;
+                        }
+                        int days = 1 + random.nextInt(4);
+                        LocalDate endDate = startDate.plusDays(days - 1);
+                        String status = leaveStatus(random, startDate.isAfter(today));
+                        if (status.equals("APPROVED") && used[type] + days > leaveTypes[type][1]) {
+                            status = "REJECTED";
+                        }
+                        if (status.equals("APPROVED")) {
+                            used[type] += days;
+                        }
+                        LocalDateTime appliedAt = startDate.minusDays(1 + random.nextInt(30)).atTime(9 + random.nextInt(9), 0);
+
+                        PreparedStatement stmt = applications.statement();
+                        stmt.setInt(1, idAllocator.nextId(conn, IdAllocator.Sequence.LEAVE_APPLICATIONS));
+                        stmt.setInt(2, empIds[i]);
+                        stmt.setInt(3, leaveTypes[type][0]);
+                        stmt.setDate(4, Date.valueOf(startDate));
+                        stmt.setDate(5, Date.valueOf(endDate));
+                        stmt.setInt(6, days);
+                        stmt.setString(7, "Synthetic leave request");
+                        stmt.setString(8, status);
+                        stmt.setTimestamp(9, Timestamp.valueOf(appliedAt));
+                        boolean decided = !status.equals("PENDING") && approver != null;
+                        if (decided) {
+                            stmt.setInt(10, approver);
+                            stmt.setTimestamp(11, Timestamp.valueOf(appliedAt.plusDays(1 + random.nextInt(3))));
+                            stmt.setString(12, status.equals("APPROVED") ? "Approved" : "Not this time");
+                        } else {
+                            stmt.setNull(10, Types.INTEGER);
+                            stmt.setNull(11, Types.TIMESTAMP);
+                            stmt.setNull(12, Types.VARCHAR);
+                        }
+                        applications.add();
+                    }
+
+                    for (int type = 0; type < leaveTypes.length; type++) {
+                        PreparedStatement stmt = balances.statement();
+                        stmt.setInt(1, idAllocator.nextId(conn, IdAllocator.Sequence.LEAVE_BALANCES));
+                        stmt.setInt(2, empIds[i]);
+                        stmt.setInt(3, leaveTypes[type][0]);
+                        stmt.setInt(4, leaveTypes[type][1]);
+                        stmt.setInt(5, used[type]);
+                        stmt.setInt(6, leaveTypes[type][1] - used[type]);
+                        stmt.setInt(7, year);
+                        balances.add();
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeGoalsAndReviews(Connection conn, Random random, int[] managerIndex, int[] empIds)
+            throws SQLException {
+        LocalDate today = options.asOf;
+        String goalSql = "INSERT INTO goals (goal_id, emp_id, goal_description, deadline, priority, " +
+                "success_metrics, status, completion_percentage) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String reviewSql = "INSERT INTO performance_reviews (review_id, emp_id, review_year, key_deliverables, " +
+                "major_accomplishments, areas_of_improvement, self_assessment_rating, status, manager_rating, " +
+                "manager_feedback, reviewed_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (BatchWriter goals = new BatchWriter(conn, goalSql, "goals");
+             BatchWriter reviews = new BatchWriter(conn, reviewSql, "performance_reviews")) {
+            for (int i = 0; i < empIds.length; i++) {
+                for (int n = 0; n < options.goals; n++) {
+                    String status = GOAL_STATUSES[random.nextInt(GOAL_STATUSES.length)];
+                    PreparedStatement stmt = goals.statement();
+                    stmt.setInt(1, idAllocator.nextId(conn, IdAllocator.Sequence.GOALS));
+                    stmt.setInt(2, empIds[i]);
+                    stmt.setString(3, "Synthetic goal " + (n + 1));
+                    stmt.setDate(4, Date.valueOf(today.plusDays(random.nextInt(365) - 90)));
+                    stmt.setString(5, GOAL_PRIORITIES[random.nextInt(GOAL_PRIORITIES.length)]);
+                    stmt.setString(6, "Measured quarterly");
+                    stmt.setString(7, status);
+                    stmt.setInt(8, status.equals("COMPLETED") ? 100
+                            : status.equals("NOT_STARTED") ? 0 : random.nextInt(100));
+                    goals.add();
+                }
+
+                // One review for each finished year the employee was here
+                LocalDate joined = joiningDate(i, today);
+                for (int year = Math.max(today.getYear() - options.years + 1, joined.getYear());
+                     year < today.getYear(); year++) {
+                    boolean reviewed = managerIndex[i] >= 0;
+                    PreparedStatement stmt = reviews.statement();
+                    stmt.setInt(1, idAllocator.nextId(conn, IdAllocator.Sequence.PERFORMANCE_REVIEWS));
+                    stmt.setInt(2, empIds[i]);
+                    stmt.setInt(3, year);
+                    stmt.setString(4, "Delivered planned work for " + year);
+                    stmt.setString(5, "Shipped synthetic milestones");
+                    stmt.setString(6, "Documentation");
+                    stmt.setInt(7, 1 + random.nextInt(5));
+                    stmt.setString(8, reviewed ? "REVIEWED" : "SUBMITTED");
+                    if (reviewed) {
+                        stmt.setInt(9, 1 + random.nextInt(5));
+                        stmt.setString(10, "Consistent performance");
+                        stmt.setInt(11, empIds[managerIndex[i]]);
+                    } else {
+                        stmt.setNull(9, Types.INTEGER);
+                        stmt.setNull(10, Types.VARCHAR);
+                        stmt.setNull(11, Types.INTEGER);
+                    }
+                    reviews.add();
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifications spread over the last 120 days; anything older than a week is mostly read
+     */
+    private void writeNotifications(Connection conn, Random random, int[] empIds) throws SQLException {
+        LocalDateTime now = options.asOf.atTime(18, 0);
+        String sql = "INSERT INTO notifications (notification_id, emp_id, title, message, type, is_read, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (BatchWriter writer = new BatchWriter(conn, sql, "notifications")) {
+            for (int empId : empIds) {
+                int count = random.nextInt(options.notifications * 2 + 1);
+                for (int n = 0; n < count; n++) {
+                    String type = NOTIFICATION_TYPES[random.nextInt(NOTIFICATION_TYPES.length)];
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(120 * 24 * 60));
+                    boolean read = createdAt.isBefore(now.minusDays(7)) ? random.nextInt(10) < 9 : random.nextBoolean();
+
+                    PreparedStatement stmt = writer.statement();
+                    stmt.setInt(1, idAllocator.nextId(conn, IdAllocator.Sequence.NOTIFICATIONS));
+                    stmt.setInt(2, empId);
+                    stmt.setString(3, "Synthetic " + type.toLowerCase().replace('_', ' '));
+                    stmt.setString(4, "Generated notification " + (n + 1));
+                    stmt.setString(5, type);
+                    stmt.setInt(6, read ? 1 : 0);
+                    stmt.setTimestamp(7, Timestamp.valueOf(createdAt));
+                    writer.add();
+                }
+            }
+        }
+    }
+
+    /**
+     * IDs of the existing rows, or of the given defaults after inserting them into an empty table
+     */
+    private int[] ensureReferenceRows(Connection conn, String table, String idColumn, IdAllocator.Sequence sequence,
+                                      String insertSql, String[][] defaults) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT " + idColumn + " FROM " + table +
+                " ORDER BY " + idColumn);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        if (ids.isEmpty()) {
+            try (BatchWriter writer = new BatchWriter(conn, insertSql, table)) {
+                for (String[] nameAndCode : defaults) {
+                    int id = idAllocator.nextId(conn, sequence);
+                    PreparedStatement stmt = writer.statement();
+                    stmt.setInt(1, id);
+                    stmt.setString(2, nameAndCode[0]);
+                    stmt.setString(3, nameAndCode[1]);
+                    writer.add();
+                    ids.add(id);
+                }
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * {leave_type_id, max_days_per_year} of every leave type
+     */
+    private int[][] loadLeaveTypes(Connection conn) throws SQLException {
+        List<int[]> types = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT leave_type_id, max_days_per_year FROM leave_types ORDER BY leave_type_id");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                types.add(new int[] {rs.getInt(1), rs.getInt(2)});
+            }
+        }
+        return types.toArray(new int[0][]);
+    }
+
+    private String loginId(int index) {
+        return String.format("GEN%d-%06d", options.seed, index + 1);
+    }
+
+    /**
+     * Joining dates are derived from the index so later passes agree without storing them
+     */
+    private LocalDate joiningDate(int index, LocalDate today) {
+        if (index == 0) {
+            return today.minusYears(10);
+        }
+        Random random = new Random(options.seed * 31 + index);
+        return today.minusDays(30 + random.nextInt(10 * 365));
+    }
+
+    private static LocalDate weekday(LocalDate date) {
+        if (date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+            return date.plusDays(2);
+        }
+        if (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            return date.plusDays(1);
+        }
+        return date;
+    }
+
+    private static String leaveStatus(Random random, boolean upcoming) {
+        int roll = random.nextInt(10);
+        if (upcoming) {
+            return roll < 6 ? "PENDING" : "APPROVED";
+        }
+        return roll < 8 ? "APPROVED" : roll < 9 ? "REJECTED" : "CANCELLED";
+    }
+
+    /**
+     * Accumulates rows into JDBC batches and commits each batch
+     */
+    private class BatchWriter implements AutoCloseable {
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private final String table;
+        private int pending;
+        private int written;
+
+        BatchWriter(Connection conn, String sql, String table) throws SQLException {
+            this.conn = conn;
+            this.stmt = conn.prepareStatement(sql);
+            this.table = table;
+        }
+
+        PreparedStatement statement() {
+            return stmt;
+        }
+
+        void add() throws SQLException {
+            stmt.addBatch();
+            if (++pending == options.batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            stmt.executeBatch();
+            conn.commit();
+            written += pending;
+            pending = 0;
+            if (written % (options.batchSize * 100) == 0) {
+                System.out.printf("  %s: %,d rows%n", table, written);
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                stmt.close();
+                rowsWritten.merge(table, written, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Generation settings, parsed from --name=value arguments
+     */
+    public static class Options {
+        public long seed = 42;
+        public int employees = 100_000;
+        public int levels = 5;
+        public int years = 3;
+        public int leavesPerYear = 4;
+        public int notifications = 20;
+        public int goals = 3;
+        public int batchSize = 1000;
+        public LocalDate asOf = LocalDate.now();
+
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                String name = arg.substring(2, eq);
+                String value = arg.substring(eq + 1);
+                switch (name) {
+                    case "seed":
+                        options.seed = Long.parseLong(value);
+                        break;
+                    case "employees":
+                        options.employees = Integer.parseInt(value);
+                        break;
+                    case "levels":
+                        options.levels = Integer.parseInt(value);
+                        break;
+                    case "years":
+                        options.years = Integer.parseInt(value);
+                        break;
+                    case "leaves-per-year":
+                        options.leavesPerYear = Integer.parseInt(value);
+                        break;
+                    case "notifications":
+                        options.notifications = Integer.parseInt(value);
+                        break;
+                    case "goals":
+                        options.goals = Integer.parseInt(value);
+                        break;
+                    case "batch-size":
+                        options.batchSize = Integer.parseInt(value);
+                        break;
+                    case "as-of":
+                        options.asOf = LocalDate.parse(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option --" + name);
+                }
+            }
+            return options;
+        }
+
+        @Override
+        public String toString() {
+            return "Options{" +
+                    "seed=" + seed +
+                    ", employees=" + employees +
+                    ", levels=" + levels +
+                    ", years=" + years +
+                    ", leavesPerYear=" + leavesPerYear +
+                    ", notifications=" + notifications +
+                    ", goals=" + goals +
+                    ", batchSize=" + batchSize +
+                    ", asOf=" + asOf +
+                    '}';
+        }
+    }
+}
@@ -11,59 +11,134 @@ import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class EmployeeDAO {
     private static final Logger logger = LogManager.getLogger(EmployeeDAO.class);
     private final DatabaseConfig dbConfig;
+    private final IdAllocator idAllocator;
+    private final ReferenceDataCache referenceCache;
+    private final int fetchSize;
 
     public EmployeeDAO() {
         this.dbConfig = DatabaseConfig.getInstance();
+        this.idAllocator = IdAllocator.getInstance();
+        this.referenceCache = ReferenceDataCache.getInstance();
+        this.fetchSize = dbConfig.getIntProperty("db.fetch.size", 200);
     }
 
     /**
      * Get all employees with department and designation details
      */
     public List<Employee> getAllEmployees() {
+        try {
+            return loadAllEmployees();
+        } catch (SQLException e) {
+            logger.error("Error retrieving all employees: " + e.getMessage());
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * All employees ordered by emp_id; unlike getAllEmployees a failed read throws
+     * rather than looking like an empty table
+     */
+    public List<Employee> loadAllEmployees() throws SQLException {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "ORDER BY e.emp_id";
+        String sql = SqlCatalog.EMPLOYEES_ALL;
 
         try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            while (rs.next()) {
-                Employee employee = mapResultSetToEmployee(rs);
-                employees.add(employee);
+            stmt.setFetchSize(fetchSize);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                EmployeeMapper mapper = new EmployeeMapper(rs);
+                while (rs.next()) {
+                    employees.add(mapper.map());
+                }
             }
+        }
+
+        logger.info("Retrieved {} employees", employees.size());
+        return employees;
+    }
+
+    /**
+     * Get one page of employees ordered by emp_id, starting after the given ID.
+     * Pass 0 for the first page and the last emp_id seen for the next one.
+     */
+    public List<Employee> getEmployeesPage(int afterEmpId, int pageSize) {
+        List<Employee> employees = new ArrayList<>();
+        String sql = SqlCatalog.EMPLOYEES_PAGE;
 
-            logger.info("Retrieved {} employees", employees.size());
+        try (Connection conn = dbConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterEmpId);
+            stmt.setInt(2, pageSize);
+            stmt.setFetchSize(pageSize);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                EmployeeMapper mapper = new EmployeeMapper(rs);
+                while (rs.next()) {
+                    employees.add(mapper.map());
+                }
+            }
+
+            logger.debug("Retrieved page of {} employees after ID {}", employees.size(), afterEmpId);
         } catch (SQLException e) {
-            logger.error("Error retrieving all employees: " + e.getMessage());
+            logger.error("Error retrieving employee page: " + e.getMessage());
         }
 
         return employees;
     }
 
+    /**
+     * Stream all employees ordered by emp_id to the consumer without building a list
+     */
+    public int streamAllEmployees(Consumer<Employee> consumer) {
+        return streamAllEmployees(fetchSize, consumer);
+    }
+
+    /**
+     * Stream all employees using the given JDBC fetch size
+     */
+    public int streamAllEmployees(int rowFetchSize, Consumer<Employee> consumer) {
+        String sql = SqlCatalog.EMPLOYEES_ALL;
+        int count = 0;
+
+        try (Connection conn = dbConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setFetchSize(rowFetchSize);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                EmployeeMapper mapper = new EmployeeMapper(rs);
+                while (rs.next()) {
+                    consumer.accept(mapper.map());
+                    count++;
+                }
+            }
+
+            logger.info("Streamed {} employees", count);
+        } catch (SQLException e) {
+            logger.error("Error streaming employees: " + e.getMessage());
+        }
+
+        return count;
+    }
+
     /**
      * Get employee by ID
      */
     public Employee getEmployeeById(int empId) {
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE e.emp_id = ?";
+        String sql = SqlCatalog.EMPLOYEE_BY_ID;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -72,7 +147,7 @@ public class EmployeeDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToEmployee(rs);
+                    return new EmployeeMapper(rs).map();
                 }
             }
         } catch (SQLException e) {
@@ -86,14 +161,7 @@ public class EmployeeDAO {
      * Get employee by user ID
      */
     public Employee getEmployeeByUserId(int userId) {
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE e.user_id = ?";
+        String sql = SqlCatalog.EMPLOYEE_BY_USER_ID;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -102,7 +170,7 @@ public class EmployeeDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToEmployee(rs);
+                    return new EmployeeMapper(rs).map();
                 }
             }
         } catch (SQLException e) {
@@ -125,7 +193,7 @@ public class EmployeeDAO {
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             // Get next employee ID
-            int nextEmpId = getNextEmployeeId();
+            int nextEmpId = idAllocator.nextId(conn, IdAllocator.Sequence.EMPLOYEES);
 
             stmt.setInt(1, nextEmpId);
             stmt.setInt(2, employee.getUserId());
@@ -207,15 +275,7 @@ public class EmployeeDAO {
      */
     public List<Employee> getEmployeesByManagerId(int managerId) {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE e.manager_id = ? " +
-                "ORDER BY e.first_name, e.last_name";
+        String sql = SqlCatalog.EMPLOYEES_BY_MANAGER;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -223,8 +283,9 @@ public class EmployeeDAO {
             stmt.setInt(1, managerId);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                EmployeeMapper mapper = new EmployeeMapper(rs);
                 while (rs.next()) {
-                    Employee employee = mapResultSetToEmployee(rs);
+                    Employee employee = mapper.map();
                     employees.add(employee);
                 }
             }
@@ -237,38 +298,12 @@ public class EmployeeDAO {
         return employees;
     }
 
-    /**
-     * Get next employee ID
-     */
-    private int getNextEmployeeId() throws SQLException {
-        String sql = "SELECT NVL(MAX(emp_id), 0) + 1 FROM employees";
-
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        }
-
-        return 1;
-    }
-
     /**
      * Search employees by name
      */
     public List<Employee> searchEmployeesByName(String name) {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE UPPER(e.first_name || ' ' || e.last_name) LIKE UPPER(?) " +
-                "ORDER BY e.first_name, e.last_name";
+        String sql = SqlCatalog.EMPLOYEES_SEARCH_NAME;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -276,8 +311,9 @@ public class EmployeeDAO {
             stmt.setString(1, "%" + name + "%");
 
             try (ResultSet rs = stmt.executeQuery()) {
+                EmployeeMapper mapper = new EmployeeMapper(rs);
                 while (rs.next()) {
-                    Employee employee = mapResultSetToEmployee(rs);
+                    Employee employee = mapper.map();
                     employees.add(employee);
                 }
             }
@@ -295,15 +331,7 @@ public class EmployeeDAO {
      */
     public List<Employee> searchEmployeesByEmployeeId(String employeeId) {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE UPPER(u.employee_id) LIKE UPPER(?) " +
-                "ORDER BY e.first_name, e.last_name";
+        String sql = SqlCatalog.EMPLOYEES_SEARCH_EMPLOYEE_ID;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -311,8 +339,9 @@ public class EmployeeDAO {
             stmt.setString(1, "%" + employeeId + "%");
 
             try (ResultSet rs = stmt.executeQuery()) {
+                EmployeeMapper mapper = new EmployeeMapper(rs);
                 while (rs.next()) {
-                    Employee employee = mapResultSetToEmployee(rs);
+                    Employee employee = mapper.map();
                     employees.add(employee);
                 }
             }
@@ -330,15 +359,7 @@ public class EmployeeDAO {
      */
     public List<Employee> searchEmployeesByDepartment(String department) {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE UPPER(d.dept_name) LIKE UPPER(?) " +
-                "ORDER BY e.first_name, e.last_name";
+        String sql = SqlCatalog.EMPLOYEES_SEARCH_DEPARTMENT;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -346,8 +367,9 @@ public class EmployeeDAO {
             stmt.setString(1, "%" + department + "%");
 
             try (ResultSet rs = stmt.executeQuery()) {
+                EmployeeMapper mapper = new EmployeeMapper(rs);
                 while (rs.next()) {
-                    Employee employee = mapResultSetToEmployee(rs);
+                    Employee employee = mapper.map();
                     employees.add(employee);
                 }
             }
@@ -365,15 +387,7 @@ public class EmployeeDAO {
      */
     public List<Employee> searchEmployeesByDesignation(String designation) {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE UPPER(des.designation_name) LIKE UPPER(?) " +
-                "ORDER BY e.first_name, e.last_name";
+        String sql = SqlCatalog.EMPLOYEES_SEARCH_DESIGNATION;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -381,8 +395,9 @@ public class EmployeeDAO {
             stmt.setString(1, "%" + designation + "%");
 
             try (ResultSet rs = stmt.executeQuery()) {
+                EmployeeMapper mapper = new EmployeeMapper(rs);
                 while (rs.next()) {
-                    Employee employee = mapResultSetToEmployee(rs);
+                    Employee employee = mapper.map();
                     employees.add(employee);
                 }
             }
@@ -395,29 +410,106 @@ public class EmployeeDAO {
         return employees;
     }
 
+    /**
+     * Map of emp_id to login employee ID for every employee, used to build the search index
+     */
+    public Map<Integer, String> getAllEmployeeCodes() throws SQLException {
+        Map<Integer, String> codes = new HashMap<>();
+        String sql = "SELECT e.emp_id, u.employee_id FROM employees e " +
+                "JOIN users u ON e.user_id = u.user_id";
+
+        try (Connection conn = dbConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setFetchSize(fetchSize);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    codes.put(rs.getInt("emp_id"), rs.getString("employee_id"));
+                }
+            }
+        }
+
+        return codes;
+    }
+
+    /**
+     * Every employee's manager as {empIds, managerIds}; a manager ID of 0 means none
+     */
+    public int[][] getReportingLines() throws SQLException {
+        int[] empIds = new int[256];
+        int[] managerIds = new int[256];
+        int count = 0;
+        String sql = "SELECT emp_id, NVL(manager_id, 0) AS manager_id FROM employees";
+
+        try (Connection conn = dbConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setFetchSize(fetchSize);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (count == empIds.length) {
+                        empIds = Arrays.copyOf(empIds, count * 2);
+                        managerIds = Arrays.copyOf(managerIds, count * 2);
+                    }
+                    empIds[count] = rs.getInt("emp_id");
+                    managerIds[count] = rs.getInt("manager_id");
+                    count++;
+                }
+            }
+        }
+
+        return new int[][] { Arrays.copyOf(empIds, count), Arrays.copyOf(managerIds, count) };
+    }
+
+    /**
+     * IDs of active employees, in one department when deptId is not null
+     */
+    public int[] getActiveEmployeeIds(Integer deptId) throws SQLException {
+        String sql = "SELECT e.emp_id FROM employees e " +
+                "JOIN users u ON e.user_id = u.user_id " +
+                "WHERE u.is_active = 1" +
+                (deptId != null ? " AND e.dept_id = ?" : "") +
+                " ORDER BY e.emp_id";
+        int[] ids = new int[256];
+        int count = 0;
+
+        try (Connection conn = dbConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (deptId != null) {
+                stmt.setInt(1, deptId);
+            }
+            stmt.setFetchSize(fetchSize);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = rs.getInt(1);
+                }
+            }
+        }
+
+        return Arrays.copyOf(ids, count);
+    }
+
     /**
      * Get potential managers (employees who can be managers)
      */
     public List<Employee> getPotentialManagers() {
         List<Employee> managers = new ArrayList<>();
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE des.designation_name IN ('Manager', 'Team Lead', 'Senior Software Engineer', 'Finance Manager', 'Marketing Manager', 'Admin') "
-                +
-                "AND u.is_active = 1 " +
-                "ORDER BY e.first_name, e.last_name";
+        String sql = SqlCatalog.POTENTIAL_MANAGERS;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql);
                 ResultSet rs = stmt.executeQuery()) {
 
+            EmployeeMapper mapper = new EmployeeMapper(rs);
             while (rs.next()) {
-                Employee employee = mapResultSetToEmployee(rs);
+                Employee employee = mapper.map();
                 managers.add(employee);
             }
 
@@ -430,16 +522,22 @@ public class EmployeeDAO {
     }
 
     /**
-     * Update employee manager
+     * Update employee manager. The update is refused in the same statement when
+     * the new manager already reports, directly or not, to the employee, so a
+     * cycle cannot be written even if another session moved people meanwhile.
      */
     public boolean updateEmployeeManager(int empId, Integer newManagerId) {
         String sql = "UPDATE employees SET manager_id = ?, updated_at = CURRENT_TIMESTAMP WHERE emp_id = ?";
+        String guardedSql = sql + " AND NOT EXISTS (SELECT 1 FROM employees chain WHERE chain.emp_id = ? " +
+                "START WITH chain.emp_id = ? CONNECT BY NOCYCLE PRIOR chain.manager_id = chain.emp_id)";
 
         try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+                PreparedStatement stmt = conn.prepareStatement(newManagerId != null ? guardedSql : sql)) {
 
             if (newManagerId != null) {
                 stmt.setInt(1, newManagerId);
+                stmt.setInt(3, empId);
+                stmt.setInt(4, newManagerId);
             } else {
                 stmt.setNull(1, Types.INTEGER);
             }
@@ -450,6 +548,8 @@ public class EmployeeDAO {
                 logger.info("Manager updated for employee ID: {} to manager ID: {}", empId, newManagerId);
                 return true;
             }
+            logger.warn("Manager of employee ID: {} not changed: missing, or manager ID: {} reports to them",
+                    empId, newManagerId);
         } catch (SQLException e) {
             logger.error("Error updating employee manager: " + e.getMessage());
         }
@@ -458,55 +558,89 @@ public class EmployeeDAO {
     }
 
     /**
-     * Map ResultSet to Employee object
+     * Maps employee join rows (SqlCatalog.EMPLOYEE_SELECT) to Employee objects by column index
      */
-    private Employee mapResultSetToEmployee(ResultSet rs) throws SQLException {
-        Employee employee = new Employee();
-        employee.setEmpId(rs.getInt("emp_id"));
-        employee.setUserId(rs.getInt("user_id"));
-        employee.setFirstName(rs.getString("first_name"));
-        employee.setLastName(rs.getString("last_name"));
-        employee.setPhone(rs.getString("phone"));
-        employee.setAddress(rs.getString("address"));
-        employee.setDateOfBirth(rs.getDate("date_of_birth"));
-        employee.setJoiningDate(rs.getDate("joining_date"));
-        employee.setDeptId(rs.getInt("dept_id"));
-        employee.setDesignationId(rs.getInt("designation_id"));
-
-        int managerId = rs.getInt("manager_id");
-        if (!rs.wasNull()) {
-            employee.setManagerId(managerId);
+    static final class EmployeeMapper extends RowMapper<Employee> {
+        private final int empId;
+        private final int userId;
+        private final int firstName;
+        private final int lastName;
+        private final int phone;
+        private final int address;
+        private final int dateOfBirth;
+        private final int joiningDate;
+        private final int deptId;
+        private final int designationId;
+        private final int managerId;
+        private final int salary;
+        private final int emergencyContact;
+        private final int createdAt;
+        private final int updatedAt;
+        private final int deptName;
+        private final int designationName;
+        private final int managerName;
+        private final int isActive;
+
+        EmployeeMapper(ResultSet rs) throws SQLException {
+            super(rs);
+            this.empId = column("emp_id");
+            this.userId = column("user_id");
+            this.firstName = column("first_name");
+            this.lastName = column("last_name");
+            this.phone = column("phone");
+            this.address = column("address");
+            this.dateOfBirth = column("date_of_birth");
+            this.joiningDate = column("joining_date");
+            this.deptId = column("dept_id");
+            this.designationId = column("designation_id");
+            this.managerId = column("manager_id");
+            this.salary = column("salary");
+            this.emergencyContact = column("emergency_contact");
+            this.createdAt = column("created_at");
+            this.updatedAt = column("updated_at");
+            this.deptName = column("dept_name");
+            this.designationName = column("designation_name");
+            this.managerName = column("manager_name");
+            this.isActive = column("is_active");
         }
 
-        employee.setSalary(rs.getDouble("salary"));
-        employee.setEmergencyContact(rs.getString("emergency_contact"));
-        employee.setCreatedAt(rs.getTimestamp("created_at"));
-        employee.setUpdatedAt(rs.getTimestamp("updated_at"));
-
-        // Set additional fields from joins
-        employee.setDepartmentName(rs.getString("dept_name"));
-        employee.setDesignationName(rs.getString("designation_name"));
-        employee.setManagerName(rs.getString("manager_name"));
-
-        // Set active status from users table
-        int isActiveInt = rs.getInt("is_active");
-        employee.setActive(!rs.wasNull() && isActiveInt == 1);
-
-        return employee;
+        @Override
+        Employee map() throws SQLException {
+            Employee employee = new Employee();
+            employee.setEmpId(rs.getInt(empId));
+            employee.setUserId(rs.getInt(userId));
+            employee.setFirstName(rs.getString(firstName));
+            employee.setLastName(rs.getString(lastName));
+            employee.setPhone(rs.getString(phone));
+            employee.setAddress(rs.getString(address));
+            employee.setDateOfBirth(rs.getDate(dateOfBirth));
+            employee.setJoiningDate(rs.getDate(joiningDate));
+            employee.setDeptId(rs.getInt(deptId));
+            employee.setDesignationId(rs.getInt(designationId));
+            employee.setManagerId(nullableInt(managerId));
+            employee.setSalary(rs.getDouble(salary));
+            employee.setEmergencyContact(rs.getString(emergencyContact));
+            employee.setCreatedAt(rs.getTimestamp(createdAt));
+            employee.setUpdatedAt(rs.getTimestamp(updatedAt));
+
+            // Set additional fields from joins; few distinct values, so share them
+            employee.setDepartmentName(shared(rs.getString(deptName)));
+            employee.setDesignationName(shared(rs.getString(designationName)));
+            employee.setManagerName(shared(rs.getString(managerName)));
+
+            // Set active status from users table
+            int isActiveInt = rs.getInt(isActive);
+            employee.setActive(!rs.wasNull() && isActiveInt == 1);
+
+            return employee;
+        }
     }
 
     /**
      * Get employee by employee ID string (e.g., "EMP001")
      */
     public Employee getEmployeeByEmployeeId(String employeeId) {
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE u.employee_id = ?";
+        String sql = SqlCatalog.EMPLOYEE_BY_EMPLOYEE_ID;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -515,7 +649,7 @@ public class EmployeeDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToEmployee(rs);
+                    return new EmployeeMapper(rs).map();
                 }
             }
         } catch (SQLException e) {
@@ -529,6 +663,19 @@ public class EmployeeDAO {
      * Get all departments
      */
     public List<Department> getAllDepartments() {
+        try {
+            return referenceCache.get(ReferenceDataCache.Kind.DEPARTMENTS, this::loadAllDepartments);
+        } catch (SQLException e) {
+            logger.error("Error retrieving departments: " + e.getMessage());
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * Load departments from the database
+     */
+    private List<Department> loadAllDepartments() throws SQLException {
         List<Department> departments = new ArrayList<>();
         String sql = "SELECT * FROM departments ORDER BY dept_name";
 
@@ -546,8 +693,6 @@ public class EmployeeDAO {
             }
 
             logger.info("Retrieved {} departments", departments.size());
-        } catch (SQLException e) {
-            logger.error("Error retrieving departments: " + e.getMessage());
         }
 
         return departments;
@@ -563,7 +708,7 @@ public class EmployeeDAO {
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             // Get next department ID
-            int nextId = getNextDepartmentId();
+            int nextId = idAllocator.nextId(conn, IdAllocator.Sequence.DEPARTMENTS);
             
             stmt.setInt(1, nextId);
             stmt.setString(2, deptName);
@@ -573,6 +718,7 @@ public class EmployeeDAO {
             
             if (rowsAffected > 0) {
                 logger.info("Department added successfully: {} ({})", deptName, deptCode);
+                referenceCache.invalidate(ReferenceDataCache.Kind.DEPARTMENTS);
                 return true;
             }
         } catch (SQLException e) {
@@ -626,29 +772,22 @@ public class EmployeeDAO {
     }
     
     /**
-     * Get next department ID
+     * Get all designations
      */
-    private int getNextDepartmentId() {
-        String sql = "SELECT NVL(MAX(dept_id), 0) + 1 FROM departments";
-
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
+    public List<Designation> getAllDesignations() {
+        try {
+            return referenceCache.get(ReferenceDataCache.Kind.DESIGNATIONS, this::loadAllDesignations);
         } catch (SQLException e) {
-            logger.error("Error getting next department ID: " + e.getMessage());
+            logger.error("Error retrieving designations: " + e.getMessage());
         }
 
-        return 1; // Default to 1 if error
+        return new ArrayList<>();
     }
-    
+
     /**
-     * Get all designations
+     * Load designations from the database
      */
-    public List<Designation> getAllDesignations() {
+    private List<Designation> loadAllDesignations() throws SQLException {
         List<Designation> designations = new ArrayList<>();
         String sql = "SELECT * FROM designations ORDER BY designation_name";
 
@@ -666,8 +805,6 @@ public class EmployeeDAO {
             }
 
             logger.info("Retrieved {} designations", designations.size());
-        } catch (SQLException e) {
-            logger.error("Error retrieving designations: " + e.getMessage());
         }
 
         return designations;
@@ -683,7 +820,7 @@ public class EmployeeDAO {
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             // Get next designation ID
-            int nextId = getNextDesignationId();
+            int nextId = idAllocator.nextId(conn, IdAllocator.Sequence.DESIGNATIONS);
             
             stmt.setInt(1, nextId);
             stmt.setString(2, designationName);
@@ -693,6 +830,7 @@ public class EmployeeDAO {
             
             if (rowsAffected > 0) {
                 logger.info("Designation added successfully: {} ({})", designationName, designationCode);
+                referenceCache.invalidate(ReferenceDataCache.Kind.DESIGNATIONS);
                 return true;
             }
         } catch (SQLException e) {
@@ -730,15 +868,7 @@ public class EmployeeDAO {
      */
     public List<Employee> getEmployeesByDepartment(int deptId) {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT e.*, d.dept_name, des.designation_name, " +
-                "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
-                "FROM employees e " +
-                "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
-                "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
-                "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
-                "LEFT JOIN users u ON e.user_id = u.user_id " +
-                "WHERE e.dept_id = ? " +
-                "ORDER BY e.emp_id";
+        String sql = SqlCatalog.EMPLOYEES_BY_DEPARTMENT;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -746,8 +876,9 @@ public class EmployeeDAO {
             stmt.setInt(1, deptId);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                EmployeeMapper mapper = new EmployeeMapper(rs);
                 while (rs.next()) {
-                    Employee employee = mapResultSetToEmployee(rs);
+                    Employee employee = mapper.map();
                     employees.add(employee);
                 }
             }
@@ -764,6 +895,19 @@ public class EmployeeDAO {
      * Get all holidays
      */
     public List<Holiday> getAllHolidays() {
+        try {
+            return referenceCache.get(ReferenceDataCache.Kind.HOLIDAYS, this::loadAllHolidays);
+        } catch (SQLException e) {
+            logger.error("Error retrieving holidays: " + e.getMessage());
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * Load holidays from the database
+     */
+    private List<Holiday> loadAllHolidays() throws SQLException {
         List<Holiday> holidays = new ArrayList<>();
         String sql = "SELECT * FROM company_holidays ORDER BY holiday_date";
 
@@ -784,8 +928,6 @@ public class EmployeeDAO {
             }
 
             logger.info("Retrieved {} holidays", holidays.size());
-        } catch (SQLException e) {
-            logger.error("Error retrieving holidays: " + e.getMessage());
         }
 
         return holidays;
@@ -801,7 +943,7 @@ public class EmployeeDAO {
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             // Get next holiday ID
-            int nextId = getNextHolidayId();
+            int nextId = idAllocator.nextId(conn, IdAllocator.Sequence.HOLIDAYS);
             
             stmt.setInt(1, nextId);
             stmt.setString(2, holidayName);
@@ -812,6 +954,7 @@ public class EmployeeDAO {
             
             if (rowsAffected > 0) {
                 logger.info("Holiday added successfully: {} on {}", holidayName, holidayDate);
+                referenceCache.invalidate(ReferenceDataCache.Kind.HOLIDAYS);
                 return true;
             }
         } catch (SQLException e) {
@@ -820,44 +963,4 @@ public class EmployeeDAO {
 
         return false;
     }
-    
-    /**
-     * Get next designation ID
-     */
-    private int getNextDesignationId() {
-        String sql = "SELECT NVL(MAX(designation_id), 0) + 1 FROM designations";
-
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            logger.error("Error getting next designation ID: " + e.getMessage());
-        }
-
-        return 1; // Default to 1 if error
-    }
-    
-    /**
-     * Get next holiday ID
-     */
-    private int getNextHolidayId() {
-        String sql = "SELECT NVL(MAX(holiday_id), 0) + 1 FROM company_holidays";
-
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            logger.error("Error getting next holiday ID: " + e.getMessage());
-        }
-
-        return 1; // Default to 1 if error
-    }
 }
\ No newline at end of file
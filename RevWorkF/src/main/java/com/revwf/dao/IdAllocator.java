@@ -0,0 +1,188 @@
+package com.revwf.dao;
+
+import com.revwf.config.DatabaseConfig;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Hands out primary keys in blocks reserved from Oracle sequences.
+ * Each sequence increments by the block size, so one NEXTVAL reserves a
+ * whole range that is then served from memory. Sequences are created on
+ * first use, seeded from the table's current MAX(id).
+ */
+public class IdAllocator {
+    private static final Logger logger = LogManager.getLogger(IdAllocator.class);
+    private static final int ORA_NAME_IN_USE = 955;
+    private static IdAllocator instance;
+
+    /**
+     * Tables whose keys are allocated here
+     */
+    public enum Sequence {
+        EMPLOYEES("employees", "emp_id"),
+        USERS("users", "user_id"),
+        DEPARTMENTS("departments", "dept_id"),
+        DESIGNATIONS("designations", "designation_id"),
+        HOLIDAYS("company_holidays", "holiday_id"),
+        LEAVE_TYPES("leave_types", "leave_type_id"),
+        LEAVE_BALANCES("leave_balances", "balance_id"),
+        LEAVE_APPLICATIONS("leave_applications", "application_id"),
+        NOTIFICATIONS("notifications", "notification_id"),
+        PERFORMANCE_REVIEWS("performance_reviews", "review_id"),
+        GOALS("goals", "goal_id");
+
+        private final String table;
+        private final String column;
+
+        Sequence(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public String getSequenceName() {
+            return "REVWF_" + table.toUpperCase() + "_SEQ";
+        }
+    }
+
+    private final DatabaseConfig dbConfig;
+    private final int defaultBlockSize;
+    private final Map<Sequence, Block> blocks = new EnumMap<>(Sequence.class);
+
+    private IdAllocator() {
+        this.dbConfig = DatabaseConfig.getInstance();
+        this.defaultBlockSize = Math.max(1, dbConfig.getIntProperty("db.id.block.size", 50));
+        for (Sequence sequence : Sequence.values()) {
+            blocks.put(sequence, new Block());
+        }
+    }
+
+    public static IdAllocator getInstance() {
+        if (instance == null) {
+            synchronized (IdAllocator.class) {
+                if (instance == null) {
+                    instance = new IdAllocator();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Next ID for the given table. A refill runs NEXTVAL on the caller's
+     * connection, which is not part of its transaction, so an inserter never
+     * waits on the pool for a second connection while holding one
+     */
+    public int nextId(Connection conn, Sequence sequence) throws SQLException {
+        Block block = blocks.get(sequence);
+        synchronized (block) {
+            if (block.next >= block.limit) {
+                refill(conn, sequence, block);
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * Reserve several IDs at once for batched inserts, on the caller's connection
+     */
+    public int[] nextIds(Connection conn, Sequence sequence, int count) throws SQLException {
+        int[] ids = new int[count];
+        Block block = blocks.get(sequence);
+        synchronized (block) {
+            for (int i = 0; i < count; i++) {
+                if (block.next >= block.limit) {
+                    refill(conn, sequence, block);
+                }
+                ids[i] = block.next++;
+            }
+        }
+        return ids;
+    }
+
+    private void refill(Connection conn, Sequence sequence, Block block) throws SQLException {
+        if (block.size == 0) {
+            block.size = resolveBlockSize(conn, sequence);
+        }
+        int start = fetchNextValue(conn, sequence);
+        block.next = start;
+        block.limit = start + block.size;
+        logger.debug("Reserved IDs {}-{} for {}", start, block.limit - 1, sequence.getTable());
+    }
+
+    private int fetchNextValue(Connection conn, Sequence sequence) throws SQLException {
+        String sql = "SELECT " + sequence.getSequenceName() + ".NEXTVAL FROM dual";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Read the sequence increment, creating the sequence if it does not exist yet
+     */
+    private int resolveBlockSize(Connection conn, Sequence sequence) throws SQLException {
+        String sql = "SELECT increment_by FROM user_sequences WHERE sequence_name = ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, sequence.getSequenceName());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+
+        // DDL commits implicitly, so the one-time creation must not run inside
+        // the caller's transaction
+        try (Connection ddlConn = dbConfig.getConnection()) {
+            createSequence(ddlConn, sequence);
+        }
+        return resolveBlockSize(conn, sequence);
+    }
+
+    private void createSequence(Connection conn, Sequence sequence) throws SQLException {
+        int start = 1;
+        String maxSql = "SELECT NVL(MAX(" + sequence.getColumn() + "), 0) + 1 FROM " + sequence.getTable();
+
+        try (PreparedStatement stmt = conn.prepareStatement(maxSql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                start = rs.getInt(1);
+            }
+        }
+
+        String ddl = "CREATE SEQUENCE " + sequence.getSequenceName() +
+                    " START WITH " + start + " INCREMENT BY " + defaultBlockSize + " NOCACHE";
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(ddl);
+            logger.info("Created sequence {} starting at {}", sequence.getSequenceName(), start);
+        } catch (SQLException e) {
+            // Another instance created it first
+            if (e.getErrorCode() != ORA_NAME_IN_USE) {
+                throw e;
+            }
+        }
+    }
+
+    private static class Block {
+        int next;
+        int limit;
+        int size;
+    }
+}
@@ -0,0 +1,394 @@
+package com.revwf.dao;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.model.LeaveApplication;
+import com.revwf.model.Notification;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Moves leave applications between statuses together with the matching
+ * balance change. The application is read once, its status change is
+ * conditioned on the row_version and status that were read, and the balance
+ * delta is applied in the same transaction, so two managers acting on the same
+ * request can never both count it. Every writer of leave_applications and
+ * leave_balances bumps row_version; the columns come from SchemaMigrations.
+ */
+public class LeaveApprovalPipeline {
+    private static final Logger logger = LogManager.getLogger(LeaveApprovalPipeline.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int IN_LIST_SIZE = 500;
+
+    /**
+     * Result of one status transition
+     */
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        WRONG_STATUS,
+        CONFLICT
+    }
+
+    private final DatabaseConfig dbConfig;
+    private final NotificationDAO notificationDAO;
+
+    public LeaveApprovalPipeline() {
+        this.dbConfig = DatabaseConfig.getInstance();
+        this.notificationDAO = new NotificationDAO();
+    }
+
+    /**
+     * Cancel an approved application and give the days back to the balance
+     */
+    public Outcome revoke(int applicationId, String revocationReason, int revokedBy) throws SQLException {
+        return transition(applicationId, LeaveApplication.LeaveStatus.APPROVED, LeaveApplication.LeaveStatus.CANCELLED,
+                "REVOKED: " + revocationReason, revokedBy, -1);
+    }
+
+    /**
+     * Approve or reject many pending applications in one transaction. Status
+     * changes, balance deltas and the notifications built by notificationFactory
+     * are each sent as a single JDBC batch. Applications that are missing, no
+     * longer pending or changed concurrently are skipped and reported.
+     */
+    public BatchResult decideAll(List<Integer> applicationIds, LeaveApplication.LeaveStatus decision,
+                                 String managerComments, int decidedBy,
+                                 Function<LeaveApplication, Notification> notificationFactory) throws SQLException {
+        long start = System.currentTimeMillis();
+        Map<Integer, Outcome> skipped = new LinkedHashMap<>();
+        List<Integer> applied = new ArrayList<>();
+        int notificationsSent = 0;
+
+        if (applicationIds.isEmpty()) {
+            return new BatchResult(applied, skipped, 0, 0);
+        }
+
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                Map<Integer, LeaveApplication> applications = new HashMap<>();
+                Map<Integer, Long> versions = new HashMap<>();
+                readApplications(conn, applicationIds, applications, versions);
+
+                List<LeaveApplication> pending = new ArrayList<>();
+                Set<Integer> seen = new HashSet<>();
+                for (Integer applicationId : applicationIds) {
+                    LeaveApplication application = applications.get(applicationId);
+                    if (application == null) {
+                        skipped.put(applicationId, Outcome.NOT_FOUND);
+                    } else if (application.getStatus() != LeaveApplication.LeaveStatus.PENDING) {
+                        skipped.put(applicationId, Outcome.WRONG_STATUS);
+                    } else if (seen.add(applicationId)) {
+                        pending.add(application);
+                    }
+                }
+
+                int[] counts = batchUpdateStatus(conn, pending, versions, decision, managerComments, decidedBy);
+                List<LeaveApplication> changed = new ArrayList<>();
+                for (int i = 0; i < pending.size(); i++) {
+                    LeaveApplication application = pending.get(i);
+                    if (counts[i] == 1) {
+                        application.setStatus(decision);
+                        application.setManagerComments(managerComments);
+                        application.setApprovedBy(decidedBy);
+                        changed.add(application);
+                        applied.add(application.getApplicationId());
+                    } else {
+                        skipped.put(application.getApplicationId(), Outcome.CONFLICT);
+                    }
+                }
+
+                if (decision == LeaveApplication.LeaveStatus.APPROVED) {
+                    batchChargeBalances(conn, changed);
+                }
+
+                if (notificationFactory != null) {
+                    List<Notification> notifications = new ArrayList<>();
+                    for (LeaveApplication application : changed) {
+                        Notification notification = notificationFactory.apply(application);
+                        if (notification != null) {
+                            notifications.add(notification);
+                        }
+                    }
+                    notificationsSent = notificationDAO.createNotifications(conn, notifications);
+                }
+
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("Batch {}: {} applied, {} skipped, {} notifications in {} ms",
+                decision, applied.size(), skipped.size(), notificationsSent, elapsed);
+        return new BatchResult(applied, skipped, notificationsSent, elapsed);
+    }
+
+    private void readApplications(Connection conn, List<Integer> applicationIds,
+                                  Map<Integer, LeaveApplication> applications,
+                                  Map<Integer, Long> versions) throws SQLException {
+        for (int from = 0; from < applicationIds.size(); from += IN_LIST_SIZE) {
+            List<Integer> chunk = applicationIds.subList(from, Math.min(from + IN_LIST_SIZE, applicationIds.size()));
+            String sql = "SELECT la.application_id, la.emp_id, la.leave_type_id, la.start_date, la.end_date, " +
+                        "la.total_days, la.status, la.row_version, lt.leave_type_name " +
+                        "FROM leave_applications la " +
+                        "JOIN leave_types lt ON la.leave_type_id = lt.leave_type_id " +
+                        "WHERE la.application_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        LeaveApplication application = new LeaveApplication();
+                        application.setApplicationId(rs.getInt("application_id"));
+                        application.setEmpId(rs.getInt("emp_id"));
+                        application.setLeaveTypeId(rs.getInt("leave_type_id"));
+                        application.setLeaveTypeName(rs.getString("leave_type_name"));
+                        application.setStartDate(rs.getDate("start_date"));
+                        application.setEndDate(rs.getDate("end_date"));
+                        application.setTotalDays(rs.getInt("total_days"));
+                        application.setStatus(LeaveApplication.LeaveStatus.valueOf(rs.getString("status")));
+                        applications.put(application.getApplicationId(), application);
+                        versions.put(application.getApplicationId(), rs.getLong("row_version"));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Row count per application, 1 if its status changed. A driver that answers
+     * SUCCESS_NO_INFO cannot tell a stale row from an applied one, so the batch is
+     * undone and the rows are updated one at a time to get real counts.
+     */
+    private int[] batchUpdateStatus(Connection conn, List<LeaveApplication> pending, Map<Integer, Long> versions,
+                                    LeaveApplication.LeaveStatus decision, String comments,
+                                    int decidedBy) throws SQLException {
+        if (pending.isEmpty()) {
+            return new int[0];
+        }
+        String sql = "UPDATE leave_applications SET status = ?, manager_comments = ?, " +
+                    "approved_by = ?, approved_date = CURRENT_TIMESTAMP, row_version = row_version + 1 " +
+                    "WHERE application_id = ? AND row_version = ? AND status = 'PENDING'";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (LeaveApplication application : pending) {
+                bindStatusUpdate(stmt, application, versions, decision, comments, decidedBy);
+                stmt.addBatch();
+            }
+            Savepoint beforeBatch = conn.setSavepoint();
+            int[] counts = stmt.executeBatch();
+            if (Arrays.stream(counts).noneMatch(count -> count == Statement.SUCCESS_NO_INFO)) {
+                return counts;
+            }
+
+            conn.rollback(beforeBatch);
+            for (int i = 0; i < pending.size(); i++) {
+                LeaveApplication application = pending.get(i);
+                bindStatusUpdate(stmt, application, versions, decision, comments, decidedBy);
+                counts[i] = stmt.executeUpdate();
+            }
+            return counts;
+        }
+    }
+
+    private static void bindStatusUpdate(PreparedStatement stmt, LeaveApplication application,
+                                         Map<Integer, Long> versions, LeaveApplication.LeaveStatus decision,
+                                         String comments, int decidedBy) throws SQLException {
+        stmt.setString(1, decision.name());
+        stmt.setString(2, comments);
+        stmt.setInt(3, decidedBy);
+        stmt.setInt(4, application.getApplicationId());
+        stmt.setLong(5, versions.get(application.getApplicationId()));
+    }
+
+    /**
+     * One balance update per employee, leave type and year, however many applications share it
+     */
+    private void batchChargeBalances(Connection conn, List<LeaveApplication> approved) throws SQLException {
+        Map<String, int[]> deltas = new LinkedHashMap<>();
+        for (LeaveApplication application : approved) {
+            int year = application.getStartDate().toLocalDate().getYear();
+            String key = application.getEmpId() + ":" + application.getLeaveTypeId() + ":" + year;
+            int[] delta = deltas.computeIfAbsent(key, k ->
+                    new int[] { application.getEmpId(), application.getLeaveTypeId(), year, 0 });
+            delta[3] += application.getTotalDays();
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE leave_balances SET used_days = used_days + ?, " +
+                    "remaining_days = allocated_days - (used_days + ?), row_version = row_version + 1 " +
+                    "WHERE emp_id = ? AND leave_type_id = ? AND year = ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int[] delta : deltas.values()) {
+                stmt.setInt(1, delta[3]);
+                stmt.setInt(2, delta[3]);
+                stmt.setInt(3, delta[0]);
+                stmt.setInt(4, delta[1]);
+                stmt.setInt(5, delta[2]);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private Outcome transition(int applicationId, LeaveApplication.LeaveStatus expected,
+                               LeaveApplication.LeaveStatus target, String comments,
+                               int actedBy, int balanceSign) throws SQLException {
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                    Snapshot snapshot = readSnapshot(conn, applicationId);
+                    if (snapshot == null) {
+                        conn.rollback();
+                        return Outcome.NOT_FOUND;
+                    }
+                    if (snapshot.status != expected) {
+                        conn.rollback();
+                        logger.warn("Leave application {} is {}, expected {}", applicationId, snapshot.status, expected);
+                        return Outcome.WRONG_STATUS;
+                    }
+
+                    if (updateStatus(conn, applicationId, snapshot.rowVersion, expected, target, comments, actedBy)) {
+                        if (balanceSign != 0) {
+                            applyBalanceDelta(conn, snapshot, balanceSign * snapshot.totalDays);
+                        }
+                        conn.commit();
+                        logger.info("Leave application {} moved from {} to {}", applicationId, expected, target);
+                        return Outcome.APPLIED;
+                    }
+
+                    // Someone else changed the row since we read it; re-read and re-check
+                    conn.rollback();
+                    logger.debug("Version conflict on leave application {} (attempt {})", applicationId, attempt);
+                }
+                return Outcome.CONFLICT;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private Snapshot readSnapshot(Connection conn, int applicationId) throws SQLException {
+        String sql = "SELECT emp_id, leave_type_id, total_days, start_date, status, row_version " +
+                    "FROM leave_applications WHERE application_id = ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, applicationId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Snapshot snapshot = new Snapshot();
+                snapshot.empId = rs.getInt("emp_id");
+                snapshot.leaveTypeId = rs.getInt("leave_type_id");
+                snapshot.totalDays = rs.getInt("total_days");
+                snapshot.year = rs.getDate("start_date").toLocalDate().getYear();
+                snapshot.status = LeaveApplication.LeaveStatus.valueOf(rs.getString("status"));
+                snapshot.rowVersion = rs.getLong("row_version");
+                return snapshot;
+            }
+        }
+    }
+
+    private boolean updateStatus(Connection conn, int applicationId, long rowVersion,
+                                 LeaveApplication.LeaveStatus expected, LeaveApplication.LeaveStatus target,
+                                 String comments, int actedBy) throws SQLException {
+        String sql = "UPDATE leave_applications SET status = ?, manager_comments = ?, " +
+                    "approved_by = ?, approved_date = CURRENT_TIMESTAMP, row_version = row_version + 1 " +
+                    "WHERE application_id = ? AND row_version = ? AND status = ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, target.name());
+            stmt.setString(2, comments);
+            stmt.setInt(3, actedBy);
+            stmt.setInt(4, applicationId);
+            stmt.setLong(5, rowVersion);
+            stmt.setString(6, expected.name());
+            return stmt.executeUpdate() == 1;
+        }
+    }
+
+    private void applyBalanceDelta(Connection conn, Snapshot snapshot, int days) throws SQLException {
+        String sql = "UPDATE leave_balances SET used_days = used_days + ?, " +
+                    "remaining_days = allocated_days - (used_days + ?), row_version = row_version + 1 " +
+                    "WHERE emp_id = ? AND leave_type_id = ? AND year = ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, days);
+            stmt.setInt(2, days);
+            stmt.setInt(3, snapshot.empId);
+            stmt.setInt(4, snapshot.leaveTypeId);
+            stmt.setInt(5, snapshot.year);
+            if (stmt.executeUpdate() == 0) {
+                logger.warn("No {} leave balance for employee {} and leave type {}",
+                        snapshot.year, snapshot.empId, snapshot.leaveTypeId);
+            }
+        }
+    }
+
+    /**
+     * Applied and skipped applications from one batch decision
+     */
+    public static class BatchResult {
+        public final List<Integer> applied;
+        public final Map<Integer, Outcome> skipped;
+        public final int notificationsSent;
+        public final long elapsedMillis;
+
+        public BatchResult(List<Integer> applied, Map<Integer, Outcome> skipped,
+                           int notificationsSent, long elapsedMillis) {
+            this.applied = applied;
+            this.skipped = skipped;
+            this.notificationsSent = notificationsSent;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "BatchResult{" +
+                    "applied=" + applied.size() +
+                    ", skipped=" + skipped.size() +
+                    ", notificationsSent=" + notificationsSent +
+                    ", elapsedMillis=" + elapsedMillis +
+                    '}';
+        }
+    }
+
+    private static class Snapshot {
+        int empId;
+        int leaveTypeId;
+        int totalDays;
+        int year;
+        LeaveApplication.LeaveStatus status;
+        long rowVersion;
+    }
+}
@@ -4,6 +4,7 @@ import com.revwf.config.DatabaseConfig;
 import com.revwf.model.LeaveApplication;
 import com.revwf.model.LeaveBalance;
 import com.revwf.model.LeaveType;
+import com.revwf.model.Notification;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,13 +12,22 @@ import org.apache.logging.log4j.Logger;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 public class LeaveDAO {
     private static final Logger logger = LogManager.getLogger(LeaveDAO.class);
     private final DatabaseConfig dbConfig;
+    private final IdAllocator idAllocator;
+    private final ReferenceDataCache referenceCache;
+    private final LeaveQuotaEngine quotaEngine;
+    private final LeaveApprovalPipeline approvalPipeline;
     
     public LeaveDAO() {
         this.dbConfig = DatabaseConfig.getInstance();
+        this.idAllocator = IdAllocator.getInstance();
+        this.referenceCache = ReferenceDataCache.getInstance();
+        this.quotaEngine = new LeaveQuotaEngine();
+        this.approvalPipeline = new LeaveApprovalPipeline();
     }
     
     /**
@@ -38,8 +48,9 @@ public class LeaveDAO {
             stmt.setInt(2, year);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                LeaveBalanceMapper mapper = new LeaveBalanceMapper(rs);
                 while (rs.next()) {
-                    LeaveBalance balance = mapResultSetToLeaveBalance(rs);
+                    LeaveBalance balance = mapper.map();
                     balances.add(balance);
                 }
             }
@@ -63,7 +74,7 @@ public class LeaveDAO {
         try (Connection conn = dbConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            int nextAppId = getNextApplicationId();
+            int nextAppId = idAllocator.nextId(conn, IdAllocator.Sequence.LEAVE_APPLICATIONS);
             
             stmt.setInt(1, nextAppId);
             stmt.setInt(2, application.getEmpId());
@@ -91,21 +102,15 @@ public class LeaveDAO {
      */
     public List<LeaveApplication> getAllLeaveApplications() {
         List<LeaveApplication> applications = new ArrayList<>();
-        String sql = "SELECT la.*, lt.leave_type_name, " +
-                    "e.first_name || ' ' || e.last_name as employee_name, " +
-                    "mgr.first_name || ' ' || mgr.last_name as approved_by_name " +
-                    "FROM leave_applications la " +
-                    "JOIN leave_types lt ON la.leave_type_id = lt.leave_type_id " +
-                    "JOIN employees e ON la.emp_id = e.emp_id " +
-                    "LEFT JOIN employees mgr ON la.approved_by = mgr.emp_id " +
-                    "ORDER BY la.applied_date DESC";
+        String sql = SqlCatalog.LEAVE_APPLICATIONS_ALL;
         
         try (Connection conn = dbConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
+            LeaveApplicationMapper mapper = new LeaveApplicationMapper(rs);
             while (rs.next()) {
-                LeaveApplication app = mapResultSetToLeaveApplication(rs);
+                LeaveApplication app = mapper.map();
                 applications.add(app);
             }
             
@@ -122,15 +127,7 @@ public class LeaveDAO {
      */
     public List<LeaveApplication> getLeaveApplicationsByEmployeeId(int empId) {
         List<LeaveApplication> applications = new ArrayList<>();
-        String sql = "SELECT la.*, lt.leave_type_name, " +
-                    "e.first_name || ' ' || e.last_name as employee_name, " +
-                    "m.first_name || ' ' || m.last_name as approved_by_name " +
-                    "FROM leave_applications la " +
-                    "JOIN leave_types lt ON la.leave_type_id = lt.leave_type_id " +
-                    "JOIN employees e ON la.emp_id = e.emp_id " +
-                    "LEFT JOIN employees m ON la.approved_by = m.emp_id " +
-                    "WHERE la.emp_id = ? " +
-                    "ORDER BY la.applied_date DESC";
+        String sql = SqlCatalog.LEAVE_APPLICATIONS_BY_EMPLOYEE;
         
         try (Connection conn = dbConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -138,8 +135,9 @@ public class LeaveDAO {
             stmt.setInt(1, empId);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                LeaveApplicationMapper mapper = new LeaveApplicationMapper(rs);
                 while (rs.next()) {
-                    LeaveApplication application = mapResultSetToLeaveApplication(rs);
+                    LeaveApplication application = mapper.map();
                     applications.add(application);
                 }
             }
@@ -157,13 +155,7 @@ public class LeaveDAO {
      */
     public List<LeaveApplication> getPendingLeaveApplicationsForManager(int managerId) {
         List<LeaveApplication> applications = new ArrayList<>();
-        String sql = "SELECT la.*, lt.leave_type_name, " +
-                    "e.first_name || ' ' || e.last_name as employee_name " +
-                    "FROM leave_applications la " +
-                    "JOIN leave_types lt ON la.leave_type_id = lt.leave_type_id " +
-                    "JOIN employees e ON la.emp_id = e.emp_id " +
-                    "WHERE e.manager_id = ? AND la.status = 'PENDING' " +
-                    "ORDER BY la.applied_date ASC";
+        String sql = SqlCatalog.LEAVE_APPLICATIONS_PENDING_FOR_MANAGER;
         
         try (Connection conn = dbConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -171,8 +163,9 @@ public class LeaveDAO {
             stmt.setInt(1, managerId);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                LeaveApplicationMapper mapper = new LeaveApplicationMapper(rs);
                 while (rs.next()) {
-                    LeaveApplication application = mapResultSetToLeaveApplication(rs);
+                    LeaveApplication application = mapper.map();
                     applications.add(application);
                 }
             }
@@ -186,45 +179,24 @@ public class LeaveDAO {
     }
     
     /**
-     * Approve or reject leave application
+     * Approve or reject several applications in one transaction, queueing a notification for each
      */
-    public boolean updateLeaveApplicationStatus(int applicationId, LeaveApplication.LeaveStatus status, 
-                                              String managerComments, int approvedBy) {
-        String sql = "UPDATE leave_applications SET status = ?, manager_comments = ?, " +
-                    "approved_by = ?, approved_date = CURRENT_TIMESTAMP " +
-                    "WHERE application_id = ?";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, status.name());
-            stmt.setString(2, managerComments);
-            stmt.setInt(3, approvedBy);
-            stmt.setInt(4, applicationId);
-            
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected > 0) {
-                logger.info("Leave application {} updated to status: {}", applicationId, status);
-                
-                // If approved, update leave balance
-                if (status == LeaveApplication.LeaveStatus.APPROVED) {
-                    updateLeaveBalanceAfterApproval(applicationId);
-                }
-                
-                return true;
-            }
+    public LeaveApprovalPipeline.BatchResult decideLeaveApplications(List<Integer> applicationIds,
+            LeaveApplication.LeaveStatus decision, String managerComments, int decidedBy,
+            Function<LeaveApplication, Notification> notificationFactory) {
+        try {
+            return approvalPipeline.decideAll(applicationIds, decision, managerComments, decidedBy, notificationFactory);
         } catch (SQLException e) {
-            logger.error("Error updating leave application status: " + e.getMessage());
+            logger.error("Error deciding leave applications: " + e.getMessage());
+            throw new RuntimeException("Database error while deciding leave applications", e);
         }
-        
-        return false;
     }
     
     /**
      * Cancel pending leave application
      */
     public boolean cancelLeaveApplication(int applicationId, int empId) {
-        String sql = "UPDATE leave_applications SET status = 'CANCELLED' " +
+        String sql = "UPDATE leave_applications SET status = 'CANCELLED', row_version = row_version + 1 " +
                     "WHERE application_id = ? AND emp_id = ? AND status = 'PENDING'";
         
         try (Connection conn = dbConfig.getConnection();
@@ -246,101 +218,128 @@ public class LeaveDAO {
     }
     
     /**
-     * Update leave balance after approval
+     * Maps leave balance rows to LeaveBalance objects by column index
      */
-    private void updateLeaveBalanceAfterApproval(int applicationId) {
-        String sql = "UPDATE leave_balances SET used_days = used_days + " +
-                    "(SELECT total_days FROM leave_applications WHERE application_id = ?), " +
-                    "remaining_days = allocated_days - (used_days + " +
-                    "(SELECT total_days FROM leave_applications WHERE application_id = ?)) " +
-                    "WHERE emp_id = (SELECT emp_id FROM leave_applications WHERE application_id = ?) " +
-                    "AND leave_type_id = (SELECT leave_type_id FROM leave_applications WHERE application_id = ?) " +
-                    "AND year = EXTRACT(YEAR FROM SYSDATE)";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, applicationId);
-            stmt.setInt(2, applicationId);
-            stmt.setInt(3, applicationId);
-            stmt.setInt(4, applicationId);
-            
-            stmt.executeUpdate();
-            logger.info("Leave balance updated for application: " + applicationId);
-        } catch (SQLException e) {
-            logger.error("Error updating leave balance: " + e.getMessage());
+    private static final class LeaveBalanceMapper extends RowMapper<LeaveBalance> {
+        private final int balanceId;
+        private final int empId;
+        private final int leaveTypeId;
+        private final int leaveTypeName;
+        private final int allocatedDays;
+        private final int usedDays;
+        private final int remainingDays;
+        private final int year;
+        private final int rowVersion;
+
+        LeaveBalanceMapper(ResultSet rs) throws SQLException {
+            super(rs);
+            this.balanceId = column("balance_id");
+            this.empId = column("emp_id");
+            this.leaveTypeId = column("leave_type_id");
+            this.leaveTypeName = column("leave_type_name");
+            this.allocatedDays = column("allocated_days");
+            this.usedDays = column("used_days");
+            this.remainingDays = column("remaining_days");
+            this.year = column("year");
+            this.rowVersion = column("row_version");
+        }
+
+        @Override
+        LeaveBalance map() throws SQLException {
+            LeaveBalance balance = new LeaveBalance();
+            balance.setBalanceId(rs.getInt(balanceId));
+            balance.setEmpId(rs.getInt(empId));
+            balance.setLeaveTypeId(rs.getInt(leaveTypeId));
+            balance.setLeaveTypeName(shared(rs.getString(leaveTypeName)));
+            balance.setAllocatedDays(rs.getInt(allocatedDays));
+            balance.setUsedDays(rs.getInt(usedDays));
+            balance.setRemainingDays(rs.getInt(remainingDays));
+            balance.setYear(rs.getInt(year));
+            balance.setRowVersion(rs.getLong(rowVersion));
+            return balance;
         }
     }
     
     /**
-     * Get next application ID
+     * Maps leave application join rows (SqlCatalog.LEAVE_APPLICATION_SELECT) to LeaveApplication objects by column index
      */
-    private int getNextApplicationId() throws SQLException {
-        String sql = "SELECT NVL(MAX(application_id), 0) + 1 FROM leave_applications";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
+    private static final class LeaveApplicationMapper extends RowMapper<LeaveApplication> {
+        private final int applicationId;
+        private final int empId;
+        private final int leaveTypeId;
+        private final int leaveTypeName;
+        private final int startDate;
+        private final int endDate;
+        private final int totalDays;
+        private final int reason;
+        private final int status;
+        private final int managerComments;
+        private final int appliedDate;
+        private final int approvedDate;
+        private final int approvedBy;
+        private final int employeeName;
+        private final int approvedByName;
+
+        LeaveApplicationMapper(ResultSet rs) throws SQLException {
+            super(rs);
+            this.applicationId = column("application_id");
+            this.empId = column("emp_id");
+            this.leaveTypeId = column("leave_type_id");
+            this.leaveTypeName = column("leave_type_name");
+            this.startDate = column("start_date");
+            this.endDate = column("end_date");
+            this.totalDays = column("total_days");
+            this.reason = column("reason");
+            this.status = column("status");
+            this.managerComments = column("manager_comments");
+            this.appliedDate = column("applied_date");
+            this.approvedDate = column("approved_date");
+            this.approvedBy = column("approved_by");
+            this.employeeName = column("employee_name");
+            this.approvedByName = column("approved_by_name");
+        }
+
+        @Override
+        LeaveApplication map() throws SQLException {
+            LeaveApplication application = new LeaveApplication();
+            application.setApplicationId(rs.getInt(applicationId));
+            application.setEmpId(rs.getInt(empId));
+            application.setLeaveTypeId(rs.getInt(leaveTypeId));
+            application.setLeaveTypeName(shared(rs.getString(leaveTypeName)));
+            application.setStartDate(rs.getDate(startDate));
+            application.setEndDate(rs.getDate(endDate));
+            application.setTotalDays(rs.getInt(totalDays));
+            application.setReason(rs.getString(reason));
+            application.setStatus(LeaveApplication.LeaveStatus.valueOf(rs.getString(status)));
+            application.setManagerComments(rs.getString(managerComments));
+            application.setAppliedDate(rs.getTimestamp(appliedDate));
+            application.setApprovedDate(rs.getTimestamp(approvedDate));
+            application.setApprovedBy(nullableInt(approvedBy));
+            application.setEmployeeName(shared(rs.getString(employeeName)));
+            application.setApprovedByName(shared(rs.getString(approvedByName)));
+            return application;
         }
-        
-        return 1;
     }
     
-    /**
-     * Map ResultSet to LeaveBalance object
-     */
-    private LeaveBalance mapResultSetToLeaveBalance(ResultSet rs) throws SQLException {
-        LeaveBalance balance = new LeaveBalance();
-        balance.setBalanceId(rs.getInt("balance_id"));
-        balance.setEmpId(rs.getInt("emp_id"));
-        balance.setLeaveTypeId(rs.getInt("leave_type_id"));
-        balance.setLeaveTypeName(rs.getString("leave_type_name"));
-        balance.setAllocatedDays(rs.getInt("allocated_days"));
-        balance.setUsedDays(rs.getInt("used_days"));
-        balance.setRemainingDays(rs.getInt("remaining_days"));
-        balance.setYear(rs.getInt("year"));
-        return balance;
-    }
+    // =============== LEAVE TYPE MANAGEMENT METHODS ===============
     
     /**
-     * Map ResultSet to LeaveApplication object
+     * Get all leave types
      */
-    private LeaveApplication mapResultSetToLeaveApplication(ResultSet rs) throws SQLException {
-        LeaveApplication application = new LeaveApplication();
-        application.setApplicationId(rs.getInt("application_id"));
-        application.setEmpId(rs.getInt("emp_id"));
-        application.setLeaveTypeId(rs.getInt("leave_type_id"));
-        application.setLeaveTypeName(rs.getString("leave_type_name"));
-        application.setStartDate(rs.getDate("start_date"));
-        application.setEndDate(rs.getDate("end_date"));
-        application.setTotalDays(rs.getInt("total_days"));
-        application.setReason(rs.getString("reason"));
-        application.setStatus(LeaveApplication.LeaveStatus.valueOf(rs.getString("status")));
-        application.setManagerComments(rs.getString("manager_comments"));
-        application.setAppliedDate(rs.getTimestamp("applied_date"));
-        application.setApprovedDate(rs.getTimestamp("approved_date"));
-        
-        int approvedBy = rs.getInt("approved_by");
-        if (!rs.wasNull()) {
-            application.setApprovedBy(approvedBy);
+    public List<LeaveType> getAllLeaveTypes() {
+        try {
+            return referenceCache.get(ReferenceDataCache.Kind.LEAVE_TYPES, this::loadAllLeaveTypes);
+        } catch (SQLException e) {
+            logger.error("Error getting leave types: " + e.getMessage());
         }
         
-        application.setEmployeeName(rs.getString("employee_name"));
-        application.setApprovedByName(rs.getString("approved_by_name"));
-        
-        return application;
+        return new ArrayList<>();
     }
     
-    // =============== LEAVE TYPE MANAGEMENT METHODS ===============
-    
     /**
-     * Get all leave types
+     * Load leave types from the database
      */
-    public List<LeaveType> getAllLeaveTypes() {
+    private List<LeaveType> loadAllLeaveTypes() throws SQLException {
         List<LeaveType> leaveTypes = new ArrayList<>();
         String sql = "SELECT * FROM leave_types ORDER BY leave_type_name";
         
@@ -359,8 +358,6 @@ public class LeaveDAO {
             }
             
             logger.info("Retrieved {} leave types", leaveTypes.size());
-        } catch (SQLException e) {
-            logger.error("Error getting leave types: " + e.getMessage());
         }
         
         return leaveTypes;
@@ -376,7 +373,7 @@ public class LeaveDAO {
         try (Connection conn = dbConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            int nextId = getNextLeaveTypeId();
+            int nextId = idAllocator.nextId(conn, IdAllocator.Sequence.LEAVE_TYPES);
             stmt.setInt(1, nextId);
             stmt.setString(2, leaveTypeName);
             stmt.setString(3, leaveTypeCode.toUpperCase());
@@ -385,6 +382,7 @@ public class LeaveDAO {
             int rowsAffected = stmt.executeUpdate();
             if (rowsAffected > 0) {
                 logger.info("Leave type added successfully: {}", leaveTypeName);
+                referenceCache.invalidate(ReferenceDataCache.Kind.LEAVE_TYPES);
                 return true;
             }
         } catch (SQLException e) {
@@ -412,6 +410,7 @@ public class LeaveDAO {
             int rowsAffected = stmt.executeUpdate();
             if (rowsAffected > 0) {
                 logger.info("Leave type updated successfully: {}", leaveTypeName);
+                referenceCache.invalidate(ReferenceDataCache.Kind.LEAVE_TYPES);
                 return true;
             }
         } catch (SQLException e) {
@@ -421,51 +420,21 @@ public class LeaveDAO {
         return false;
     }
     
-    /**
-     * Get next leave type ID
-     */
-    private int getNextLeaveTypeId() throws SQLException {
-        String sql = "SELECT NVL(MAX(leave_type_id), 0) + 1 FROM leave_types";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        }
-        
-        return 1;
-    }
-    
     // =============== LEAVE QUOTA MANAGEMENT METHODS ===============
     
     /**
      * Assign leave quotas to all employees
      */
     public boolean assignLeaveQuotasToAllEmployees(int year) {
-        // Get all employees
-        String getEmployeesSql = "SELECT emp_id FROM employees";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement getStmt = conn.prepareStatement(getEmployeesSql)) {
-            
-            int assignedCount = 0;
-            
-            try (ResultSet rs = getStmt.executeQuery()) {
-                while (rs.next()) {
-                    int empId = rs.getInt("emp_id");
-                    
-                    // Assign quotas to each employee individually
-                    if (assignLeaveQuotasToEmployee(empId, year)) {
-                        assignedCount++;
-                    }
-                }
-            }
-            
-            logger.info("Assigned leave quotas to {} employees for year {}", assignedCount, year);
-            return assignedCount > 0;
+        return assignLeaveQuotasToAllEmployees(year, null);
+    }
+    
+    /**
+     * Assign leave quotas to all employees, reporting progress per batch
+     */
+    public boolean assignLeaveQuotasToAllEmployees(int year, LeaveQuotaEngine.ProgressListener listener) {
+        try {
+            return quotaEngine.assignToAllEmployees(year, listener).employeesAssigned > 0;
         } catch (SQLException e) {
             logger.error("Error assigning leave quotas to all employees: " + e.getMessage());
         }
@@ -477,59 +446,13 @@ public class LeaveDAO {
      * Assign leave quotas to specific employee
      */
     public boolean assignLeaveQuotasToEmployee(int empId, int year) {
-        // First check if employee already has quotas for this year
-        String checkSql = "SELECT COUNT(*) FROM leave_balances WHERE emp_id = ? AND year = ?";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-            
-            checkStmt.setInt(1, empId);
-            checkStmt.setInt(2, year);
-            
-            try (ResultSet rs = checkStmt.executeQuery()) {
-                if (rs.next() && rs.getInt(1) > 0) {
-                    logger.info("Employee {} already has leave quotas for year {}", empId, year);
-                    return false; // Already has quotas
-                }
-            }
-        } catch (SQLException e) {
-            logger.error("Error checking existing leave quotas: " + e.getMessage());
-            return false;
-        }
-        
-        // Get all leave types and insert balances one by one
-        String getLeaveTypesSql = "SELECT leave_type_id, max_days_per_year FROM leave_types ORDER BY leave_type_id";
-        String insertSql = "INSERT INTO leave_balances (balance_id, emp_id, leave_type_id, allocated_days, used_days, remaining_days, year) " +
-                          "VALUES (?, ?, ?, ?, 0, ?, ?)";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement getStmt = conn.prepareStatement(getLeaveTypesSql);
-             PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-            
-            int insertCount = 0;
-            
-            try (ResultSet rs = getStmt.executeQuery()) {
-                while (rs.next()) {
-                    int leaveTypeId = rs.getInt("leave_type_id");
-                    int maxDays = rs.getInt("max_days_per_year");
-                    
-                    // Get next balance ID
-                    int nextBalanceId = getNextBalanceId();
-                    
-                    insertStmt.setInt(1, nextBalanceId);
-                    insertStmt.setInt(2, empId);
-                    insertStmt.setInt(3, leaveTypeId);
-                    insertStmt.setInt(4, maxDays);
-                    insertStmt.setInt(5, maxDays); // remaining = allocated initially
-                    insertStmt.setInt(6, year);
-                    
-                    insertStmt.executeUpdate();
-                    insertCount++;
-                }
+        try {
+            LeaveQuotaEngine.QuotaAssignmentResult result = quotaEngine.assignToEmployee(empId, year);
+            if (result.employeesAssigned == 0) {
+                logger.info("Employee {} already has leave quotas for year {}", empId, year);
+                return false;
             }
-            
-            logger.info("Assigned leave quotas to employee {} for year {}: {} leave types", empId, year, insertCount);
-            return insertCount > 0;
+            return true;
         } catch (SQLException e) {
             logger.error("Error assigning leave quotas to employee: " + e.getMessage());
         }
@@ -538,49 +461,18 @@ public class LeaveDAO {
     }
     
     /**
-     * Get next balance ID
+     * Assign leave quotas by department
      */
-    private int getNextBalanceId() throws SQLException {
-        String sql = "SELECT NVL(MAX(balance_id), 0) + 1 FROM leave_balances";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        }
-        
-        return 1;
+    public boolean assignLeaveQuotasByDepartment(int deptId, int year) {
+        return assignLeaveQuotasByDepartment(deptId, year, null);
     }
     
     /**
-     * Assign leave quotas by department
+     * Assign leave quotas by department, reporting progress per batch
      */
-    public boolean assignLeaveQuotasByDepartment(int deptId, int year) {
-        // Get all employees in the department
-        String getEmployeesSql = "SELECT emp_id FROM employees WHERE dept_id = ?";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement getStmt = conn.prepareStatement(getEmployeesSql)) {
-            
-            getStmt.setInt(1, deptId);
-            int assignedCount = 0;
-            
-            try (ResultSet rs = getStmt.executeQuery()) {
-                while (rs.next()) {
-                    int empId = rs.getInt("emp_id");
-                    
-                    // Assign quotas to each employee individually
-                    if (assignLeaveQuotasToEmployee(empId, year)) {
-                        assignedCount++;
-                    }
-                }
-            }
-            
-            logger.info("Assigned leave quotas to department {} for year {}: {} employees", deptId, year, assignedCount);
-            return assignedCount > 0;
+    public boolean assignLeaveQuotasByDepartment(int deptId, int year, LeaveQuotaEngine.ProgressListener listener) {
+        try {
+            return quotaEngine.assignToDepartment(deptId, year, listener).employeesAssigned > 0;
         } catch (SQLException e) {
             logger.error("Error assigning leave quotas by department: " + e.getMessage());
         }
@@ -589,11 +481,15 @@ public class LeaveDAO {
     }
     
     /**
-     * Update leave balance manually
+     * Update leave balance manually. expectedRowVersion is the row_version of the
+     * balance the new figures were based on; if an approval or another edit has
+     * changed the balance since, nothing is written and false is returned.
      */
-    public boolean updateLeaveBalance(int empId, int leaveTypeId, int year, int allocatedDays, int usedDays) {
-        String sql = "UPDATE leave_balances SET allocated_days = ?, used_days = ?, remaining_days = ? - ?, updated_at = CURRENT_TIMESTAMP " +
-                    "WHERE emp_id = ? AND leave_type_id = ? AND year = ?";
+    public boolean updateLeaveBalance(int empId, int leaveTypeId, int year, int allocatedDays, int usedDays,
+                                      long expectedRowVersion) {
+        String sql = "UPDATE leave_balances SET allocated_days = ?, used_days = ?, remaining_days = ? - ?, " +
+                    "updated_at = CURRENT_TIMESTAMP, row_version = row_version + 1 " +
+                    "WHERE emp_id = ? AND leave_type_id = ? AND year = ? AND row_version = ?";
         
         try (Connection conn = dbConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -605,12 +501,15 @@ public class LeaveDAO {
             stmt.setInt(5, empId);
             stmt.setInt(6, leaveTypeId);
             stmt.setInt(7, year);
+            stmt.setLong(8, expectedRowVersion);
             
             int rowsAffected = stmt.executeUpdate();
             if (rowsAffected > 0) {
                 logger.info("Leave balance updated for employee {} leave type {} year {}", empId, leaveTypeId, year);
                 return true;
             }
+            logger.warn("Leave balance for employee {} leave type {} year {} missing or changed since it was read",
+                    empId, leaveTypeId, year);
         } catch (SQLException e) {
             logger.error("Error updating leave balance: " + e.getMessage());
         }
@@ -622,55 +521,17 @@ public class LeaveDAO {
      * Revoke approved leave application
      */
     public boolean revokeLeaveApplication(int applicationId, String revocationReason, int revokedBy) {
-        String sql = "UPDATE leave_applications SET status = 'CANCELLED', manager_comments = ?, approved_by = ?, approved_date = CURRENT_TIMESTAMP " +
-                    "WHERE application_id = ? AND status = 'APPROVED'";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, "REVOKED: " + revocationReason);
-            stmt.setInt(2, revokedBy);
-            stmt.setInt(3, applicationId);
-            
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected > 0) {
-                // Restore leave balance
-                restoreLeaveBalanceAfterRevocation(applicationId);
+        try {
+            LeaveApprovalPipeline.Outcome outcome = approvalPipeline.revoke(applicationId, revocationReason, revokedBy);
+            if (outcome == LeaveApprovalPipeline.Outcome.APPLIED) {
                 logger.info("Leave application revoked: {}", applicationId);
                 return true;
             }
+            logger.warn("Leave application {} not revoked: {}", applicationId, outcome);
         } catch (SQLException e) {
             logger.error("Error revoking leave application: " + e.getMessage());
         }
         
         return false;
     }
-    
-    /**
-     * Restore leave balance after revocation
-     */
-    private void restoreLeaveBalanceAfterRevocation(int applicationId) {
-        String sql = "UPDATE leave_balances SET used_days = used_days - " +
-                    "(SELECT total_days FROM leave_applications WHERE application_id = ?), " +
-                    "remaining_days = allocated_days - (used_days - " +
-                    "(SELECT total_days FROM leave_applications WHERE application_id = ?)) " +
-                    "WHERE emp_id = (SELECT emp_id FROM leave_applications WHERE application_id = ?) " +
-                    "AND leave_type_id = (SELECT leave_type_id FROM leave_applications WHERE application_id = ?) " +
-                    "AND year = EXTRACT(YEAR FROM (SELECT start_date FROM leave_applications WHERE application_id = ?))";
-        
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, applicationId);
-            stmt.setInt(2, applicationId);
-            stmt.setInt(3, applicationId);
-            stmt.setInt(4, applicationId);
-            stmt.setInt(5, applicationId);
-            
-            stmt.executeUpdate();
-            logger.info("Leave balance restored for revoked application: " + applicationId);
-        } catch (SQLException e) {
-            logger.error("Error restoring leave balance: " + e.getMessage());
-        }
-    }
-}
\ No newline at end of file
+}
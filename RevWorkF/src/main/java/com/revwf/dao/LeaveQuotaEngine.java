@@ -0,0 +1,169 @@
+package com.revwf.dao;
+
+import com.revwf.config.DatabaseConfig;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+
+/**
+ * Bulk leave quota assignment. One query selects every (employee, leave type)
+ * pair still missing a balance for the year, and the rows are written with
+ * JDBC batches inside a single transaction.
+ */
+public class LeaveQuotaEngine {
+    private static final Logger logger = LogManager.getLogger(LeaveQuotaEngine.class);
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Receives progress after every flushed batch
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int employeesAssigned, int balancesCreated);
+    }
+
+    private final DatabaseConfig dbConfig;
+    private final IdAllocator idAllocator;
+
+    public LeaveQuotaEngine() {
+        this.dbConfig = DatabaseConfig.getInstance();
+        this.idAllocator = IdAllocator.getInstance();
+    }
+
+    /**
+     * Assign quotas to every employee without balances for the year
+     */
+    public QuotaAssignmentResult assignToAllEmployees(int year, ProgressListener listener) throws SQLException {
+        return assign("", null, year, listener);
+    }
+
+    /**
+     * Assign quotas to every employee in a department without balances for the year
+     */
+    public QuotaAssignmentResult assignToDepartment(int deptId, int year, ProgressListener listener) throws SQLException {
+        return assign("AND e.dept_id = ? ", deptId, year, listener);
+    }
+
+    /**
+     * Assign quotas to one employee if they have no balances for the year
+     */
+    public QuotaAssignmentResult assignToEmployee(int empId, int year) throws SQLException {
+        return assign("AND e.emp_id = ? ", empId, year, null);
+    }
+
+    private QuotaAssignmentResult assign(String scopeFilter, Integer scopeId, int year,
+                                         ProgressListener listener) throws SQLException {
+        // Employees with any balance for the year are skipped entirely, as before
+        String selectSql = "SELECT e.emp_id, lt.leave_type_id, lt.max_days_per_year " +
+                          "FROM employees e CROSS JOIN leave_types lt " +
+                          "WHERE NOT EXISTS (SELECT 1 FROM leave_balances lb " +
+                          "WHERE lb.emp_id = e.emp_id AND lb.year = ?) " +
+                          scopeFilter +
+                          "ORDER BY e.emp_id, lt.leave_type_id";
+        String insertSql = "INSERT INTO leave_balances (balance_id, emp_id, leave_type_id, allocated_days, used_days, remaining_days, year) " +
+                          "VALUES (?, ?, ?, ?, 0, ?, ?)";
+
+        long start = System.currentTimeMillis();
+        int employeesAssigned = 0;
+        int balancesCreated = 0;
+
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement selectStmt = conn.prepareStatement(selectSql);
+                 PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
+
+                selectStmt.setInt(1, year);
+                if (scopeId != null) {
+                    selectStmt.setInt(2, scopeId);
+                }
+                selectStmt.setFetchSize(BATCH_SIZE);
+
+                // IDs are reserved per flushed batch, sized to the rows in it, so a single
+                // hire takes a handful of IDs rather than a full batch's worth
+                int[][] rows = new int[BATCH_SIZE][];
+                int pending = 0;
+                int lastEmpId = -1;
+
+                try (ResultSet rs = selectStmt.executeQuery()) {
+                    while (rs.next()) {
+                        int empId = rs.getInt("emp_id");
+
+                        if (empId != lastEmpId) {
+                            employeesAssigned++;
+                            lastEmpId = empId;
+                        }
+                        rows[pending++] = new int[] { empId, rs.getInt("leave_type_id"), rs.getInt("max_days_per_year") };
+                        balancesCreated++;
+
+                        if (pending == BATCH_SIZE) {
+                            insertBatch(conn, insertStmt, rows, pending, year);
+                            pending = 0;
+                            if (listener != null) {
+                                listener.onProgress(employeesAssigned, balancesCreated);
+                            }
+                        }
+                    }
+                }
+
+                if (pending > 0) {
+                    insertBatch(conn, insertStmt, rows, pending, year);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        if (listener != null) {
+            listener.onProgress(employeesAssigned, balancesCreated);
+        }
+
+        QuotaAssignmentResult result = new QuotaAssignmentResult(employeesAssigned, balancesCreated,
+                System.currentTimeMillis() - start);
+        logger.info("Assigned leave quotas for year {}: {}", year, result);
+        return result;
+    }
+
+    private void insertBatch(Connection conn, PreparedStatement insertStmt, int[][] rows, int count, int year) throws SQLException {
+        int[] ids = idAllocator.nextIds(conn, IdAllocator.Sequence.LEAVE_BALANCES, count);
+        for (int i = 0; i < count; i++) {
+            int maxDays = rows[i][2];
+            insertStmt.setInt(1, ids[i]);
+            insertStmt.setInt(2, rows[i][0]);
+            insertStmt.setInt(3, rows[i][1]);
+            insertStmt.setInt(4, maxDays);
+            insertStmt.setInt(5, maxDays); // remaining = allocated initially
+            insertStmt.setInt(6, year);
+            insertStmt.addBatch();
+        }
+        insertStmt.executeBatch();
+    }
+
+    /**
+     * Outcome of a bulk assignment
+     */
+    public static class QuotaAssignmentResult {
+        public final int employeesAssigned;
+        public final int balancesCreated;
+        public final long elapsedMillis;
+
+        public QuotaAssignmentResult(int employeesAssigned, int balancesCreated, long elapsedMillis) {
+            this.employeesAssigned = employeesAssigned;
+            this.balancesCreated = balancesCreated;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "QuotaAssignmentResult{" +
+                    "employeesAssigned=" + employeesAssigned +
+                    ", balancesCreated=" + balancesCreated +
+                    ", elapsedMillis=" + elapsedMillis +
+                    '}';
+        }
+    }
+}
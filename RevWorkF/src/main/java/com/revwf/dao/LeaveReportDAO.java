@@ -0,0 +1,140 @@
+package com.revwf.dao;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.model.LeaveUsageSummary;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregate leave balance queries for admin reports. Each report is a single
+ * GROUP BY query instead of one balance lookup per employee.
+ */
+public class LeaveReportDAO {
+    private static final Logger logger = LogManager.getLogger(LeaveReportDAO.class);
+    private final DatabaseConfig dbConfig;
+
+    public LeaveReportDAO() {
+        this.dbConfig = DatabaseConfig.getInstance();
+    }
+
+    /**
+     * Leave totals per employee for a year
+     */
+    public List<LeaveUsageSummary> getLeaveSummaryByEmployee(int year) {
+        String sql = "SELECT e.emp_id AS group_id, e.first_name || ' ' || e.last_name AS group_name, " +
+                    "1 AS employee_count, " +
+                    "CASE WHEN COUNT(lb.balance_id) > 0 THEN 1 ELSE 0 END AS employees_with_balances, " +
+                    "NVL(SUM(lb.allocated_days), 0) AS allocated_days, " +
+                    "NVL(SUM(lb.used_days), 0) AS used_days, " +
+                    "NVL(SUM(lb.remaining_days), 0) AS remaining_days " +
+                    "FROM employees e " +
+                    "LEFT JOIN leave_balances lb ON lb.emp_id = e.emp_id AND lb.year = ? " +
+                    "GROUP BY e.emp_id, e.first_name, e.last_name " +
+                    "ORDER BY e.emp_id";
+
+        return querySummaries(sql, year, "employee");
+    }
+
+    /**
+     * Leave totals per department for a year
+     */
+    public List<LeaveUsageSummary> getLeaveSummaryByDepartment(int year) {
+        String sql = "SELECT d.dept_id AS group_id, d.dept_name AS group_name, " +
+                    "COUNT(DISTINCT e.emp_id) AS employee_count, " +
+                    "COUNT(DISTINCT lb.emp_id) AS employees_with_balances, " +
+                    "NVL(SUM(lb.allocated_days), 0) AS allocated_days, " +
+                    "NVL(SUM(lb.used_days), 0) AS used_days, " +
+                    "NVL(SUM(lb.remaining_days), 0) AS remaining_days " +
+                    "FROM departments d " +
+                    "LEFT JOIN employees e ON e.dept_id = d.dept_id " +
+                    "LEFT JOIN leave_balances lb ON lb.emp_id = e.emp_id AND lb.year = ? " +
+                    "GROUP BY d.dept_id, d.dept_name " +
+                    "ORDER BY d.dept_name";
+
+        return querySummaries(sql, year, "department");
+    }
+
+    /**
+     * Leave totals per leave type for a year
+     */
+    public List<LeaveUsageSummary> getLeaveSummaryByLeaveType(int year) {
+        String sql = "SELECT lt.leave_type_id AS group_id, lt.leave_type_name AS group_name, " +
+                    "COUNT(DISTINCT lb.emp_id) AS employee_count, " +
+                    "COUNT(DISTINCT lb.emp_id) AS employees_with_balances, " +
+                    "NVL(SUM(lb.allocated_days), 0) AS allocated_days, " +
+                    "NVL(SUM(lb.used_days), 0) AS used_days, " +
+                    "NVL(SUM(lb.remaining_days), 0) AS remaining_days " +
+                    "FROM leave_types lt " +
+                    "LEFT JOIN leave_balances lb ON lb.leave_type_id = lt.leave_type_id AND lb.year = ? " +
+                    "GROUP BY lt.leave_type_id, lt.leave_type_name " +
+                    "ORDER BY lt.leave_type_name";
+
+        return querySummaries(sql, year, "leave type");
+    }
+
+    private List<LeaveUsageSummary> querySummaries(String sql, int year, String grouping) {
+        List<LeaveUsageSummary> summaries = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, year);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                SummaryMapper mapper = new SummaryMapper(rs);
+                while (rs.next()) {
+                    summaries.add(mapper.map());
+                }
+            }
+
+            logger.info("Retrieved leave summary for {} {} groups in year {}", summaries.size(), grouping, year);
+        } catch (SQLException e) {
+            logger.error("Error retrieving leave summary by {}: {}", grouping, e.getMessage());
+            throw new RuntimeException("Database error while retrieving leave summary", e);
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Maps grouped usage rows to LeaveUsageSummary objects by column index
+     */
+    private static final class SummaryMapper extends RowMapper<LeaveUsageSummary> {
+        private final int groupId;
+        private final int groupName;
+        private final int employeeCount;
+        private final int employeesWithBalances;
+        private final int allocatedDays;
+        private final int usedDays;
+        private final int remainingDays;
+
+        SummaryMapper(ResultSet rs) throws SQLException {
+            super(rs);
+            this.groupId = column("group_id");
+            this.groupName = column("group_name");
+            this.employeeCount = column("employee_count");
+            this.employeesWithBalances = column("employees_with_balances");
+            this.allocatedDays = column("allocated_days");
+            this.usedDays = column("used_days");
+            this.remainingDays = column("remaining_days");
+        }
+
+        @Override
+        LeaveUsageSummary map() throws SQLException {
+            LeaveUsageSummary summary = new LeaveUsageSummary();
+            summary.setGroupId(rs.getInt(groupId));
+            summary.setGroupName(rs.getString(groupName));
+            summary.setEmployeeCount(rs.getInt(employeeCount));
+            summary.setEmployeesWithBalances(rs.getInt(employeesWithBalances));
+            summary.setAllocatedDays(rs.getInt(allocatedDays));
+            summary.setUsedDays(rs.getInt(usedDays));
+            summary.setRemainingDays(rs.getInt(remainingDays));
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.revwf.dao;
+
+import com.revwf.config.DatabaseConfig;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores active login lockouts so a restart does not hand an attacker a fresh
+ * set of attempts. The login_lockouts table comes from SchemaMigrations.
+ */
+public class LoginLockoutDAO {
+    private static final Logger logger = LogManager.getLogger(LoginLockoutDAO.class);
+    private final DatabaseConfig dbConfig;
+
+    public LoginLockoutDAO() {
+        this.dbConfig = DatabaseConfig.getInstance();
+    }
+
+    /**
+     * Record or extend a lockout
+     */
+    public void saveLockout(String employeeId, long lockedUntilMillis) throws SQLException {
+        String sql = "MERGE INTO login_lockouts l USING (SELECT ? AS employee_id, ? AS locked_until FROM dual) s " +
+                "ON (l.employee_id = s.employee_id) " +
+                "WHEN MATCHED THEN UPDATE SET l.locked_until = s.locked_until " +
+                "WHEN NOT MATCHED THEN INSERT (employee_id, locked_until) VALUES (s.employee_id, s.locked_until)";
+
+        try (Connection conn = dbConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, employeeId);
+            stmt.setTimestamp(2, new Timestamp(lockedUntilMillis));
+            stmt.executeUpdate();
+        }
+    }
+
+    public void clearLockout(String employeeId) throws SQLException {
+        String sql = "DELETE FROM login_lockouts WHERE employee_id = ?";
+
+        try (Connection conn = dbConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, employeeId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Lockouts that have not expired yet, as employee ID to end time in epoch millis.
+     * Expired rows are removed on the way.
+     */
+    public Map<String, Long> loadActiveLockouts() throws SQLException {
+        Map<String, Long> lockouts = new HashMap<>();
+
+        try (Connection conn = dbConfig.getConnection();
+                Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM login_lockouts WHERE locked_until <= SYSTIMESTAMP");
+            try (ResultSet rs = stmt.executeQuery("SELECT employee_id, locked_until FROM login_lockouts")) {
+                while (rs.next()) {
+                    lockouts.put(rs.getString(1), rs.getTimestamp(2).getTime());
+                }
+            }
+        }
+
+        logger.info("Loaded {} active login lockouts", lockouts.size());
+        return lockouts;
+    }
+}
@@ -8,14 +8,21 @@ import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class NotificationDAO {
     private static final Logger logger = LogManager.getLogger(NotificationDAO.class);
+    private static final int BROADCAST_BATCH_SIZE = 500;
     private final DatabaseConfig dbConfig;
+    private final IdAllocator idAllocator;
 
     public NotificationDAO() {
         this.dbConfig = DatabaseConfig.getInstance();
+        this.idAllocator = IdAllocator.getInstance();
     }
 
     /**
@@ -27,7 +34,7 @@ public class NotificationDAO {
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            int nextId = getNextNotificationId();
+            int nextId = idAllocator.nextId(conn, IdAllocator.Sequence.NOTIFICATIONS);
 
             stmt.setInt(1, nextId);
             stmt.setInt(2, notification.getEmpId());
@@ -49,6 +56,88 @@ public class NotificationDAO {
         return false;
     }
 
+    /**
+     * Insert the same notification for every recipient in one transaction,
+     * flushing a JDBC batch every BROADCAST_BATCH_SIZE rows
+     */
+    public int createBroadcast(int[] empIds, String title, String message, String type) throws SQLException {
+        String sql = "INSERT INTO notifications (notification_id, emp_id, title, message, type, is_read) VALUES (?, ?, ?, ?, ?, 0)";
+
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int from = 0; from < empIds.length; from += BROADCAST_BATCH_SIZE) {
+                    int to = Math.min(from + BROADCAST_BATCH_SIZE, empIds.length);
+                    int[] ids = idAllocator.nextIds(conn, IdAllocator.Sequence.NOTIFICATIONS, to - from);
+                    for (int i = from; i < to; i++) {
+                        stmt.setInt(1, ids[i - from]);
+                        stmt.setInt(2, empIds[i]);
+                        stmt.setString(3, title);
+                        stmt.setString(4, message);
+                        stmt.setString(5, type);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+
+        logger.info("Broadcast '{}' to {} employees", title, empIds.length);
+        return empIds.length;
+    }
+
+    /**
+     * Insert notifications as one JDBC batch in their own transaction
+     */
+    public void createNotifications(List<Notification> notifications) throws SQLException {
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                createNotifications(conn, notifications);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Insert notifications as one JDBC batch on the caller's connection and transaction
+     */
+    public int createNotifications(Connection conn, List<Notification> notifications) throws SQLException {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO notifications (notification_id, emp_id, title, message, type, is_read) VALUES (?, ?, ?, ?, ?, ?)";
+        int[] ids = idAllocator.nextIds(conn, IdAllocator.Sequence.NOTIFICATIONS, notifications.size());
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < notifications.size(); i++) {
+                Notification notification = notifications.get(i);
+                stmt.setInt(1, ids[i]);
+                stmt.setInt(2, notification.getEmpId());
+                stmt.setString(3, notification.getTitle());
+                stmt.setString(4, notification.getMessage());
+                stmt.setString(5, notification.getType());
+                stmt.setInt(6, notification.isRead() ? 1 : 0);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+
+        logger.info("Queued {} notifications in batch", notifications.size());
+        return notifications.size();
+    }
+
     /**
      * Get notifications for employee
      */
@@ -62,8 +151,9 @@ public class NotificationDAO {
             stmt.setInt(1, empId);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                NotificationMapper mapper = new NotificationMapper(rs);
                 while (rs.next()) {
-                    Notification notification = mapResultSetToNotification(rs);
+                    Notification notification = mapper.map();
                     notifications.add(notification);
                 }
             }
@@ -76,6 +166,44 @@ public class NotificationDAO {
         return notifications;
     }
 
+    /**
+     * One page of an employee's inbox, newest first. Pass the last notification
+     * of the previous page as 'after' (null for the first page); the query seeks
+     * past it on (created_at, notification_id) so every page costs the same.
+     */
+    public List<Notification> getNotificationsPage(int empId, boolean unreadOnly, Notification after, int pageSize) {
+        List<Notification> notifications = new ArrayList<>();
+        String sql = "SELECT * FROM notifications WHERE emp_id = ?" +
+                (unreadOnly ? " AND is_read = 0" : "") +
+                (after != null ? " AND (created_at < ? OR (created_at = ? AND notification_id < ?))" : "") +
+                " ORDER BY created_at DESC, notification_id DESC FETCH FIRST ? ROWS ONLY";
+
+        try (Connection conn = dbConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            stmt.setInt(index++, empId);
+            if (after != null) {
+                stmt.setTimestamp(index++, after.getCreatedAt());
+                stmt.setTimestamp(index++, after.getCreatedAt());
+                stmt.setInt(index++, after.getNotificationId());
+            }
+            stmt.setInt(index, pageSize);
+            stmt.setFetchSize(pageSize);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                NotificationMapper mapper = new NotificationMapper(rs);
+                while (rs.next()) {
+                    notifications.add(mapper.map());
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving notification page for employee {}: {}", empId, e.getMessage());
+        }
+
+        return notifications;
+    }
+
     /**
      * Get unread notifications count
      */
@@ -99,6 +227,25 @@ public class NotificationDAO {
         return 0;
     }
 
+    /**
+     * Unread count of every employee that has unread notifications
+     */
+    public Map<Integer, Integer> getUnreadNotificationCounts() throws SQLException {
+        String sql = "SELECT emp_id, COUNT(*) FROM notifications WHERE is_read = 0 GROUP BY emp_id";
+        Map<Integer, Integer> counts = new HashMap<>();
+
+        try (Connection conn = dbConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql);
+                ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                counts.put(rs.getInt(1), rs.getInt(2));
+            }
+        }
+
+        return counts;
+    }
+
     /**
      * Mark notification as read
      */
@@ -119,6 +266,45 @@ public class NotificationDAO {
         return false;
     }
 
+    /**
+     * Mark an unread notification as read. Returns the owner's emp_id, or null
+     * when the notification does not exist or was already read.
+     */
+    public Integer markUnreadNotificationAsRead(int notificationId) {
+        String selectSql = "SELECT emp_id FROM notifications WHERE notification_id = ? AND is_read = 0 FOR UPDATE";
+        String updateSql = "UPDATE notifications SET is_read = 1 WHERE notification_id = ?";
+
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement select = conn.prepareStatement(selectSql);
+                    PreparedStatement update = conn.prepareStatement(updateSql)) {
+
+                select.setInt(1, notificationId);
+                Integer empId = null;
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        empId = rs.getInt(1);
+                    }
+                }
+                if (empId != null) {
+                    update.setInt(1, notificationId);
+                    update.executeUpdate();
+                }
+                conn.commit();
+                return empId;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("Error marking notification as read: " + e.getMessage());
+        }
+
+        return null;
+    }
+
     /**
      * Mark all notifications as read for employee
      */
@@ -141,56 +327,76 @@ public class NotificationDAO {
     }
 
     /**
-     * Delete old notifications (older than 30 days)
+     * Delete at most chunkSize notifications older than retentionDays and commit.
+     * Limited to one type, or to every type outside excludedTypes when type is null.
+     * Rows without a type fall under the default retention.
      */
-    public int deleteOldNotifications() {
-        String sql = "DELETE FROM notifications WHERE created_at < SYSDATE - 30";
+    public int deleteExpiredNotificationChunk(String type, Collection<String> excludedTypes,
+                                              int retentionDays, int chunkSize) throws SQLException {
+        StringBuilder sql = new StringBuilder("DELETE FROM notifications WHERE created_at < SYSDATE - ?");
+        if (type != null) {
+            sql.append(" AND type = ?");
+        } else if (!excludedTypes.isEmpty()) {
+            sql.append(" AND (type IS NULL OR type NOT IN (")
+               .append(String.join(", ", Collections.nCopies(excludedTypes.size(), "?")))
+               .append("))");
+        }
+        sql.append(" AND ROWNUM <= ?");
 
         try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+                PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            stmt.setInt(index++, retentionDays);
+            if (type != null) {
+                stmt.setString(index++, type);
+            } else {
+                for (String excluded : excludedTypes) {
+                    stmt.setString(index++, excluded);
+                }
+            }
+            stmt.setInt(index, chunkSize);
 
             int deletedCount = stmt.executeUpdate();
-            logger.info("Deleted {} old notifications", deletedCount);
+            logger.debug("Deleted {} expired {} notifications", deletedCount, type != null ? type : "other");
             return deletedCount;
-        } catch (SQLException e) {
-            logger.error("Error deleting old notifications: " + e.getMessage());
         }
-
-        return 0;
     }
 
     /**
-     * Map ResultSet to Notification object
+     * Maps notification rows to Notification objects by column index
      */
-    private Notification mapResultSetToNotification(ResultSet rs) throws SQLException {
-        Notification notification = new Notification();
-        notification.setNotificationId(rs.getInt("notification_id"));
-        notification.setEmpId(rs.getInt("emp_id"));
-        notification.setTitle(rs.getString("title"));
-        notification.setMessage(rs.getString("message"));
-        notification.setType(rs.getString("type"));
-        notification.setRead(rs.getInt("is_read") == 1);
-        notification.setCreatedAt(rs.getTimestamp("created_at"));
-        return notification;
-    }
-
-    /**
-     * Get next notification ID
-     */
-    private int getNextNotificationId() {
-        String sql = "SELECT NVL(MAX(notification_id), 0) + 1 FROM notifications";
-
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            logger.error("Error getting next notification ID: " + e.getMessage());
+    private static final class NotificationMapper extends RowMapper<Notification> {
+        private final int notificationId;
+        private final int empId;
+        private final int title;
+        private final int message;
+        private final int type;
+        private final int isRead;
+        private final int createdAt;
+
+        NotificationMapper(ResultSet rs) throws SQLException {
+            super(rs);
+            this.notificationId = column("notification_id");
+            this.empId = column("emp_id");
+            this.title = column("title");
+            this.message = column("message");
+            this.type = column("type");
+            this.isRead = column("is_read");
+            this.createdAt = column("created_at");
         }
 
-        return 1; // Default to 1 if error
+        @Override
+        Notification map() throws SQLException {
+            Notification notification = new Notification();
+            notification.setNotificationId(rs.getInt(notificationId));
+            notification.setEmpId(rs.getInt(empId));
+            notification.setTitle(rs.getString(title));
+            notification.setMessage(rs.getString(message));
+            notification.setType(shared(rs.getString(type)));
+            notification.setRead(rs.getInt(isRead) == 1);
+            notification.setCreatedAt(rs.getTimestamp(createdAt));
+            return notification;
+        }
     }
 }
\ No newline at end of file
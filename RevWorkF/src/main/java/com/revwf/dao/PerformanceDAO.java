@@ -14,9 +14,11 @@ import java.util.List;
 public class PerformanceDAO {
     private static final Logger logger = LogManager.getLogger(PerformanceDAO.class);
     private final DatabaseConfig dbConfig;
+    private final IdAllocator idAllocator;
 
     public PerformanceDAO() {
         this.dbConfig = DatabaseConfig.getInstance();
+        this.idAllocator = IdAllocator.getInstance();
     }
 
     // =============== PERFORMANCE REVIEW METHODS ===============
@@ -43,7 +45,7 @@ public class PerformanceDAO {
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            int nextId = getNextReviewId();
+            int nextId = idAllocator.nextId(conn, IdAllocator.Sequence.PERFORMANCE_REVIEWS);
             
             stmt.setInt(1, nextId);
             stmt.setInt(2, review.getEmpId());
@@ -104,12 +106,7 @@ public class PerformanceDAO {
      */
     public List<PerformanceReview> getPerformanceReviewsByEmployee(int empId) {
         List<PerformanceReview> reviews = new ArrayList<>();
-        String sql = "SELECT pr.*, e.first_name || ' ' || e.last_name as employee_name, " +
-                "m.first_name || ' ' || m.last_name as reviewed_by_name " +
-                "FROM performance_reviews pr " +
-                "LEFT JOIN employees e ON pr.emp_id = e.emp_id " +
-                "LEFT JOIN employees m ON pr.reviewed_by = m.emp_id " +
-                "WHERE pr.emp_id = ? ORDER BY pr.review_year DESC";
+        String sql = SqlCatalog.PERFORMANCE_REVIEWS_BY_EMPLOYEE;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -117,8 +114,9 @@ public class PerformanceDAO {
             stmt.setInt(1, empId);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                PerformanceReviewMapper mapper = new PerformanceReviewMapper(rs);
                 while (rs.next()) {
-                    PerformanceReview review = mapResultSetToPerformanceReview(rs);
+                    PerformanceReview review = mapper.map();
                     reviews.add(review);
                 }
             }
@@ -135,12 +133,7 @@ public class PerformanceDAO {
      * Get performance review by ID
      */
     public PerformanceReview getPerformanceReviewById(int reviewId) {
-        String sql = "SELECT pr.*, e.first_name || ' ' || e.last_name as employee_name, " +
-                "m.first_name || ' ' || m.last_name as reviewed_by_name " +
-                "FROM performance_reviews pr " +
-                "LEFT JOIN employees e ON pr.emp_id = e.emp_id " +
-                "LEFT JOIN employees m ON pr.reviewed_by = m.emp_id " +
-                "WHERE pr.review_id = ?";
+        String sql = SqlCatalog.PERFORMANCE_REVIEW_BY_ID;
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -149,7 +142,7 @@ public class PerformanceDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToPerformanceReview(rs);
+                    return new PerformanceReviewMapper(rs).map();
                 }
             }
         } catch (SQLException e) {
@@ -171,7 +164,7 @@ public class PerformanceDAO {
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            int nextId = getNextGoalId();
+            int nextId = idAllocator.nextId(conn, IdAllocator.Sequence.GOALS);
             
             stmt.setInt(1, nextId);
             stmt.setInt(2, goal.getEmpId());
@@ -239,8 +232,9 @@ public class PerformanceDAO {
             stmt.setInt(1, empId);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                GoalMapper mapper = new GoalMapper(rs);
                 while (rs.next()) {
-                    Goal goal = mapResultSetToGoal(rs);
+                    Goal goal = mapper.map();
                     goals.add(goal);
                 }
             }
@@ -255,69 +249,119 @@ public class PerformanceDAO {
 
     // =============== HELPER METHODS ===============
 
-    private PerformanceReview mapResultSetToPerformanceReview(ResultSet rs) throws SQLException {
-        PerformanceReview review = new PerformanceReview();
-        review.setReviewId(rs.getInt("review_id"));
-        review.setEmpId(rs.getInt("emp_id"));
-        review.setEmployeeName(rs.getString("employee_name"));
-        review.setReviewYear(rs.getInt("review_year"));
-        review.setKeyDeliverables(rs.getString("key_deliverables"));
-        review.setMajorAccomplishments(rs.getString("major_accomplishments"));
-        review.setAreasOfImprovement(rs.getString("areas_of_improvement"));
-        review.setSelfAssessmentRating(rs.getInt("self_assessment_rating"));
-        review.setManagerRating(rs.getInt("manager_rating"));
-        review.setManagerFeedback(rs.getString("manager_feedback"));
-        review.setStatus(PerformanceReview.ReviewStatus.valueOf(rs.getString("status")));
-        review.setSubmissionDate(rs.getDate("submission_date"));
-        review.setReviewDate(rs.getDate("review_date"));
-        review.setReviewedBy(rs.getObject("reviewed_by", Integer.class));
-        review.setReviewedByName(rs.getString("reviewed_by_name"));
-        review.setCreatedAt(rs.getTimestamp("created_at"));
-        review.setUpdatedAt(rs.getTimestamp("updated_at"));
-        return review;
-    }
+    /**
+     * Maps review join rows (SqlCatalog.PERFORMANCE_REVIEW_SELECT) to PerformanceReview objects by column index
+     */
+    private static final class PerformanceReviewMapper extends RowMapper<PerformanceReview> {
+        private final int reviewId;
+        private final int empId;
+        private final int employeeName;
+        private final int reviewYear;
+        private final int keyDeliverables;
+        private final int majorAccomplishments;
+        private final int areasOfImprovement;
+        private final int selfAssessmentRating;
+        private final int managerRating;
+        private final int managerFeedback;
+        private final int status;
+        private final int submissionDate;
+        private final int reviewDate;
+        private final int reviewedBy;
+        private final int reviewedByName;
+        private final int createdAt;
+        private final int updatedAt;
+
+        PerformanceReviewMapper(ResultSet rs) throws SQLException {
+            super(rs);
+            this.reviewId = column("review_id");
+            this.empId = column("emp_id");
+            this.employeeName = column("employee_name");
+            this.reviewYear = column("review_year");
+            this.keyDeliverables = column("key_deliverables");
+            this.majorAccomplishments = column("major_accomplishments");
+            this.areasOfImprovement = column("areas_of_improvement");
+            this.selfAssessmentRating = column("self_assessment_rating");
+            this.managerRating = column("manager_rating");
+            this.managerFeedback = column("manager_feedback");
+            this.status = column("status");
+            this.submissionDate = column("submission_date");
+            this.reviewDate = column("review_date");
+            this.reviewedBy = column("reviewed_by");
+            this.reviewedByName = column("reviewed_by_name");
+            this.createdAt = column("created_at");
+            this.updatedAt = column("updated_at");
+        }
 
-    private Goal mapResultSetToGoal(ResultSet rs) throws SQLException {
-        Goal goal = new Goal();
-        goal.setGoalId(rs.getInt("goal_id"));
-        goal.setEmpId(rs.getInt("emp_id"));
-        goal.setEmployeeName(rs.getString("employee_name"));
-        goal.setGoalDescription(rs.getString("goal_description"));
-        goal.setDeadline(rs.getDate("deadline"));
-        goal.setPriority(Goal.Priority.valueOf(rs.getString("priority")));
-        goal.setSuccessMetrics(rs.getString("success_metrics"));
-        goal.setStatus(Goal.GoalStatus.valueOf(rs.getString("status")));
-        goal.setCompletionPercentage(rs.getInt("completion_percentage"));
-        goal.setCreatedAt(rs.getTimestamp("created_at"));
-        goal.setUpdatedAt(rs.getTimestamp("updated_at"));
-        return goal;
+        @Override
+        PerformanceReview map() throws SQLException {
+            PerformanceReview review = new PerformanceReview();
+            review.setReviewId(rs.getInt(reviewId));
+            review.setEmpId(rs.getInt(empId));
+            review.setEmployeeName(shared(rs.getString(employeeName)));
+            review.setReviewYear(rs.getInt(reviewYear));
+            review.setKeyDeliverables(rs.getString(keyDeliverables));
+            review.setMajorAccomplishments(rs.getString(majorAccomplishments));
+            review.setAreasOfImprovement(rs.getString(areasOfImprovement));
+            review.setSelfAssessmentRating(rs.getInt(selfAssessmentRating));
+            review.setManagerRating(rs.getInt(managerRating));
+            review.setManagerFeedback(rs.getString(managerFeedback));
+            review.setStatus(PerformanceReview.ReviewStatus.valueOf(rs.getString(status)));
+            review.setSubmissionDate(rs.getDate(submissionDate));
+            review.setReviewDate(rs.getDate(reviewDate));
+            review.setReviewedBy(nullableInt(reviewedBy));
+            review.setReviewedByName(shared(rs.getString(reviewedByName)));
+            review.setCreatedAt(rs.getTimestamp(createdAt));
+            review.setUpdatedAt(rs.getTimestamp(updatedAt));
+            return review;
+        }
     }
 
-    private int getNextReviewId() {
-        String sql = "SELECT NVL(MAX(review_id), 0) + 1 FROM performance_reviews";
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            logger.error("Error getting next review ID: " + e.getMessage());
+    /**
+     * Maps goal rows to Goal objects by column index
+     */
+    private static final class GoalMapper extends RowMapper<Goal> {
+        private final int goalId;
+        private final int empId;
+        private final int employeeName;
+        private final int goalDescription;
+        private final int deadline;
+        private final int priority;
+        private final int successMetrics;
+        private final int status;
+        private final int completionPercentage;
+        private final int createdAt;
+        private final int updatedAt;
+
+        GoalMapper(ResultSet rs) throws SQLException {
+            super(rs);
+            this.goalId = column("goal_id");
+            this.empId = column("emp_id");
+            this.employeeName = column("employee_name");
+            this.goalDescription = column("goal_description");
+            this.deadline = column("deadline");
+            this.priority = column("priority");
+            this.successMetrics = column("success_metrics");
+            this.status = column("status");
+            this.completionPercentage = column("completion_percentage");
+            this.createdAt = column("created_at");
+            this.updatedAt = column("updated_at");
         }
-        return 1;
-    }
 
-    private int getNextGoalId() {
-        String sql = "SELECT NVL(MAX(goal_id), 0) + 1 FROM goals";
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            logger.error("Error getting next goal ID: " + e.getMessage());
+        @Override
+        Goal map() throws SQLException {
+            Goal goal = new Goal();
+            goal.setGoalId(rs.getInt(goalId));
+            goal.setEmpId(rs.getInt(empId));
+            goal.setEmployeeName(shared(rs.getString(employeeName)));
+            goal.setGoalDescription(rs.getString(goalDescription));
+            goal.setDeadline(rs.getDate(deadline));
+            goal.setPriority(Goal.Priority.valueOf(rs.getString(priority)));
+            goal.setSuccessMetrics(rs.getString(successMetrics));
+            goal.setStatus(Goal.GoalStatus.valueOf(rs.getString(status)));
+            goal.setCompletionPercentage(rs.getInt(completionPercentage));
+            goal.setCreatedAt(rs.getTimestamp(createdAt));
+            goal.setUpdatedAt(rs.getTimestamp(updatedAt));
+            return goal;
         }
-        return 1;
     }
 }
\ No newline at end of file
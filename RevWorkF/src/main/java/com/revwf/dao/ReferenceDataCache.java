@@ -0,0 +1,164 @@
+package com.revwf.dao;
+
+import com.revwf.config.DatabaseConfig;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared in-memory copy of the small, rarely changing lookup tables.
+ * Entries are dropped explicitly by the DAO write paths and otherwise
+ * expire after cache.reference.ttl.seconds as a safety net.
+ */
+public class ReferenceDataCache {
+    private static final Logger logger = LogManager.getLogger(ReferenceDataCache.class);
+    private static ReferenceDataCache instance;
+
+    /**
+     * Cached lookup tables
+     */
+    public enum Kind {
+        DEPARTMENTS,
+        DESIGNATIONS,
+        HOLIDAYS,
+        LEAVE_TYPES
+    }
+
+    /**
+     * Loads the rows for one kind from the database
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        List<T> load() throws SQLException;
+    }
+
+    private final long ttlMillis;
+    private final Map<Kind, Entry> entries = new EnumMap<>(Kind.class);
+
+    ReferenceDataCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        for (Kind kind : Kind.values()) {
+            entries.put(kind, new Entry());
+        }
+    }
+
+    public static ReferenceDataCache getInstance() {
+        if (instance == null) {
+            synchronized (ReferenceDataCache.class) {
+                if (instance == null) {
+                    long ttlSeconds = DatabaseConfig.getInstance().getIntProperty("cache.reference.ttl.seconds", 300);
+                    instance = new ReferenceDataCache(ttlSeconds * 1000);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Cached rows for the kind, loading them on a miss or after expiry
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Kind kind, Loader<T> loader) throws SQLException {
+        Entry entry = entries.get(kind);
+        List<?> rows = entry.rows;
+        if (rows != null && System.currentTimeMillis() < entry.expiresAt) {
+            entry.hits.incrementAndGet();
+            return new ArrayList<>((List<T>) rows);
+        }
+
+        synchronized (entry) {
+            // Another thread may have loaded while we waited
+            if (entry.rows != null && System.currentTimeMillis() < entry.expiresAt) {
+                entry.hits.incrementAndGet();
+                return new ArrayList<>((List<T>) entry.rows);
+            }
+
+            entry.misses.incrementAndGet();
+            List<T> loaded = loader.load();
+            entry.expiresAt = System.currentTimeMillis() + ttlMillis;
+            entry.rows = new ArrayList<>(loaded);
+            logger.debug("Loaded {} {} into reference cache", loaded.size(), kind);
+            return new ArrayList<>(loaded);
+        }
+    }
+
+    /**
+     * Drop the cached rows so the next read goes to the database
+     */
+    public void invalidate(Kind kind) {
+        Entry entry = entries.get(kind);
+        synchronized (entry) {
+            entry.rows = null;
+            entry.invalidations.incrementAndGet();
+        }
+        logger.debug("Invalidated reference cache for {}", kind);
+    }
+
+    public void invalidateAll() {
+        for (Kind kind : Kind.values()) {
+            invalidate(kind);
+        }
+    }
+
+    public CacheStats getStats(Kind kind) {
+        Entry entry = entries.get(kind);
+        return new CacheStats(entry.hits.get(), entry.misses.get(), entry.invalidations.get());
+    }
+
+    public CacheStats getTotalStats() {
+        long hits = 0;
+        long misses = 0;
+        long invalidations = 0;
+        for (Entry entry : entries.values()) {
+            hits += entry.hits.get();
+            misses += entry.misses.get();
+            invalidations += entry.invalidations.get();
+        }
+        return new CacheStats(hits, misses, invalidations);
+    }
+
+    private static class Entry {
+        volatile List<?> rows;
+        volatile long expiresAt;
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong invalidations = new AtomicLong();
+    }
+
+    /**
+     * Hit/miss counters for one kind or for the whole cache
+     */
+    public static class CacheStats {
+        public final long hits;
+        public final long misses;
+        public final long invalidations;
+
+        public CacheStats(long hits, long misses, long invalidations) {
+            this.hits = hits;
+            this.misses = misses;
+            this.invalidations = invalidations;
+        }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStats{" +
+                    "hits=" + hits +
+                    ", misses=" + misses +
+                    ", invalidations=" + invalidations +
+                    ", hitRatio=" + String.format("%.2f", getHitRatio()) +
+                    '}';
+        }
+    }
+}
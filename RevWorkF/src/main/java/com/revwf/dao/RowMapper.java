@@ -0,0 +1,60 @@
+package com.revwf.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the rows of one result set by column index. Subclasses resolve their
+ * column labels with {@link #column(String)} in the constructor, so the
+ * driver's case-insensitive label lookup runs once per result set instead of
+ * once per field per row, then read each row with the index getters.
+ *
+ * Low-cardinality text such as department or designation names can be passed
+ * through {@link #shared(String)}, which hands back the first equal string seen
+ * in this result set. A large list then holds one copy of each name rather
+ * than one per row.
+ *
+ * A mapper is bound to its result set and, like the result set, is used by one
+ * thread only. Create it after executeQuery and before the first next().
+ */
+abstract class RowMapper<T> {
+    protected final ResultSet rs;
+    private final Map<String, String> sharedStrings = new HashMap<>();
+
+    protected RowMapper(ResultSet rs) {
+        this.rs = rs;
+    }
+
+    /**
+     * Map the current row
+     */
+    abstract T map() throws SQLException;
+
+    /**
+     * Index of the given column label in this result set
+     */
+    protected final int column(String label) throws SQLException {
+        return rs.findColumn(label);
+    }
+
+    /**
+     * The first string equal to value seen by this mapper, or value itself
+     */
+    protected final String shared(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = sharedStrings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Integer column that may be null
+     */
+    protected final Integer nullableInt(int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,85 @@
+package com.revwf.dao;
+
+import com.revwf.config.DatabaseConfig;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Schema changes the DAOs rely on beyond the original tables. They run once
+ * at startup, or on their own with
+ * {@code java com.revwf.dao.SchemaMigrations} by someone holding the DDL
+ * privileges, and never from a request path. Every step is idempotent: an
+ * "already exists" error means the step was applied before.
+ */
+public final class SchemaMigrations {
+    private static final Logger logger = LogManager.getLogger(SchemaMigrations.class);
+    private static final int ORA_NAME_IN_USE = 955;
+    private static final int ORA_COLUMNS_ALREADY_INDEXED = 1408;
+    private static final int ORA_COLUMN_EXISTS = 1430;
+
+    /**
+     * Applied in order; append new steps, never edit or reorder applied ones
+     */
+    static final List<String> STEPS = Arrays.asList(
+            // Optimistic locking for LeaveApprovalPipeline and the other leave writers
+            "ALTER TABLE leave_applications ADD (row_version NUMBER(10) DEFAULT 0 NOT NULL)",
+            "ALTER TABLE leave_balances ADD (row_version NUMBER(10) DEFAULT 0 NOT NULL)",
+            // Notification inbox order, with and without the unread filter, and the retention purge's age scan
+            "CREATE INDEX idx_notifications_inbox ON notifications (emp_id, created_at DESC, notification_id DESC)",
+            "CREATE INDEX idx_notifications_unread " +
+                    "ON notifications (emp_id, is_read, created_at DESC, notification_id DESC)",
+            "CREATE INDEX idx_notifications_age ON notifications (created_at, type)",
+            // Login lockouts that survive a restart (login.lockout.persist)
+            "CREATE TABLE login_lockouts (employee_id VARCHAR2(50) PRIMARY KEY, locked_until TIMESTAMP NOT NULL)");
+
+    private SchemaMigrations() {
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println("Applied " + migrate() + " schema changes");
+        } catch (SQLException e) {
+            System.err.println("Schema migration failed: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            DatabaseConfig.getInstance().shutdown();
+        }
+    }
+
+    /**
+     * Apply every step not yet in the schema; returns how many were new
+     */
+    public static int migrate() throws SQLException {
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            return migrate(conn);
+        }
+    }
+
+    static int migrate(Connection conn) throws SQLException {
+        int applied = 0;
+        for (String ddl : STEPS) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(ddl);
+                logger.info("Applied schema change: {}", ddl);
+                applied++;
+            } catch (SQLException e) {
+                if (!isAlreadyApplied(e)) {
+                    throw e;
+                }
+            }
+        }
+        return applied;
+    }
+
+    private static boolean isAlreadyApplied(SQLException e) {
+        return e.getErrorCode() == ORA_NAME_IN_USE || e.getErrorCode() == ORA_COLUMNS_ALREADY_INDEXED
+                || e.getErrorCode() == ORA_COLUMN_EXISTS;
+    }
+}
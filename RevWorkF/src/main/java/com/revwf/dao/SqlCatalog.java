@@ -0,0 +1,110 @@
+package com.revwf.dao;
+
+/**
+ * Named SQL shared by the DAOs. Every caller of a statement uses the same
+ * constant, so the text is built once at class load and is byte-for-byte
+ * identical on every execution: the database matches it to the cursor already
+ * in its shared pool instead of hard-parsing it, and the driver's per-connection
+ * statement cache (db.statement.cache.size) hands back the already prepared
+ * statement. Statements with a WHERE clause bind their values; never
+ * concatenate input into these strings or each call becomes a new statement.
+ */
+final class SqlCatalog {
+    private SqlCatalog() {
+    }
+
+    /**
+     * Employee row with department, designation, manager name and login status
+     */
+    static final String EMPLOYEE_SELECT = "SELECT e.*, d.dept_name, des.designation_name, " +
+            "m.first_name || ' ' || m.last_name as manager_name, u.is_active " +
+            "FROM employees e " +
+            "LEFT JOIN departments d ON e.dept_id = d.dept_id " +
+            "LEFT JOIN designations des ON e.designation_id = des.designation_id " +
+            "LEFT JOIN employees m ON e.manager_id = m.emp_id " +
+            "LEFT JOIN users u ON e.user_id = u.user_id ";
+
+    static final String EMPLOYEES_ALL = EMPLOYEE_SELECT +
+            "ORDER BY e.emp_id";
+
+    static final String EMPLOYEES_PAGE = EMPLOYEE_SELECT +
+            "WHERE e.emp_id > ? " +
+            "ORDER BY e.emp_id " +
+            "FETCH FIRST ? ROWS ONLY";
+
+    static final String EMPLOYEE_BY_ID = EMPLOYEE_SELECT +
+            "WHERE e.emp_id = ?";
+
+    static final String EMPLOYEE_BY_USER_ID = EMPLOYEE_SELECT +
+            "WHERE e.user_id = ?";
+
+    static final String EMPLOYEE_BY_EMPLOYEE_ID = EMPLOYEE_SELECT +
+            "WHERE u.employee_id = ?";
+
+    static final String EMPLOYEES_BY_MANAGER = EMPLOYEE_SELECT +
+            "WHERE e.manager_id = ? " +
+            "ORDER BY e.first_name, e.last_name";
+
+    static final String EMPLOYEES_BY_DEPARTMENT = EMPLOYEE_SELECT +
+            "WHERE e.dept_id = ? " +
+            "ORDER BY e.emp_id";
+
+    static final String EMPLOYEES_SEARCH_NAME = EMPLOYEE_SELECT +
+            "WHERE UPPER(e.first_name || ' ' || e.last_name) LIKE UPPER(?) " +
+            "ORDER BY e.first_name, e.last_name";
+
+    static final String EMPLOYEES_SEARCH_EMPLOYEE_ID = EMPLOYEE_SELECT +
+            "WHERE UPPER(u.employee_id) LIKE UPPER(?) " +
+            "ORDER BY e.first_name, e.last_name";
+
+    static final String EMPLOYEES_SEARCH_DEPARTMENT = EMPLOYEE_SELECT +
+            "WHERE UPPER(d.dept_name) LIKE UPPER(?) " +
+            "ORDER BY e.first_name, e.last_name";
+
+    static final String EMPLOYEES_SEARCH_DESIGNATION = EMPLOYEE_SELECT +
+            "WHERE UPPER(des.designation_name) LIKE UPPER(?) " +
+            "ORDER BY e.first_name, e.last_name";
+
+    static final String POTENTIAL_MANAGERS = EMPLOYEE_SELECT +
+            "WHERE des.designation_name IN ('Manager', 'Team Lead', 'Senior Software Engineer', " +
+            "'Finance Manager', 'Marketing Manager', 'Admin') " +
+            "AND u.is_active = 1 " +
+            "ORDER BY e.first_name, e.last_name";
+
+    /**
+     * Leave application row with leave type, applicant and approver names
+     */
+    static final String LEAVE_APPLICATION_SELECT = "SELECT la.*, lt.leave_type_name, " +
+            "e.first_name || ' ' || e.last_name as employee_name, " +
+            "mgr.first_name || ' ' || mgr.last_name as approved_by_name " +
+            "FROM leave_applications la " +
+            "JOIN leave_types lt ON la.leave_type_id = lt.leave_type_id " +
+            "JOIN employees e ON la.emp_id = e.emp_id " +
+            "LEFT JOIN employees mgr ON la.approved_by = mgr.emp_id ";
+
+    static final String LEAVE_APPLICATIONS_ALL = LEAVE_APPLICATION_SELECT +
+            "ORDER BY la.applied_date DESC";
+
+    static final String LEAVE_APPLICATIONS_BY_EMPLOYEE = LEAVE_APPLICATION_SELECT +
+            "WHERE la.emp_id = ? " +
+            "ORDER BY la.applied_date DESC";
+
+    static final String LEAVE_APPLICATIONS_PENDING_FOR_MANAGER = LEAVE_APPLICATION_SELECT +
+            "WHERE e.manager_id = ? AND la.status = 'PENDING' " +
+            "ORDER BY la.applied_date ASC";
+
+    /**
+     * Performance review row with employee and reviewer names
+     */
+    static final String PERFORMANCE_REVIEW_SELECT = "SELECT pr.*, e.first_name || ' ' || e.last_name as employee_name, " +
+            "m.first_name || ' ' || m.last_name as reviewed_by_name " +
+            "FROM performance_reviews pr " +
+            "LEFT JOIN employees e ON pr.emp_id = e.emp_id " +
+            "LEFT JOIN employees m ON pr.reviewed_by = m.emp_id ";
+
+    static final String PERFORMANCE_REVIEWS_BY_EMPLOYEE = PERFORMANCE_REVIEW_SELECT +
+            "WHERE pr.emp_id = ? ORDER BY pr.review_year DESC";
+
+    static final String PERFORMANCE_REVIEW_BY_ID = PERFORMANCE_REVIEW_SELECT +
+            "WHERE pr.review_id = ?";
+}
@@ -3,6 +3,7 @@ package com.revwf.dao;
 import com.revwf.config.DatabaseConfig;
 import com.revwf.model.User;
 import com.revwf.model.UserRole;
+import com.revwf.util.PasswordUtil;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,30 +15,42 @@ import java.util.List;
 public class UserDAO {
     private static final Logger logger = LogManager.getLogger(UserDAO.class);
     private final DatabaseConfig dbConfig;
+    private final IdAllocator idAllocator;
 
     public UserDAO() {
         this.dbConfig = DatabaseConfig.getInstance();
+        this.idAllocator = IdAllocator.getInstance();
     }
 
     /**
-     * Authenticate user by employee ID and password
+     * Authenticate user by employee ID and password. The password is verified
+     * against the stored hash in Java; a hash in an old format or with another
+     * work factor is replaced with a fresh one after a successful login.
      */
     public User authenticate(String employeeId, String password) {
-        String sql = "SELECT * FROM users WHERE employee_id = ? AND password_hash = ? AND is_active = 1";
+        String sql = "SELECT * FROM users WHERE employee_id = ? AND is_active = 1";
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, employeeId);
-            stmt.setString(2, password); // In production, hash the password
 
+            User user = null;
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    User user = mapResultSetToUser(rs);
-                    logger.info("User authenticated successfully: " + employeeId);
-                    return user;
+                    user = new UserMapper(rs).map();
                 }
             }
+
+            if (user == null) {
+                PasswordUtil.verifyAgainstDummy(password);
+            } else if (PasswordUtil.verifyPassword(password, user.getPasswordHash())) {
+                if (PasswordUtil.needsRehash(user.getPasswordHash())) {
+                    rehashPassword(conn, user, password);
+                }
+                logger.info("User authenticated successfully: " + employeeId);
+                return user;
+            }
         } catch (SQLException e) {
             logger.error("Error authenticating user: " + e.getMessage());
         }
@@ -57,7 +70,7 @@ public class UserDAO {
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             // Get next user ID
-            int nextUserId = getNextUserId();
+            int nextUserId = idAllocator.nextId(conn, IdAllocator.Sequence.USERS);
 
             stmt.setInt(1, nextUserId);
             stmt.setString(2, user.getEmployeeId());
@@ -79,6 +92,24 @@ public class UserDAO {
         return false;
     }
 
+    private void rehashPassword(Connection conn, User user, String password) {
+        String sql = "UPDATE users SET password_hash = ? WHERE user_id = ? AND password_hash = ?";
+        String newHash = PasswordUtil.hashPassword(password);
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, newHash);
+            stmt.setInt(2, user.getUserId());
+            stmt.setString(3, user.getPasswordHash());
+            if (stmt.executeUpdate() > 0) {
+                user.setPasswordHash(newHash);
+                logger.info("Upgraded password hash for user: " + user.getEmployeeId());
+            }
+        } catch (SQLException e) {
+            // The login itself succeeded; the upgrade is retried next time
+            logger.warn("Could not upgrade password hash for {}: {}", user.getEmployeeId(), e.getMessage());
+        }
+    }
+
     /**
      * Update user information
      */
@@ -107,15 +138,15 @@ public class UserDAO {
     }
 
     /**
-     * Change user password
+     * Change user password. Expects the already hashed password.
      */
-    public boolean changePassword(int userId, String newPassword) {
+    public boolean changePassword(int userId, String newPasswordHash) {
         String sql = "UPDATE users SET password_hash = ?, updated_at = CURRENT_TIMESTAMP WHERE user_id = ?";
 
         try (Connection conn = dbConfig.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setString(1, newPassword); // In production, hash the password
+            stmt.setString(1, newPasswordHash);
             stmt.setInt(2, userId);
 
             int rowsAffected = stmt.executeUpdate();
@@ -143,7 +174,7 @@ public class UserDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToUser(rs);
+                    return new UserMapper(rs).map();
                 }
             }
         } catch (SQLException e) {
@@ -166,7 +197,7 @@ public class UserDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToUser(rs);
+                    return new UserMapper(rs).map();
                 }
             }
         } catch (SQLException e) {
@@ -187,8 +218,9 @@ public class UserDAO {
                 PreparedStatement stmt = conn.prepareStatement(sql);
                 ResultSet rs = stmt.executeQuery()) {
 
+            UserMapper mapper = new UserMapper(rs);
             while (rs.next()) {
-                users.add(mapResultSetToUser(rs));
+                users.add(mapper.map());
             }
         } catch (SQLException e) {
             logger.error("Error getting all users: " + e.getMessage());
@@ -243,24 +275,6 @@ public class UserDAO {
         return false;
     }
 
-    /**
-     * Get next user ID
-     */
-    private int getNextUserId() throws SQLException {
-        String sql = "SELECT NVL(MAX(user_id), 0) + 1 FROM users";
-
-        try (Connection conn = dbConfig.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        }
-
-        return 1;
-    }
-
     /**
      * Reactivate user account
      */
@@ -285,18 +299,42 @@ public class UserDAO {
     }
 
     /**
-     * Map ResultSet to User object
+     * Maps user rows to User objects by column index
      */
-    private User mapResultSetToUser(ResultSet rs) throws SQLException {
-        User user = new User();
-        user.setUserId(rs.getInt("user_id"));
-        user.setEmployeeId(rs.getString("employee_id"));
-        user.setEmail(rs.getString("email"));
-        user.setPasswordHash(rs.getString("password_hash"));
-        user.setRole(UserRole.valueOf(rs.getString("role")));
-        user.setActive(rs.getInt("is_active") == 1);
-        user.setCreatedAt(rs.getTimestamp("created_at"));
-        user.setUpdatedAt(rs.getTimestamp("updated_at"));
-        return user;
+    private static final class UserMapper extends RowMapper<User> {
+        private final int userId;
+        private final int employeeId;
+        private final int email;
+        private final int passwordHash;
+        private final int role;
+        private final int isActive;
+        private final int createdAt;
+        private final int updatedAt;
+
+        UserMapper(ResultSet rs) throws SQLException {
+            super(rs);
+            this.userId = column("user_id");
+            this.employeeId = column("employee_id");
+            this.email = column("email");
+            this.passwordHash = column("password_hash");
+            this.role = column("role");
+            this.isActive = column("is_active");
+            this.createdAt = column("created_at");
+            this.updatedAt = column("updated_at");
+        }
+
+        @Override
+        User map() throws SQLException {
+            User user = new User();
+            user.setUserId(rs.getInt(userId));
+            user.setEmployeeId(rs.getString(employeeId));
+            user.setEmail(rs.getString(email));
+            user.setPasswordHash(rs.getString(passwordHash));
+            user.setRole(UserRole.valueOf(rs.getString(role)));
+            user.setActive(rs.getInt(isActive) == 1);
+            user.setCreatedAt(rs.getTimestamp(createdAt));
+            user.setUpdatedAt(rs.getTimestamp(updatedAt));
+            return user;
+        }
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ public class LeaveBalance {
     private int usedDays;
     private int remainingDays;
     private int year;
+    private long rowVersion;
     
     // Constructors
     public LeaveBalance() {}
@@ -87,6 +88,14 @@ public class LeaveBalance {
         this.year = year;
     }
     
+    public long getRowVersion() {
+        return rowVersion;
+    }
+    
+    public void setRowVersion(long rowVersion) {
+        this.rowVersion = rowVersion;
+    }
+    
     public void updateBalance() {
         this.remainingDays = this.allocatedDays - this.usedDays;
     }
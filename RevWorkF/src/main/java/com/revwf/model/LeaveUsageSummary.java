@@ -0,0 +1,78 @@
+package com.revwf.model;
+
+/**
+ * Aggregated leave balance totals for one employee, department or leave type
+ */
+public class LeaveUsageSummary {
+    private int groupId;
+    private String groupName;
+    private int employeeCount;
+    private int employeesWithBalances;
+    private int allocatedDays;
+    private int usedDays;
+    private int remainingDays;
+
+    // Constructors
+    public LeaveUsageSummary() {}
+
+    // Getters and Setters
+    public int getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(int groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public void setGroupName(String groupName) {
+        this.groupName = groupName;
+    }
+
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(int employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public int getEmployeesWithBalances() {
+        return employeesWithBalances;
+    }
+
+    public void setEmployeesWithBalances(int employeesWithBalances) {
+        this.employeesWithBalances = employeesWithBalances;
+    }
+
+    public int getAllocatedDays() {
+        return allocatedDays;
+    }
+
+    public void setAllocatedDays(int allocatedDays) {
+        this.allocatedDays = allocatedDays;
+    }
+
+    public int getUsedDays() {
+        return usedDays;
+    }
+
+    public void setUsedDays(int usedDays) {
+        this.usedDays = usedDays;
+    }
+
+    public int getRemainingDays() {
+        return remainingDays;
+    }
+
+    public void setRemainingDays(int remainingDays) {
+        this.remainingDays = remainingDays;
+    }
+
+    public double getUtilizationPercent() {
+        return allocatedDays > 0 ? (double) usedDays / allocatedDays * 100 : 0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.revwf.model;
+
+/**
+ * Actions a role may perform. Each permission is one bit, so a role's or a
+ * session's grants fit in a long and any set of checks is a single AND.
+ */
+public enum Permission {
+    VIEW_OWN_PROFILE(UserRole.EMPLOYEE),
+    APPLY_LEAVE(UserRole.EMPLOYEE),
+    VIEW_NOTIFICATIONS(UserRole.EMPLOYEE),
+    VIEW_DIRECTORY(UserRole.EMPLOYEE),
+    VIEW_TEAM(UserRole.MANAGER),
+    APPROVE_LEAVE(UserRole.MANAGER),
+    REVIEW_PERFORMANCE(UserRole.MANAGER),
+    MANAGE_EMPLOYEES(UserRole.ADMIN),
+    MANAGE_ORGANIZATION(UserRole.ADMIN),
+    MANAGE_USERS(UserRole.ADMIN),
+    SEND_ANNOUNCEMENTS(UserRole.ADMIN),
+    VIEW_REPORTS(UserRole.ADMIN),
+    CONFIGURE_SYSTEM(UserRole.ADMIN);
+
+    // Indexed by UserRole ordinal; roles later in UserRole include everything granted earlier
+    private static final long[] ROLE_MASKS = new long[UserRole.values().length];
+
+    static {
+        for (Permission permission : values()) {
+            for (UserRole role : UserRole.values()) {
+                if (role.ordinal() >= permission.lowestRole.ordinal()) {
+                    ROLE_MASKS[role.ordinal()] |= permission.bit();
+                }
+            }
+        }
+    }
+
+    private final UserRole lowestRole;
+
+    Permission(UserRole lowestRole) {
+        this.lowestRole = lowestRole;
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Everything the role is allowed to do
+     */
+    public static long maskOf(UserRole role) {
+        return role != null ? ROLE_MASKS[role.ordinal()] : 0L;
+    }
+
+    /**
+     * Combine permissions into one mask, for checking many at once
+     */
+    public static long maskOf(Permission... permissions) {
+        long mask = 0L;
+        for (Permission permission : permissions) {
+            mask |= permission.bit();
+        }
+        return mask;
+    }
+}
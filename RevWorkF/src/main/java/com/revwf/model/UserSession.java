@@ -0,0 +1,88 @@
+package com.revwf.model;
+
+/**
+ * A logged-in user identified by an opaque token. Times are epoch millis.
+ */
+public class UserSession {
+    private final String token;
+    private final User user;
+    private final long createdAt;
+    private final long expiresAt;
+    private volatile long lastAccessedAt;
+    private volatile long permissions;
+
+    public UserSession(String token, User user, long createdAt, long expiresAt) {
+        this.token = token;
+        this.user = user;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.lastAccessedAt = createdAt;
+        this.permissions = Permission.maskOf(user.getRole());
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Absolute end of the session, however active it is
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public long getLastAccessedAt() {
+        return lastAccessedAt;
+    }
+
+    public void setLastAccessedAt(long lastAccessedAt) {
+        this.lastAccessedAt = lastAccessedAt;
+    }
+
+    /**
+     * Permission bits granted to this session
+     */
+    public long getPermissions() {
+        return permissions;
+    }
+
+    public void setPermissions(long permissions) {
+        this.permissions = permissions;
+    }
+
+    public boolean hasPermission(Permission permission) {
+        return (permissions & permission.bit()) != 0;
+    }
+
+    /**
+     * True when every bit of the mask is granted
+     */
+    public boolean hasAll(long mask) {
+        return (permissions & mask) == mask;
+    }
+
+    /**
+     * True when at least one bit of the mask is granted
+     */
+    public boolean hasAny(long mask) {
+        return (permissions & mask) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSession{" +
+                "user=" + (user != null ? user.getEmployeeId() : null) +
+                ", createdAt=" + createdAt +
+                ", lastAccessedAt=" + lastAccessedAt +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -1,72 +1,152 @@
 package com.revwf.service;
 
 import com.revwf.dao.UserDAO;
+import com.revwf.model.Permission;
 import com.revwf.model.User;
 import com.revwf.model.UserRole;
+import com.revwf.model.UserSession;
 import com.revwf.util.PasswordUtil;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public class AuthService {
     private static final Logger logger = LogManager.getLogger(AuthService.class);
     private final UserDAO userDAO;
+    private final LoginThrottle loginThrottle;
+    private final SessionRegistry sessionRegistry;
     private User currentUser;
+    private UserSession currentSession;
     
     public AuthService() {
         this.userDAO = new UserDAO();
+        this.loginThrottle = LoginThrottle.getInstance();
+        this.sessionRegistry = SessionRegistry.getInstance();
     }
     
     /**
      * Authenticate user with employee ID and password
      */
     public boolean login(String employeeId, String password) {
+        UserSession session = openSession(employeeId, password);
+        if (session == null) {
+            return false;
+        }
+        this.currentUser = session.getUser();
+        this.currentSession = session;
+        return true;
+    }
+    
+    /**
+     * Authenticate and open a session without making it this instance's
+     * current user, for front ends that serve many users at once
+     */
+    public UserSession openSession(String employeeId, String password) {
         try {
             if (employeeId == null || employeeId.trim().isEmpty() ||
                 password == null || password.trim().isEmpty()) {
                 logger.warn("Login attempt with empty credentials");
-                return false;
+                return null;
             }
             
-            // For demo purposes, use simple password verification
-            User user = userDAO.authenticate(employeeId.trim(), password);
-            
-            if (user != null && user.isActive()) {
-                this.currentUser = user;
-                logger.info("User logged in successfully: " + employeeId);
-                return true;
+            // Locked IDs, and IDs whose attempts in flight already reach the limit,
+            // are turned away before the database or the hasher is touched
+            if (!loginThrottle.tryBeginAttempt(employeeId)) {
+                logger.warn("Login rejected, account locked or attempt limit reached: " + employeeId);
+                return null;
             }
             
-            logger.warn("Login failed for user: " + employeeId);
-            return false;
+            boolean counted = false;
+            try {
+                User user = userDAO.authenticate(employeeId.trim(), password);
+                
+                if (user != null && user.isActive()) {
+                    loginThrottle.recordSuccess(employeeId);
+                    counted = true;
+                    logger.info("User logged in successfully: " + employeeId);
+                    return sessionRegistry.create(user);
+                }
+                
+                loginThrottle.recordFailure(employeeId);
+                counted = true;
+                logger.warn("Login failed for user: " + employeeId);
+                return null;
+            } finally {
+                if (!counted) {
+                    loginThrottle.abandonAttempt(employeeId);
+                }
+            }
             
         } catch (Exception e) {
             logger.error("Error during login: " + e.getMessage());
-            return false;
+            return null;
         }
     }
     
+    /**
+     * Live session for a token, extending its idle timeout, or null
+     */
+    public UserSession getSession(String token) {
+        return sessionRegistry.touch(token);
+    }
+    
+    /**
+     * End the session behind a token
+     */
+    public void logout(String token) {
+        sessionRegistry.invalidate(token);
+    }
+    
+    /**
+     * Token of the session opened by login(), or null
+     */
+    public String getSessionToken() {
+        return currentSession != null ? currentSession.getToken() : null;
+    }
+    
+    /**
+     * Seconds until a locked employee ID may try to log in again, 0 if not locked
+     */
+    public long getLockoutRemainingSeconds(String employeeId) {
+        return (loginThrottle.getLockoutRemainingMillis(employeeId) + 999) / 1000;
+    }
+    
     /**
      * Logout current user
      */
     public void logout() {
         if (currentUser != null) {
             logger.info("User logged out: " + currentUser.getEmployeeId());
+            sessionRegistry.invalidate(currentSession.getToken());
             this.currentUser = null;
+            this.currentSession = null;
         }
     }
     
     /**
-     * Check if user is logged in
+     * Check if user is logged in. An idle or expired session logs the user out.
      */
     public boolean isLoggedIn() {
+        if (currentUser != null && sessionRegistry.touch(currentSession.getToken()) == null) {
+            logger.info("Session expired for user: " + currentUser.getEmployeeId());
+            this.currentUser = null;
+            this.currentSession = null;
+        }
         return currentUser != null;
     }
     
     /**
-     * Get current logged-in user
+     * Get current logged-in user. Counts as activity on the session; expiry
+     * takes effect at the next isLoggedIn() check so screens in progress
+     * never see the user vanish.
      */
     public User getCurrentUser() {
+        if (currentSession != null) {
+            sessionRegistry.touch(currentSession.getToken());
+        }
         return currentUser;
     }
     
@@ -77,6 +157,44 @@ public class AuthService {
         return currentUser != null && currentUser.getRole() == role;
     }
     
+    /**
+     * Check one permission against the current session's precomputed bits
+     */
+    public boolean hasPermission(Permission permission) {
+        UserSession session = currentSession;
+        return session != null && session.hasPermission(permission);
+    }
+    
+    /**
+     * True when the current session holds every listed permission
+     */
+    public boolean hasAllPermissions(Permission... permissions) {
+        UserSession session = currentSession;
+        return session != null && session.hasAll(Permission.maskOf(permissions));
+    }
+    
+    /**
+     * True when the current session holds at least one listed permission
+     */
+    public boolean hasAnyPermission(Permission... permissions) {
+        UserSession session = currentSession;
+        return session != null && session.hasAny(Permission.maskOf(permissions));
+    }
+    
+    /**
+     * The listed permissions the current session lacks
+     */
+    public Set<Permission> missingPermissions(Permission... permissions) {
+        Set<Permission> missing = EnumSet.noneOf(Permission.class);
+        UserSession session = currentSession;
+        for (Permission permission : permissions) {
+            if (session == null || !session.hasPermission(permission)) {
+                missing.add(permission);
+            }
+        }
+        return missing;
+    }
+    
     /**
      * Check if current user is admin
      */
@@ -120,11 +238,13 @@ public class AuthService {
         }
         
         // Hash new password and update
-        String hashedNewPassword = PasswordUtil.simpleHash(newPassword);
+        String hashedNewPassword = PasswordUtil.hashPassword(newPassword);
         boolean success = userDAO.changePassword(currentUser.getUserId(), hashedNewPassword);
         
         if (success) {
             currentUser.setPasswordHash(hashedNewPassword);
+            // Logins made with the old password elsewhere must not outlive it
+            sessionRegistry.invalidateUser(currentUser.getUserId(), getSessionToken());
             logger.info("Password changed successfully for user: " + currentUser.getEmployeeId());
         }
         
@@ -135,7 +255,7 @@ public class AuthService {
      * Register new user (Admin only)
      */
     public boolean registerUser(String employeeId, String email, String password, UserRole role) {
-        if (!isAdmin()) {
+        if (!hasPermission(Permission.MANAGE_USERS)) {
             logger.warn("Non-admin user attempted to register new user");
             return false;
         }
@@ -155,7 +275,7 @@ public class AuthService {
         }
         
         // Create new user
-        User newUser = new User(employeeId, email, password, role);
+        User newUser = new User(employeeId, email, PasswordUtil.hashPassword(password), role);
         boolean success = userDAO.createUser(newUser);
         
         if (success) {
@@ -165,6 +285,30 @@ public class AuthService {
         return success;
     }
     
+    /**
+     * Change a user's role and apply it to their open sessions at once
+     */
+    public boolean changeUserRole(String employeeId, UserRole newRole) {
+        if (!hasPermission(Permission.MANAGE_USERS)) {
+            logger.warn("User without MANAGE_USERS attempted to change a role");
+            return false;
+        }
+        
+        User user = userDAO.getUserByEmployeeId(employeeId);
+        if (user == null) {
+            logger.warn("Role change for unknown user: " + employeeId);
+            return false;
+        }
+        
+        user.setRole(newRole);
+        boolean success = userDAO.updateUser(user);
+        if (success) {
+            sessionRegistry.refreshUser(user);
+            logger.info("Role of {} changed to {}", employeeId, newRole);
+        }
+        return success;
+    }
+    
     /**
      * Get user session info
      */
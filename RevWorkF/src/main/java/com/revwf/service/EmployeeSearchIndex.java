@@ -0,0 +1,300 @@
+package com.revwf.service;
+
+import com.revwf.model.Employee;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory substring index over the employee directory. Every searchable
+ * value is split into all of its 1, 2 and 3 character grams, so a term of up
+ * to three characters is answered by a single posting lookup and a longer
+ * term only has to confirm the members of its rarest trigram.
+ */
+public class EmployeeSearchIndex {
+    private static final Logger logger = LogManager.getLogger(EmployeeSearchIndex.class);
+    private static final int GRAM_LENGTH = 3;
+    private static EmployeeSearchIndex instance;
+
+    /**
+     * Searchable employee attributes
+     */
+    public enum Field {
+        NAME,
+        EMPLOYEE_ID,
+        DEPARTMENT,
+        DESIGNATION
+    }
+
+    private static final Comparator<Employee> NAME_ORDER = Comparator
+            .comparing(Employee::getFirstName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Employee::getLastName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(Employee::getEmpId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Employee> employees = new HashMap<>();
+    private final Map<Integer, String> employeeCodes = new HashMap<>();
+    private final Map<Field, Map<Integer, String>> values = new EnumMap<>(Field.class);
+    private final Map<Field, Map<String, Set<Integer>>> postings = new EnumMap<>(Field.class);
+    private volatile boolean loaded;
+
+    EmployeeSearchIndex() {
+        for (Field field : Field.values()) {
+            values.put(field, new HashMap<>());
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    public static EmployeeSearchIndex getInstance() {
+        if (instance == null) {
+            synchronized (EmployeeSearchIndex.class) {
+                if (instance == null) {
+                    instance = new EmployeeSearchIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replace the whole index. Codes map emp_id to the login employee ID (e.g. EMP001).
+     */
+    public void rebuild(Collection<Employee> allEmployees, Map<Integer, String> codes) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            employees.clear();
+            employeeCodes.clear();
+            for (Field field : Field.values()) {
+                values.get(field).clear();
+                postings.get(field).clear();
+            }
+            for (Employee employee : allEmployees) {
+                add(employee, codes.get(employee.getEmpId()));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built employee search index for {} employees in {} ms",
+                allEmployees.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Add or replace one employee, keeping the employee ID already indexed for it
+     */
+    public void put(Employee employee) {
+        put(employee, null);
+    }
+
+    /**
+     * Add or replace one employee with its login employee ID
+     */
+    public void put(Employee employee, String employeeCode) {
+        lock.writeLock().lock();
+        try {
+            String code = employeeCode != null ? employeeCode : employeeCodes.get(employee.getEmpId());
+            removeEntry(employee.getEmpId());
+            add(employee, code);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int empId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(empId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Employees whose field contains the term, ignoring case, ordered by name
+     */
+    public List<Employee> search(Field field, String term) {
+        if (term == null || term.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        String query = normalize(term);
+        List<Employee> results = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Map<String, Set<Integer>> fieldPostings = postings.get(field);
+            if (query.length() <= GRAM_LENGTH) {
+                for (Integer empId : fieldPostings.getOrDefault(query, Collections.emptySet())) {
+                    results.add(employees.get(empId));
+                }
+            } else {
+                Set<Integer> candidates = rarestTrigram(fieldPostings, query);
+                Map<Integer, String> fieldValues = values.get(field);
+                for (Integer empId : candidates) {
+                    if (fieldValues.get(empId).contains(query)) {
+                        results.add(employees.get(empId));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        results.sort(NAME_ORDER);
+        return results;
+    }
+
+    /**
+     * Indexed employees for the given IDs, ordered by name
+     */
+    public List<Employee> getEmployees(int[] empIds) {
+        List<Employee> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int empId : empIds) {
+                Employee employee = employees.get(empId);
+                if (employee != null) {
+                    results.add(employee);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        results.sort(NAME_ORDER);
+        return results;
+    }
+
+    /**
+     * Indexed employees matching the filter, ordered by name
+     */
+    public List<Employee> findAll(Predicate<Employee> filter) {
+        List<Employee> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Employee employee : employees.values()) {
+                if (filter.test(employee)) {
+                    results.add(employee);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        results.sort(NAME_ORDER);
+        return results;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return employees.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Integer> rarestTrigram(Map<String, Set<Integer>> fieldPostings, String query) {
+        Set<Integer> smallest = null;
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            Set<Integer> posting = fieldPostings.get(query.substring(i, i + GRAM_LENGTH));
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    private void add(Employee employee, String employeeCode) {
+        int empId = employee.getEmpId();
+        employees.put(empId, employee);
+        if (employeeCode != null) {
+            employeeCodes.put(empId, employeeCode);
+        }
+
+        for (Field field : Field.values()) {
+            String value = valueOf(employee, employeeCode, field);
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            values.get(field).put(empId, value);
+            Map<String, Set<Integer>> fieldPostings = postings.get(field);
+            for (String gram : grams(value)) {
+                fieldPostings.computeIfAbsent(gram, g -> new HashSet<>()).add(empId);
+            }
+        }
+    }
+
+    private void removeEntry(int empId) {
+        if (employees.remove(empId) == null) {
+            return;
+        }
+        employeeCodes.remove(empId);
+
+        for (Field field : Field.values()) {
+            String value = values.get(field).remove(empId);
+            if (value == null) {
+                continue;
+            }
+            Map<String, Set<Integer>> fieldPostings = postings.get(field);
+            for (String gram : grams(value)) {
+                Set<Integer> posting = fieldPostings.get(gram);
+                if (posting != null) {
+                    posting.remove(empId);
+                    if (posting.isEmpty()) {
+                        fieldPostings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String valueOf(Employee employee, String employeeCode, Field field) {
+        switch (field) {
+            case NAME:
+                return normalize(employee.getFullName());
+            case EMPLOYEE_ID:
+                return employeeCode != null ? normalize(employeeCode) : null;
+            case DEPARTMENT:
+                return employee.getDepartmentName() != null ? normalize(employee.getDepartmentName()) : null;
+            case DESIGNATION:
+                return employee.getDesignationName() != null ? normalize(employee.getDesignationName()) : null;
+            default:
+                return null;
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start < value.length(); start++) {
+            for (int len = 1; len <= GRAM_LENGTH && start + len <= value.length(); len++) {
+                grams.add(value.substring(start, start + len));
+            }
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -8,20 +8,34 @@ import com.revwf.model.Employee;
 import com.revwf.model.Holiday;
 import com.revwf.model.User;
 import com.revwf.model.UserRole;
+import com.revwf.util.PasswordUtil;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class EmployeeService {
     private static final Logger logger = LogManager.getLogger(EmployeeService.class);
+    private static final Set<String> MANAGER_DESIGNATIONS = new HashSet<>(Arrays.asList(
+            "Manager", "Team Lead", "Senior Software Engineer", "Finance Manager", "Marketing Manager", "Admin"));
     private final EmployeeDAO employeeDAO;
     private final UserDAO userDAO;
+    private final EmployeeSearchIndex searchIndex;
+    private final OrgChart orgChart;
     
     public EmployeeService() {
         this.employeeDAO = new EmployeeDAO();
         this.userDAO = new UserDAO();
+        this.searchIndex = EmployeeSearchIndex.getInstance();
+        this.orgChart = OrgChart.getInstance();
     }
     
     /**
@@ -36,6 +50,42 @@ public class EmployeeService {
         }
     }
     
+    /**
+     * Get a page of employees after the given emp_id (0 for the first page)
+     */
+    public List<Employee> getEmployeesPage(int afterEmpId, int pageSize) {
+        try {
+            return employeeDAO.getEmployeesPage(afterEmpId, pageSize);
+        } catch (Exception e) {
+            logger.error("Error in getEmployeesPage: " + e.getMessage());
+            throw new RuntimeException("Failed to retrieve employees", e);
+        }
+    }
+    
+    /**
+     * Visit every employee in emp_id order without loading them all into memory
+     */
+    public int forEachEmployee(Consumer<Employee> consumer) {
+        try {
+            return employeeDAO.streamAllEmployees(consumer);
+        } catch (Exception e) {
+            logger.error("Error in forEachEmployee: " + e.getMessage());
+            throw new RuntimeException("Failed to retrieve employees", e);
+        }
+    }
+    
+    /**
+     * IDs of active employees, optionally limited to one department
+     */
+    public int[] getActiveEmployeeIds(Integer deptId) {
+        try {
+            return employeeDAO.getActiveEmployeeIds(deptId);
+        } catch (Exception e) {
+            logger.error("Error in getActiveEmployeeIds: " + e.getMessage());
+            throw new RuntimeException("Failed to retrieve employees", e);
+        }
+    }
+    
     /**
      * Get employee by ID
      */
@@ -67,7 +117,7 @@ public class EmployeeService {
                                         UserRole role, Employee employee) {
         try {
             // First create user account
-            User user = new User(employeeId, email, password, role);
+            User user = new User(employeeId, email, PasswordUtil.hashPassword(password), role);
             boolean userCreated = userDAO.createUser(user);
             
             if (!userCreated) {
@@ -90,6 +140,17 @@ public class EmployeeService {
             
             if (employeeCreated) {
                 logger.info("Employee created successfully: " + employeeId);
+                if (searchIndex.isLoaded() || orgChart.isLoaded()) {
+                    Employee created = employeeDAO.getEmployeeByEmployeeId(employeeId);
+                    if (created != null) {
+                        if (searchIndex.isLoaded()) {
+                            searchIndex.put(created, employeeId);
+                        }
+                        if (orgChart.isLoaded()) {
+                            orgChart.setManager(created.getEmpId(), created.getManagerId());
+                        }
+                    }
+                }
                 return true;
             } else {
                 // If employee creation fails, we should ideally rollback user creation
@@ -109,7 +170,14 @@ public class EmployeeService {
      */
     public boolean updateEmployee(Employee employee) {
         try {
-            return employeeDAO.updateEmployee(employee);
+            if (employee.getManagerId() != null
+                    && wouldCreateCircularHierarchy(employee.getEmpId(), employee.getManagerId())) {
+                logger.error("Manager assignment would create circular hierarchy");
+                return false;
+            }
+            boolean updated = employeeDAO.updateEmployee(employee);
+            refreshEmployeeCaches(employee.getEmpId());
+            return updated;
         } catch (Exception e) {
             logger.error("Error in updateEmployee: " + e.getMessage());
             return false;
@@ -121,7 +189,7 @@ public class EmployeeService {
      */
     public List<Employee> getTeamMembers(int managerId) {
         try {
-            return employeeDAO.getEmployeesByManagerId(managerId);
+            return loadedSearchIndex().getEmployees(loadedOrgChart().getDirectReports(managerId));
         } catch (Exception e) {
             logger.error("Error in getTeamMembers: " + e.getMessage());
             throw new RuntimeException("Failed to retrieve team members", e);
@@ -129,35 +197,10 @@ public class EmployeeService {
     }
     
     /**
-     * Assign manager to employee
+     * Assign manager to employee; same checks and cache refresh as updateEmployeeManager
      */
     public boolean assignManager(int empId, int managerId) {
-        try {
-            Employee employee = employeeDAO.getEmployeeById(empId);
-            if (employee == null) {
-                logger.error("Employee not found: " + empId);
-                return false;
-            }
-            
-            // Verify manager exists
-            Employee manager = employeeDAO.getEmployeeById(managerId);
-            if (manager == null) {
-                logger.error("Manager not found: " + managerId);
-                return false;
-            }
-            
-            employee.setManagerId(managerId);
-            boolean updated = employeeDAO.updateEmployee(employee);
-            
-            if (updated) {
-                logger.info("Manager assigned successfully. Employee: {}, Manager: {}", empId, managerId);
-            }
-            
-            return updated;
-        } catch (Exception e) {
-            logger.error("Error in assignManager: " + e.getMessage());
-            return false;
-        }
+        return updateEmployeeManager(empId, managerId);
     }
     
     /**
@@ -165,7 +208,7 @@ public class EmployeeService {
      */
     public List<Employee> searchEmployeesByName(String searchTerm) {
         try {
-            return employeeDAO.searchEmployeesByName(searchTerm);
+            return loadedSearchIndex().search(EmployeeSearchIndex.Field.NAME, searchTerm);
         } catch (Exception e) {
             logger.error("Error in searchEmployeesByName: " + e.getMessage());
             throw new RuntimeException("Failed to search employees by name", e);
@@ -177,7 +220,7 @@ public class EmployeeService {
      */
     public List<Employee> searchEmployeesByEmployeeId(String employeeId) {
         try {
-            return employeeDAO.searchEmployeesByEmployeeId(employeeId);
+            return loadedSearchIndex().search(EmployeeSearchIndex.Field.EMPLOYEE_ID, employeeId);
         } catch (Exception e) {
             logger.error("Error in searchEmployeesByEmployeeId: " + e.getMessage());
             throw new RuntimeException("Failed to search employees by employee ID", e);
@@ -189,7 +232,7 @@ public class EmployeeService {
      */
     public List<Employee> searchEmployeesByDepartment(String department) {
         try {
-            return employeeDAO.searchEmployeesByDepartment(department);
+            return loadedSearchIndex().search(EmployeeSearchIndex.Field.DEPARTMENT, department);
         } catch (Exception e) {
             logger.error("Error in searchEmployeesByDepartment: " + e.getMessage());
             throw new RuntimeException("Failed to search employees by department", e);
@@ -201,7 +244,7 @@ public class EmployeeService {
      */
     public List<Employee> searchEmployeesByDesignation(String designation) {
         try {
-            return employeeDAO.searchEmployeesByDesignation(designation);
+            return loadedSearchIndex().search(EmployeeSearchIndex.Field.DESIGNATION, designation);
         } catch (Exception e) {
             logger.error("Error in searchEmployeesByDesignation: " + e.getMessage());
             throw new RuntimeException("Failed to search employees by designation", e);
@@ -213,7 +256,8 @@ public class EmployeeService {
      */
     public List<Employee> getPotentialManagers() {
         try {
-            return employeeDAO.getPotentialManagers();
+            return loadedSearchIndex().findAll(employee -> employee.isActive()
+                    && MANAGER_DESIGNATIONS.contains(employee.getDesignationName()));
         } catch (Exception e) {
             logger.error("Error in getPotentialManagers: " + e.getMessage());
             throw new RuntimeException("Failed to retrieve potential managers", e);
@@ -256,6 +300,10 @@ public class EmployeeService {
             boolean success = employeeDAO.updateEmployeeManager(empId, newManagerId);
             if (success) {
                 logger.info("Manager updated for employee ID: {} to manager ID: {}", empId, newManagerId);
+                refreshEmployeeCaches(empId);
+            } else if (newManagerId != null) {
+                // The database saw a cycle the chart missed, so the chart is stale
+                reloadOrgChart();
             }
             return success;
         } catch (Exception e) {
@@ -265,24 +313,145 @@ public class EmployeeService {
     }
 
     /**
-     * Check if assigning a manager would create a circular hierarchy
+     * Check if assigning a manager would create a circular hierarchy. This is
+     * the fast check against the in-memory chart; the update itself re-checks
+     * in SQL, since the chart cannot see changes made by other processes.
      */
     private boolean wouldCreateCircularHierarchy(int empId, int newManagerId) {
         try {
-            Employee currentManager = employeeDAO.getEmployeeById(newManagerId);
-            while (currentManager != null && currentManager.getManagerId() != null) {
-                if (currentManager.getManagerId() == empId) {
-                    return true; // Circular hierarchy detected
-                }
-                currentManager = employeeDAO.getEmployeeById(currentManager.getManagerId());
-            }
-            return false;
+            return loadedOrgChart().wouldCreateCycle(empId, newManagerId);
         } catch (Exception e) {
             logger.error("Error checking circular hierarchy: " + e.getMessage());
             return true; // Err on the side of caution
         }
     }
     
+    /**
+     * Search index, built from the database on first use. A failed load throws
+     * and leaves the index unloaded, so the next call tries again.
+     */
+    private EmployeeSearchIndex loadedSearchIndex() throws SQLException {
+        if (!searchIndex.isLoaded()) {
+            synchronized (searchIndex) {
+                if (!searchIndex.isLoaded()) {
+                    Map<Integer, String> codes = employeeDAO.getAllEmployeeCodes();
+                    searchIndex.rebuild(employeeDAO.loadAllEmployees(), codes);
+                }
+            }
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Org chart, built from the database on first use
+     */
+    private OrgChart loadedOrgChart() throws SQLException {
+        if (!orgChart.isLoaded()) {
+            synchronized (orgChart) {
+                if (!orgChart.isLoaded()) {
+                    int[][] lines = employeeDAO.getReportingLines();
+                    orgChart.rebuild(lines[0], lines[1]);
+                }
+            }
+        }
+        return orgChart;
+    }
+
+    /**
+     * Rebuild a loaded org chart from the database
+     */
+    private void reloadOrgChart() {
+        if (!orgChart.isLoaded()) {
+            return;
+        }
+        try {
+            synchronized (orgChart) {
+                int[][] lines = employeeDAO.getReportingLines();
+                orgChart.rebuild(lines[0], lines[1]);
+            }
+        } catch (SQLException e) {
+            logger.error("Error reloading org chart: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Re-read one employee so the search index and org chart reflect its stored values
+     */
+    private void refreshEmployeeCaches(int empId) {
+        if (!searchIndex.isLoaded() && !orgChart.isLoaded()) {
+            return;
+        }
+        Employee employee = employeeDAO.getEmployeeById(empId);
+        if (employee == null) {
+            searchIndex.remove(empId);
+            orgChart.remove(empId);
+            return;
+        }
+        if (searchIndex.isLoaded()) {
+            searchIndex.put(employee);
+        }
+        if (orgChart.isLoaded()) {
+            orgChart.setManager(empId, employee.getManagerId());
+        }
+    }
+
+    /**
+     * Managers above the employee, nearest first
+     */
+    public List<Employee> getReportingChain(int empId) {
+        try {
+            int[] chain = loadedOrgChart().getAncestors(empId);
+            EmployeeSearchIndex index = loadedSearchIndex();
+            List<Employee> managers = new ArrayList<>();
+            for (int managerId : chain) {
+                List<Employee> found = index.getEmployees(new int[] { managerId });
+                if (!found.isEmpty()) {
+                    managers.add(found.get(0));
+                }
+            }
+            return managers;
+        } catch (Exception e) {
+            logger.error("Error in getReportingChain: " + e.getMessage());
+            throw new RuntimeException("Failed to retrieve reporting chain", e);
+        }
+    }
+
+    /**
+     * IDs of everyone below the manager in the org chart
+     */
+    public int[] getSubordinateIds(int managerId) {
+        try {
+            return loadedOrgChart().getDescendants(managerId);
+        } catch (Exception e) {
+            logger.error("Error in getSubordinateIds: " + e.getMessage());
+            throw new RuntimeException("Failed to retrieve subordinates", e);
+        }
+    }
+
+    /**
+     * Number of direct reports
+     */
+    public int getSpanOfControl(int empId) {
+        try {
+            return loadedOrgChart().getSpanOfControl(empId);
+        } catch (Exception e) {
+            logger.error("Error in getSpanOfControl: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Number of direct and indirect reports
+     */
+    public int getOrganizationSize(int empId) {
+        try {
+            return loadedOrgChart().getSubtreeSize(empId);
+        } catch (Exception e) {
+            logger.error("Error in getOrganizationSize: " + e.getMessage());
+            return 0;
+        }
+    }
+    
     /**
      * Validate employee data
      */
@@ -360,7 +529,9 @@ public class EmployeeService {
             
             boolean success = userDAO.deactivateUser(employee.getUserId());
             if (success) {
+                SessionRegistry.getInstance().invalidateUser(employee.getUserId());
                 logger.info("Employee deactivated successfully: " + empId);
+                refreshEmployeeCaches(empId);
             }
             return success;
         } catch (Exception e) {
@@ -383,6 +554,7 @@ public class EmployeeService {
             boolean success = userDAO.reactivateUser(employee.getUserId());
             if (success) {
                 logger.info("Employee reactivated successfully: " + empId);
+                refreshEmployeeCaches(empId);
             }
             return success;
         } catch (Exception e) {
@@ -0,0 +1,109 @@
+package com.revwf.service;
+
+import com.revwf.dao.LeaveReportDAO;
+import com.revwf.model.LeaveApplication;
+import com.revwf.model.LeaveUsageSummary;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class LeaveReportService {
+    private static final Logger logger = LogManager.getLogger(LeaveReportService.class);
+    private final LeaveReportDAO leaveReportDAO;
+
+    public LeaveReportService() {
+        this.leaveReportDAO = new LeaveReportDAO();
+    }
+
+    /**
+     * Current-year leave totals per employee
+     */
+    public List<LeaveUsageSummary> getEmployeeLeaveSummary() {
+        try {
+            return leaveReportDAO.getLeaveSummaryByEmployee(LocalDate.now().getYear());
+        } catch (Exception e) {
+            logger.error("Error getting employee leave summary: {}", e.getMessage());
+            throw new RuntimeException("Failed to retrieve employee leave summary", e);
+        }
+    }
+
+    /**
+     * Current-year leave totals per department
+     */
+    public List<LeaveUsageSummary> getDepartmentLeaveSummary() {
+        try {
+            return leaveReportDAO.getLeaveSummaryByDepartment(LocalDate.now().getYear());
+        } catch (Exception e) {
+            logger.error("Error getting department leave summary: {}", e.getMessage());
+            throw new RuntimeException("Failed to retrieve department leave summary", e);
+        }
+    }
+
+    /**
+     * Current-year leave totals per leave type
+     */
+    public List<LeaveUsageSummary> getLeaveTypeSummary() {
+        try {
+            return leaveReportDAO.getLeaveSummaryByLeaveType(LocalDate.now().getYear());
+        } catch (Exception e) {
+            logger.error("Error getting leave type summary: {}", e.getMessage());
+            throw new RuntimeException("Failed to retrieve leave type summary", e);
+        }
+    }
+
+    /**
+     * Per-month counts by start date plus overall status totals, in one pass
+     */
+    public static MonthlyLeaveTrends summarizeMonthlyTrends(List<LeaveApplication> applications) {
+        MonthlyLeaveTrends trends = new MonthlyLeaveTrends();
+        for (LeaveApplication app : applications) {
+            LeaveApplication.LeaveStatus status = app.getStatus();
+            if (status == LeaveApplication.LeaveStatus.APPROVED) {
+                trends.approvedCount++;
+            } else if (status == LeaveApplication.LeaveStatus.REJECTED) {
+                trends.rejectedCount++;
+            } else if (status == LeaveApplication.LeaveStatus.PENDING) {
+                trends.pendingCount++;
+            }
+            if (app.getStartDate() == null) {
+                continue;
+            }
+            int month = app.getStartDate().toLocalDate().getMonthValue() - 1;
+            trends.monthlyCount[month]++;
+            switch (status) {
+                case APPROVED:
+                    trends.monthlyApproved[month]++;
+                    break;
+                case PENDING:
+                    trends.monthlyPending[month]++;
+                    break;
+                case REJECTED:
+                case CANCELLED:
+                    // Cancelled counts as rejected for trend analysis
+                    trends.monthlyRejected[month]++;
+                    break;
+                default:
+                    break;
+            }
+        }
+        trends.totalApplications = applications.size();
+        return trends;
+    }
+
+    /**
+     * Month-indexed (0 = January) leave counts for the trends report
+     */
+    public static class MonthlyLeaveTrends {
+        public final int[] monthlyCount = new int[12];
+        public final int[] monthlyApproved = new int[12];
+        public final int[] monthlyRejected = new int[12];
+        public final int[] monthlyPending = new int[12];
+        public int totalApplications;
+        public int approvedCount;
+        public int rejectedCount;
+        public int pendingCount;
+    }
+}
@@ -1,11 +1,14 @@
 package com.revwf.service;
 
 import com.revwf.dao.EmployeeDAO;
+import com.revwf.dao.LeaveApprovalPipeline;
 import com.revwf.dao.LeaveDAO;
+import com.revwf.dao.LeaveQuotaEngine;
 import com.revwf.model.Employee;
 import com.revwf.model.LeaveApplication;
 import com.revwf.model.LeaveBalance;
 import com.revwf.model.LeaveType;
+import com.revwf.model.Notification;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,16 +16,20 @@ import org.apache.logging.log4j.Logger;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class LeaveService {
     private static final Logger logger = LogManager.getLogger(LeaveService.class);
     private final LeaveDAO leaveDAO;
     private final EmployeeDAO employeeDAO;
+    private final NotificationService notificationService;
 
     public LeaveService() {
         this.leaveDAO = new LeaveDAO();
         this.employeeDAO = new EmployeeDAO();
+        this.notificationService = new NotificationService();
     }
 
     /**
@@ -133,14 +140,11 @@ public class LeaveService {
      */
     public boolean approveLeaveApplication(int applicationId, String managerComments, int approvedBy) {
         try {
-            boolean updated = leaveDAO.updateLeaveApplicationStatus(applicationId,
-                    LeaveApplication.LeaveStatus.APPROVED, managerComments, approvedBy);
+            boolean updated = decideLeaveApplications(Collections.singletonList(applicationId),
+                    LeaveApplication.LeaveStatus.APPROVED, managerComments, approvedBy).applied.size() == 1;
 
             if (updated) {
                 logger.info("Leave application approved: {} by manager: {}", applicationId, approvedBy);
-
-                // Future enhancement: Send notification to employee
-                // This can be implemented when NotificationService is added
             }
 
             return updated;
@@ -155,14 +159,11 @@ public class LeaveService {
      */
     public boolean rejectLeaveApplication(int applicationId, String managerComments, int rejectedBy) {
         try {
-            boolean updated = leaveDAO.updateLeaveApplicationStatus(applicationId,
-                    LeaveApplication.LeaveStatus.REJECTED, managerComments, rejectedBy);
+            boolean updated = decideLeaveApplications(Collections.singletonList(applicationId),
+                    LeaveApplication.LeaveStatus.REJECTED, managerComments, rejectedBy).applied.size() == 1;
 
             if (updated) {
                 logger.info("Leave application rejected: {} by manager: {}", applicationId, rejectedBy);
-
-                // Future enhancement: Send notification to employee
-                // This can be implemented when NotificationService is added
             }
 
             return updated;
@@ -172,6 +173,28 @@ public class LeaveService {
         }
     }
 
+    /**
+     * Approve or reject a set of pending applications in one transaction and notify each employee
+     */
+    public LeaveApprovalPipeline.BatchResult decideLeaveApplications(List<Integer> applicationIds,
+            LeaveApplication.LeaveStatus decision, String managerComments, int decidedBy) {
+        if (decision != LeaveApplication.LeaveStatus.APPROVED && decision != LeaveApplication.LeaveStatus.REJECTED) {
+            throw new IllegalArgumentException("Decision must be APPROVED or REJECTED");
+        }
+        List<Notification> notifications = new ArrayList<>();
+        LeaveApprovalPipeline.BatchResult result = leaveDAO.decideLeaveApplications(applicationIds, decision,
+                managerComments, decidedBy, application -> {
+                    Notification notification = notificationService.buildLeaveDecisionNotification(application);
+                    if (notification != null) {
+                        notifications.add(notification);
+                    }
+                    return notification;
+                });
+        // Only reached after the decisions and their notifications have committed
+        notificationService.recordDelivered(notifications);
+        return result;
+    }
+
     /**
      * Cancel pending leave application
      */
@@ -356,9 +379,16 @@ public class LeaveService {
      * Assign leave quotas to all employees
      */
     public boolean assignLeaveQuotasToAllEmployees() {
+        return assignLeaveQuotasToAllEmployees(null);
+    }
+    
+    /**
+     * Assign leave quotas to all employees, reporting progress per batch
+     */
+    public boolean assignLeaveQuotasToAllEmployees(LeaveQuotaEngine.ProgressListener listener) {
         try {
             int currentYear = LocalDate.now().getYear();
-            return leaveDAO.assignLeaveQuotasToAllEmployees(currentYear);
+            return leaveDAO.assignLeaveQuotasToAllEmployees(currentYear, listener);
         } catch (Exception e) {
             logger.error("Error assigning leave quotas to all employees: {}", e.getMessage());
             return false;
@@ -382,9 +412,16 @@ public class LeaveService {
      * Assign leave quotas by department
      */
     public boolean assignLeaveQuotasByDepartment(int deptId) {
+        return assignLeaveQuotasByDepartment(deptId, null);
+    }
+    
+    /**
+     * Assign leave quotas by department, reporting progress per batch
+     */
+    public boolean assignLeaveQuotasByDepartment(int deptId, LeaveQuotaEngine.ProgressListener listener) {
         try {
             int currentYear = LocalDate.now().getYear();
-            return leaveDAO.assignLeaveQuotasByDepartment(deptId, currentYear);
+            return leaveDAO.assignLeaveQuotasByDepartment(deptId, currentYear, listener);
         } catch (Exception e) {
             logger.error("Error assigning leave quotas by department {}: {}", deptId, e.getMessage());
             return false;
@@ -392,12 +429,14 @@ public class LeaveService {
     }
     
     /**
-     * Update leave balance manually
+     * Update leave balance manually; expectedRowVersion comes from the LeaveBalance being edited
      */
-    public boolean updateLeaveBalance(int empId, int leaveTypeId, int allocatedDays, int usedDays) {
+    public boolean updateLeaveBalance(int empId, int leaveTypeId, int allocatedDays, int usedDays,
+                                      long expectedRowVersion) {
         try {
             int currentYear = LocalDate.now().getYear();
-            return leaveDAO.updateLeaveBalance(empId, leaveTypeId, currentYear, allocatedDays, usedDays);
+            return leaveDAO.updateLeaveBalance(empId, leaveTypeId, currentYear, allocatedDays, usedDays,
+                    expectedRowVersion);
         } catch (Exception e) {
             logger.error("Error updating leave balance: {}", e.getMessage());
             return false;
@@ -0,0 +1,326 @@
+package com.revwf.service;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.dao.LoginLockoutDAO;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Failed-login counters keyed by employee ID. Failures are kept in a sliding
+ * window; reaching the limit inside the window locks the ID for a fixed
+ * period, and a locked ID is turned away before any query or hashing.
+ * Attempts still being verified count against the limit too, so concurrent
+ * guesses cannot all slip past the check before the first failure lands. The
+ * map is split into lock stripes so logins for different IDs rarely contend.
+ */
+public class LoginThrottle {
+    private static final Logger logger = LogManager.getLogger(LoginThrottle.class);
+    private static final int STRIPES = 32;
+    private static final int PRUNE_THRESHOLD = 1024;
+    private static LoginThrottle instance;
+
+    /**
+     * Where lockouts survive a restart; optional
+     */
+    public interface LockoutStore {
+        void saveLockout(String employeeId, long lockedUntilMillis) throws SQLException;
+
+        void clearLockout(String employeeId) throws SQLException;
+
+        Map<String, Long> loadActiveLockouts() throws SQLException;
+    }
+
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final long lockoutMillis;
+    private final LockoutStore store;
+    private final LongSupplier clock;
+    private final Object[] locks = new Object[STRIPES];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Map<String, Attempts>[] stripes = new Map[STRIPES];
+
+    LoginThrottle(int maxAttempts, long windowMillis, long lockoutMillis, LockoutStore store, LongSupplier clock) {
+        this.maxAttempts = maxAttempts;
+        this.windowMillis = windowMillis;
+        this.lockoutMillis = lockoutMillis;
+        this.store = store;
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+            stripes[i] = new HashMap<>();
+        }
+    }
+
+    public static LoginThrottle getInstance() {
+        if (instance == null) {
+            synchronized (LoginThrottle.class) {
+                if (instance == null) {
+                    DatabaseConfig config = DatabaseConfig.getInstance();
+                    boolean persist = Boolean.parseBoolean(config.getProperty("login.lockout.persist"));
+                    LoginThrottle throttle = new LoginThrottle(
+                            config.getIntProperty("password.max.attempts", 3),
+                            config.getIntProperty("login.attempt.window.seconds", 900) * 1000L,
+                            config.getIntProperty("login.lockout.seconds", 900) * 1000L,
+                            persist ? new LoginLockoutStore() : null,
+                            System::currentTimeMillis);
+                    throttle.restoreLockouts();
+                    instance = throttle;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Milliseconds until the ID may try again, or 0 when it is not locked
+     */
+    public long getLockoutRemainingMillis(String employeeId) {
+        String key = normalize(employeeId);
+        long now = clock.getAsLong();
+        synchronized (lockFor(key)) {
+            Attempts attempts = stripeFor(key).get(key);
+            return attempts != null ? Math.max(0, attempts.lockedUntil - now) : 0;
+        }
+    }
+
+    /**
+     * Claim a slot for a login attempt that is about to verify a password.
+     * Returns false when the ID is locked, or when attempts in flight plus
+     * recent failures already reach the limit. A claimed slot is released by
+     * recordSuccess, recordFailure or abandonAttempt.
+     */
+    public boolean tryBeginAttempt(String employeeId) {
+        String key = normalize(employeeId);
+        long now = clock.getAsLong();
+        synchronized (lockFor(key)) {
+            Map<String, Attempts> stripe = stripeFor(key);
+            if (stripe.size() >= PRUNE_THRESHOLD) {
+                prune(stripe, now);
+            }
+            Attempts attempts = stripe.computeIfAbsent(key, k -> new Attempts(maxAttempts));
+            if (attempts.lockedUntil > now
+                    || attempts.inFlight + attempts.failuresSince(now - windowMillis) >= maxAttempts) {
+                return false;
+            }
+            attempts.inFlight++;
+            return true;
+        }
+    }
+
+    /**
+     * Release a claimed slot without counting it either way, for attempts that
+     * failed for reasons other than the password
+     */
+    public void abandonAttempt(String employeeId) {
+        String key = normalize(employeeId);
+        synchronized (lockFor(key)) {
+            Attempts attempts = stripeFor(key).get(key);
+            if (attempts != null) {
+                attempts.release();
+            }
+        }
+    }
+
+    /**
+     * Count a failed login. Returns true when this failure locked the ID.
+     */
+    public boolean recordFailure(String employeeId) {
+        String key = normalize(employeeId);
+        long now = clock.getAsLong();
+        long lockedUntil = 0;
+        synchronized (lockFor(key)) {
+            Map<String, Attempts> stripe = stripeFor(key);
+            if (stripe.size() >= PRUNE_THRESHOLD) {
+                prune(stripe, now);
+            }
+            Attempts attempts = stripe.computeIfAbsent(key, k -> new Attempts(maxAttempts));
+            attempts.release();
+            attempts.add(now, windowMillis);
+            if (attempts.count >= maxAttempts && attempts.lockedUntil <= now) {
+                attempts.lockedUntil = now + lockoutMillis;
+                attempts.clearFailures();
+                lockedUntil = attempts.lockedUntil;
+            }
+        }
+
+        if (lockedUntil > 0) {
+            logger.warn("Login locked for {} after {} failed attempts", key, maxAttempts);
+            if (store != null) {
+                try {
+                    store.saveLockout(key, lockedUntil);
+                } catch (SQLException e) {
+                    logger.error("Could not persist lockout for {}: {}", key, e.getMessage());
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Forget the failures of an ID after a successful login
+     */
+    public void recordSuccess(String employeeId) {
+        String key = normalize(employeeId);
+        synchronized (lockFor(key)) {
+            Attempts attempts = stripeFor(key).get(key);
+            if (attempts == null) {
+                return;
+            }
+            attempts.release();
+            if (attempts.inFlight > 0) {
+                attempts.clearFailures();
+            } else {
+                stripeFor(key).remove(key);
+            }
+        }
+    }
+
+    /**
+     * Lift a lockout early, for example after an admin has verified the user
+     */
+    public void unlock(String employeeId) {
+        String key = normalize(employeeId);
+        synchronized (lockFor(key)) {
+            stripeFor(key).remove(key);
+        }
+        if (store != null) {
+            try {
+                store.clearLockout(key);
+            } catch (SQLException e) {
+                logger.error("Could not clear stored lockout for {}: {}", employeeId, e.getMessage());
+            }
+        }
+    }
+
+    void restoreLockouts() {
+        if (store == null) {
+            return;
+        }
+        try {
+            long now = clock.getAsLong();
+            for (Map.Entry<String, Long> entry : store.loadActiveLockouts().entrySet()) {
+                if (entry.getValue() > now) {
+                    synchronized (lockFor(entry.getKey())) {
+                        stripeFor(entry.getKey()).computeIfAbsent(entry.getKey(),
+                                k -> new Attempts(maxAttempts)).lockedUntil = entry.getValue();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Could not load stored lockouts: {}", e.getMessage());
+        }
+    }
+
+    private void prune(Map<String, Attempts> stripe, long now) {
+        Iterator<Attempts> it = stripe.values().iterator();
+        while (it.hasNext()) {
+            Attempts attempts = it.next();
+            if (attempts.lockedUntil <= now && attempts.inFlight == 0
+                    && !attempts.hasFailuresSince(now - windowMillis)) {
+                it.remove();
+            }
+        }
+    }
+
+    private String normalize(String employeeId) {
+        return employeeId == null ? "" : employeeId.trim();
+    }
+
+    private Object lockFor(String key) {
+        return locks[stripeIndex(key)];
+    }
+
+    private Map<String, Attempts> stripeFor(String key) {
+        return stripes[stripeIndex(key)];
+    }
+
+    private int stripeIndex(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * Times of the most recent failures in a ring buffer sized to the limit
+     */
+    private static class Attempts {
+        final long[] failures;
+        int next;
+        int size;
+        int count;
+        int inFlight;
+        long lockedUntil;
+
+        Attempts(int capacity) {
+            this.failures = new long[Math.max(1, capacity)];
+        }
+
+        void add(long now, long windowMillis) {
+            failures[next] = now;
+            next = (next + 1) % failures.length;
+            size = Math.min(size + 1, failures.length);
+            // Count only failures still inside the window
+            count = 0;
+            for (int i = 0; i < size; i++) {
+                if (failures[i] > now - windowMillis) {
+                    count++;
+                }
+            }
+        }
+
+        int failuresSince(long since) {
+            int recent = 0;
+            for (int i = 0; i < size; i++) {
+                if (failures[i] > since) {
+                    recent++;
+                }
+            }
+            return recent;
+        }
+
+        void release() {
+            if (inFlight > 0) {
+                inFlight--;
+            }
+        }
+
+        boolean hasFailuresSince(long since) {
+            return size > 0 && failures[(next + failures.length - 1) % failures.length] > since;
+        }
+
+        void clearFailures() {
+            next = 0;
+            size = 0;
+            count = 0;
+        }
+    }
+
+    /**
+     * Adapts the DAO to the store interface
+     */
+    private static class LoginLockoutStore implements LockoutStore {
+        private final LoginLockoutDAO lockoutDAO = new LoginLockoutDAO();
+
+        @Override
+        public void saveLockout(String employeeId, long lockedUntilMillis) throws SQLException {
+            lockoutDAO.saveLockout(employeeId, lockedUntilMillis);
+        }
+
+        @Override
+        public void clearLockout(String employeeId) throws SQLException {
+            lockoutDAO.clearLockout(employeeId);
+        }
+
+        @Override
+        public Map<String, Long> loadActiveLockouts() throws SQLException {
+            return lockoutDAO.loadActiveLockouts();
+        }
+    }
+}
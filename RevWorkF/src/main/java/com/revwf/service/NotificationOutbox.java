@@ -0,0 +1,282 @@
+package com.revwf.service;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.dao.NotificationDAO;
+import com.revwf.model.Notification;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind queue for notifications. Callers enqueue and return at once;
+ * a background thread drains the queue and inserts what it finds as one
+ * batch. When the queue stays full for longer than the offer timeout the
+ * caller writes its notification directly, so nothing is dropped and the
+ * fallback count shows the writer is falling behind. A failing batch is
+ * retried with a growing pause; if it still fails, its rows are written one
+ * by one so a single bad row does not take the rest of the batch with it.
+ */
+public class NotificationOutbox {
+    private static final Logger logger = LogManager.getLogger(NotificationOutbox.class);
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static NotificationOutbox instance;
+
+    /**
+     * Persists one batch of notifications
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<Notification> batch) throws SQLException;
+    }
+
+    private final BatchWriter writer;
+    private final BlockingQueue<Notification> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong syncFallbacks = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+
+    NotificationOutbox(BatchWriter writer, int capacity, int batchSize,
+                       long flushIntervalMillis, long offerTimeoutMillis) {
+        this.writer = writer;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.writerThread = new Thread(this::drainLoop, "revwf-notification-outbox");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    public static NotificationOutbox getInstance() {
+        if (instance == null) {
+            synchronized (NotificationOutbox.class) {
+                if (instance == null) {
+                    DatabaseConfig config = DatabaseConfig.getInstance();
+                    NotificationDAO notificationDAO = new NotificationDAO();
+                    UnreadNotificationCounters unreadCounters = UnreadNotificationCounters.getInstance();
+                    instance = new NotificationOutbox(batch -> {
+                                notificationDAO.createNotifications(batch);
+                                unreadCounters.recordCreated(batch);
+                            },
+                            config.getIntProperty("notification.outbox.capacity", 1000),
+                            config.getIntProperty("notification.outbox.batch.size", 100),
+                            config.getIntProperty("notification.outbox.flush.interval.ms", 200),
+                            config.getIntProperty("notification.outbox.offer.timeout.ms", 50));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Flush and stop the shared outbox if it was ever started
+     */
+    public static void shutdownIfStarted() {
+        NotificationOutbox outbox = instance;
+        if (outbox != null) {
+            outbox.shutdown();
+        }
+    }
+
+    /**
+     * Queue a notification for the background writer. After shutdown, or when
+     * the queue is full, it is written on the calling thread instead. Returns
+     * false only if such a direct write failed.
+     */
+    public boolean enqueue(Notification notification) {
+        try {
+            if (running && queue.offer(notification, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                // shutdown() may have run its final flush between the check and the
+                // offer; if the item is still queued, take it back and write it here
+                if (running || !queue.remove(notification)) {
+                    enqueued.incrementAndGet();
+                    maxDepth.accumulateAndGet(queue.size(), Math::max);
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        syncFallbacks.incrementAndGet();
+        List<Notification> single = new ArrayList<>(1);
+        single.add(notification);
+        return writeBatch(single);
+    }
+
+    /**
+     * Write everything queued so far on the calling thread
+     */
+    public void flush() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stop the writer thread and write whatever is still queued
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            // Not interrupted: an interrupt in the middle of a JDBC write can break the connection
+            writerThread.join(flushIntervalMillis + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        logger.info("Notification outbox stopped: {}", getMetrics());
+    }
+
+    public OutboxMetrics getMetrics() {
+        return new OutboxMetrics(queue.size(), capacity, enqueued.get(), written.get(), batches.get(),
+                failed.get(), syncFallbacks.get(), maxDepth.get());
+    }
+
+    private void drainLoop() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Notification first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private boolean writeBatch(List<Notification> batch) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            try {
+                writer.write(batch);
+                written.addAndGet(batch.size());
+                batches.incrementAndGet();
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                logger.warn("Notification batch of {} failed (attempt {}): {}", batch.size(), attempt, e.getMessage());
+            }
+            if (attempt < MAX_WRITE_ATTEMPTS && !backOff(attempt)) {
+                break;
+            }
+        }
+        return batch.size() > 1 ? writeRows(batch) : drop(batch);
+    }
+
+    /**
+     * Last resort for a batch that keeps failing: write each row on its own
+     * and drop only the rows that still fail
+     */
+    private boolean writeRows(List<Notification> batch) {
+        int dropped = 0;
+        List<Notification> single = new ArrayList<>(1);
+        for (Notification notification : batch) {
+            single.add(notification);
+            try {
+                writer.write(single);
+                written.incrementAndGet();
+                batches.incrementAndGet();
+            } catch (SQLException | RuntimeException e) {
+                logger.warn("Notification for employee {} failed: {}", notification.getEmpId(), e.getMessage());
+                dropped++;
+            }
+            single.clear();
+        }
+        if (dropped > 0) {
+            failed.addAndGet(dropped);
+            logger.error("Dropped {} of {} notifications after {} batch attempts and a row-by-row retry",
+                    dropped, batch.size(), MAX_WRITE_ATTEMPTS);
+        }
+        return dropped == 0;
+    }
+
+    private boolean drop(List<Notification> batch) {
+        failed.addAndGet(batch.size());
+        logger.error("Dropped {} notifications after {} attempts", batch.size(), MAX_WRITE_ATTEMPTS);
+        return false;
+    }
+
+    /**
+     * Pause before the next attempt, longer each time; false if interrupted
+     */
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS << (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Point-in-time snapshot of outbox counters
+     */
+    public static class OutboxMetrics {
+        public final int queueDepth;
+        public final int capacity;
+        public final long enqueued;
+        public final long written;
+        public final long batches;
+        public final long failed;
+        public final long syncFallbacks;
+        public final long maxDepth;
+
+        public OutboxMetrics(int queueDepth, int capacity, long enqueued, long written, long batches,
+                             long failed, long syncFallbacks, long maxDepth) {
+            this.queueDepth = queueDepth;
+            this.capacity = capacity;
+            this.enqueued = enqueued;
+            this.written = written;
+            this.batches = batches;
+            this.failed = failed;
+            this.syncFallbacks = syncFallbacks;
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public String toString() {
+            return "OutboxMetrics{" +
+                    "queueDepth=" + queueDepth +
+                    ", capacity=" + capacity +
+                    ", enqueued=" + enqueued +
+                    ", written=" + written +
+                    ", batches=" + batches +
+                    ", failed=" + failed +
+                    ", syncFallbacks=" + syncFallbacks +
+                    ", maxDepth=" + maxDepth +
+                    '}';
+        }
+    }
+}
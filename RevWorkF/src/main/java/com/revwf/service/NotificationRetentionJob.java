@@ -0,0 +1,260 @@
+package com.revwf.service;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.dao.NotificationDAO;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purges old notifications in small committed chunks with a pause between
+ * them, so no run holds locks or undo for long. Each notification type can
+ * keep its own retention period (notification.retention.days.TYPE); every
+ * other type uses notification.retention.days.
+ */
+public class NotificationRetentionJob {
+    private static final Logger logger = LogManager.getLogger(NotificationRetentionJob.class);
+    private static final String[] KNOWN_TYPES = {
+        "LEAVE_APPROVAL", "LEAVE_REJECTION", "PERFORMANCE_REVIEW",
+        "BIRTHDAY_REMINDER", "WORK_ANNIVERSARY", "SYSTEM_ANNOUNCEMENT"
+    };
+    private static final String OTHER_TYPES = "OTHER";
+    private static final int HISTORY_SIZE = 20;
+    private static NotificationRetentionJob instance;
+
+    /**
+     * Deletes at most chunkSize expired rows of one type, or of every type not
+     * in excludedTypes when type is null, and commits
+     */
+    @FunctionalInterface
+    public interface ChunkDeleter {
+        int deleteChunk(String type, Collection<String> excludedTypes, int retentionDays, int chunkSize)
+                throws SQLException;
+    }
+
+    private final ChunkDeleter deleter;
+    private final Map<String, Integer> retentionByType;
+    private final int defaultRetentionDays;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Deque<RetentionRun> history = new ArrayDeque<>();
+    private final Object signal = new Object();
+    private volatile boolean running = true;
+    private Thread scheduler;
+
+    NotificationRetentionJob(ChunkDeleter deleter, Map<String, Integer> retentionByType,
+                             int defaultRetentionDays, int chunkSize, long pauseMillis) {
+        this.deleter = deleter;
+        this.retentionByType = new LinkedHashMap<>(retentionByType);
+        this.defaultRetentionDays = defaultRetentionDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    public static NotificationRetentionJob getInstance() {
+        if (instance == null) {
+            synchronized (NotificationRetentionJob.class) {
+                if (instance == null) {
+                    DatabaseConfig config = DatabaseConfig.getInstance();
+                    Map<String, Integer> retentionByType = new LinkedHashMap<>();
+                    for (String type : KNOWN_TYPES) {
+                        int days = config.getIntProperty("notification.retention.days." + type, -1);
+                        if (days > 0) {
+                            retentionByType.put(type, days);
+                        }
+                    }
+                    NotificationDAO notificationDAO = new NotificationDAO();
+                    instance = new NotificationRetentionJob(notificationDAO::deleteExpiredNotificationChunk,
+                            retentionByType,
+                            config.getIntProperty("notification.retention.days", 30),
+                            config.getIntProperty("notification.retention.chunk.size", 1000),
+                            config.getIntProperty("notification.retention.pause.ms", 100));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Stop the shared job if it was ever created
+     */
+    public static void shutdownIfStarted() {
+        NotificationRetentionJob job = instance;
+        if (job != null) {
+            job.shutdown();
+        }
+    }
+
+    /**
+     * Run the purge every intervalMinutes on a daemon thread, starting one interval from now
+     */
+    public synchronized void start(long intervalMinutes) {
+        if (scheduler != null) {
+            return;
+        }
+        long intervalMillis = intervalMinutes * 60_000L;
+        scheduler = new Thread(() -> {
+            while (pause(intervalMillis)) {
+                try {
+                    runNow();
+                } catch (RuntimeException e) {
+                    logger.error("Notification retention run failed: {}", e.getMessage());
+                }
+            }
+        }, "revwf-notification-retention");
+        scheduler.setDaemon(true);
+        scheduler.start();
+        logger.info("Notification retention scheduled every {} minutes", intervalMinutes);
+    }
+
+    /**
+     * Stop between chunks; a run in progress records what it purged so far.
+     * The thread is woken rather than interrupted so a delete in flight can finish.
+     */
+    public void shutdown() {
+        synchronized (signal) {
+            running = false;
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Purge everything past its retention period now. Runs never overlap.
+     */
+    public synchronized RetentionRun runNow() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        Map<String, Integer> purgedByType = new LinkedHashMap<>();
+        int[] chunks = new int[1];
+        boolean completed;
+
+        try {
+            completed = true;
+            for (Map.Entry<String, Integer> entry : retentionByType.entrySet()) {
+                completed = completed && purge(entry.getKey(), entry.getKey(), Collections.emptyList(),
+                        entry.getValue(), purgedByType, chunks);
+            }
+            completed = completed && purge(OTHER_TYPES, null, retentionByType.keySet(), defaultRetentionDays,
+                    purgedByType, chunks);
+        } catch (SQLException e) {
+            logger.error("Notification retention stopped after an error: {}", e.getMessage());
+            completed = false;
+        }
+
+        int total = 0;
+        for (int purged : purgedByType.values()) {
+            total += purged;
+        }
+        RetentionRun run = new RetentionRun(startedAt, total, purgedByType, chunks[0],
+                (System.nanoTime() - start) / 1_000_000, completed);
+        synchronized (history) {
+            if (history.size() == HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            history.addLast(run);
+        }
+        logger.info("Notification retention: {}", run);
+        return run;
+    }
+
+    /**
+     * Most recent runs, oldest first
+     */
+    public List<RetentionRun> getHistory() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    public RetentionRun getLastRun() {
+        synchronized (history) {
+            return history.peekLast();
+        }
+    }
+
+    /**
+     * Delete chunks until one comes back short. Returns false if stopped first.
+     */
+    private boolean purge(String key, String type, Collection<String> excludedTypes, int retentionDays,
+                          Map<String, Integer> purgedByType, int[] chunks) throws SQLException {
+        purgedByType.put(key, 0);
+        while (running) {
+            int deleted = deleter.deleteChunk(type, excludedTypes, retentionDays, chunkSize);
+            purgedByType.merge(key, deleted, Integer::sum);
+            chunks[0]++;
+            if (deleted < chunkSize) {
+                return true;
+            }
+            // Give other sessions a turn at the table between chunks
+            if (!pause(pauseMillis)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wait unless shut down; returns whether the job is still running
+     */
+    private boolean pause(long millis) {
+        long deadline = System.currentTimeMillis() + millis;
+        synchronized (signal) {
+            long remaining = millis;
+            while (running && remaining > 0) {
+                try {
+                    signal.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return running;
+        }
+    }
+
+    /**
+     * Outcome of one retention run
+     */
+    public static class RetentionRun {
+        public final LocalDateTime startedAt;
+        public final int rowsPurged;
+        public final Map<String, Integer> purgedByType;
+        public final int chunks;
+        public final long elapsedMillis;
+        public final boolean completed;
+
+        public RetentionRun(LocalDateTime startedAt, int rowsPurged, Map<String, Integer> purgedByType,
+                            int chunks, long elapsedMillis, boolean completed) {
+            this.startedAt = startedAt;
+            this.rowsPurged = rowsPurged;
+            this.purgedByType = Collections.unmodifiableMap(purgedByType);
+            this.chunks = chunks;
+            this.elapsedMillis = elapsedMillis;
+            this.completed = completed;
+        }
+
+        @Override
+        public String toString() {
+            return "RetentionRun{" +
+                    "startedAt=" + startedAt +
+                    ", rowsPurged=" + rowsPurged +
+                    ", purgedByType=" + purgedByType +
+                    ", chunks=" + chunks +
+                    ", elapsedMillis=" + elapsedMillis +
+                    ", completed=" + completed +
+                    '}';
+        }
+    }
+}
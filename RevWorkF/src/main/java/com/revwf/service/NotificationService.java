@@ -1,19 +1,35 @@
 package com.revwf.service;
 
 import com.revwf.dao.NotificationDAO;
+import com.revwf.model.LeaveApplication;
 import com.revwf.model.Notification;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class NotificationService {
     private static final Logger logger = LogManager.getLogger(NotificationService.class);
+    public static final int MAX_INBOX_PAGE_SIZE = 100;
     private final NotificationDAO notificationDAO;
+    private final NotificationOutbox outbox;
+    private final EmployeeService employeeService;
+    private final UnreadNotificationCounters unreadCounters;
 
     public NotificationService() {
         this.notificationDAO = new NotificationDAO();
+        this.outbox = NotificationOutbox.getInstance();
+        this.employeeService = new EmployeeService();
+        this.unreadCounters = UnreadNotificationCounters.getInstance();
+    }
+
+    /**
+     * Back-pressure counters for the notification write-behind queue
+     */
+    public NotificationOutbox.OutboxMetrics getOutboxMetrics() {
+        return outbox.getMetrics();
     }
 
     /**
@@ -21,12 +37,7 @@ public class NotificationService {
      */
     public boolean createLeaveApprovalNotification(int empId, String leaveType, String startDate, String endDate) {
         try {
-            String title = "Leave Approved";
-            String message = String.format("Your %s leave from %s to %s has been approved by your manager.", 
-                leaveType, startDate, endDate);
-            
-            Notification notification = new Notification(empId, title, message, "LEAVE_APPROVAL");
-            return notificationDAO.createNotification(notification);
+            return outbox.enqueue(buildLeaveApprovalNotification(empId, leaveType, startDate, endDate));
         } catch (Exception e) {
             logger.error("Error creating leave approval notification: " + e.getMessage());
             return false;
@@ -38,18 +49,46 @@ public class NotificationService {
      */
     public boolean createLeaveRejectionNotification(int empId, String leaveType, String startDate, String endDate, String reason) {
         try {
-            String title = "Leave Rejected";
-            String message = String.format("Your %s leave from %s to %s has been rejected. Reason: %s", 
-                leaveType, startDate, endDate, reason != null ? reason : "Not specified");
-            
-            Notification notification = new Notification(empId, title, message, "LEAVE_REJECTION");
-            return notificationDAO.createNotification(notification);
+            return outbox.enqueue(
+                buildLeaveRejectionNotification(empId, leaveType, startDate, endDate, reason));
         } catch (Exception e) {
             logger.error("Error creating leave rejection notification: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Approval or rejection notification for a decided application, or null for other statuses
+     */
+    public Notification buildLeaveDecisionNotification(LeaveApplication application) {
+        String startDate = String.valueOf(application.getStartDate());
+        String endDate = String.valueOf(application.getEndDate());
+        switch (application.getStatus()) {
+            case APPROVED:
+                return buildLeaveApprovalNotification(application.getEmpId(), application.getLeaveTypeName(),
+                    startDate, endDate);
+            case REJECTED:
+                return buildLeaveRejectionNotification(application.getEmpId(), application.getLeaveTypeName(),
+                    startDate, endDate, application.getManagerComments());
+            default:
+                return null;
+        }
+    }
+
+    private Notification buildLeaveApprovalNotification(int empId, String leaveType, String startDate, String endDate) {
+        String title = "Leave Approved";
+        String message = String.format("Your %s leave from %s to %s has been approved by your manager.", 
+            leaveType, startDate, endDate);
+        return new Notification(empId, title, message, "LEAVE_APPROVAL");
+    }
+
+    private Notification buildLeaveRejectionNotification(int empId, String leaveType, String startDate, String endDate, String reason) {
+        String title = "Leave Rejected";
+        String message = String.format("Your %s leave from %s to %s has been rejected. Reason: %s", 
+            leaveType, startDate, endDate, reason != null && !reason.isEmpty() ? reason : "Not specified");
+        return new Notification(empId, title, message, "LEAVE_REJECTION");
+    }
+
     /**
      * Create performance review notification
      */
@@ -59,7 +98,7 @@ public class NotificationService {
             String message = String.format("Your %s performance review is ready for your input. Please complete it by the deadline.", reviewType);
             
             Notification notification = new Notification(empId, title, message, "PERFORMANCE_REVIEW");
-            return notificationDAO.createNotification(notification);
+            return outbox.enqueue(notification);
         } catch (Exception e) {
             logger.error("Error creating performance review notification: " + e.getMessage());
             return false;
@@ -75,7 +114,7 @@ public class NotificationService {
             String message = String.format("Today is %s's birthday! Don't forget to wish them well.", colleagueName);
             
             Notification notification = new Notification(empId, title, message, "BIRTHDAY_REMINDER");
-            return notificationDAO.createNotification(notification);
+            return outbox.enqueue(notification);
         } catch (Exception e) {
             logger.error("Error creating birthday reminder notification: " + e.getMessage());
             return false;
@@ -91,7 +130,7 @@ public class NotificationService {
             String message = String.format("%s is celebrating %d years with the company today!", colleagueName, years);
             
             Notification notification = new Notification(empId, title, message, "WORK_ANNIVERSARY");
-            return notificationDAO.createNotification(notification);
+            return outbox.enqueue(notification);
         } catch (Exception e) {
             logger.error("Error creating work anniversary notification: " + e.getMessage());
             return false;
@@ -104,13 +143,65 @@ public class NotificationService {
     public boolean createSystemAnnouncementNotification(int empId, String title, String message) {
         try {
             Notification notification = new Notification(empId, title, message, "SYSTEM_ANNOUNCEMENT");
-            return notificationDAO.createNotification(notification);
+            return outbox.enqueue(notification);
         } catch (Exception e) {
             logger.error("Error creating system announcement notification: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Send one announcement to every active employee in the target. Rows are
+     * written directly in batches rather than through the outbox so a
+     * company-wide message cannot crowd out leave notifications.
+     */
+    public BroadcastResult broadcastAnnouncement(BroadcastTarget target, String title, String message) {
+        long start = System.nanoTime();
+        try {
+            int[] recipients = resolveRecipients(target);
+            int sent = recipients.length > 0
+                ? notificationDAO.createBroadcast(recipients, title, message, "SYSTEM_ANNOUNCEMENT")
+                : 0;
+            for (int empId : recipients) {
+                unreadCounters.recordCreated(empId, 1);
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            BroadcastResult result = new BroadcastResult(target.toString(), sent, elapsedMillis);
+            logger.info("Announcement broadcast: {}", result);
+            return result;
+        } catch (Exception e) {
+            logger.error("Error in broadcastAnnouncement: " + e.getMessage());
+            throw new RuntimeException("Failed to broadcast announcement", e);
+        }
+    }
+
+    private int[] resolveRecipients(BroadcastTarget target) {
+        switch (target.kind) {
+            case ALL:
+                return employeeService.getActiveEmployeeIds(null);
+            case DEPARTMENT:
+                return employeeService.getActiveEmployeeIds(target.id);
+            case MANAGER_SUBTREE:
+                return activeOnly(employeeService.getSubordinateIds(target.id));
+            case EMPLOYEES:
+                return activeOnly(target.empIds);
+            default:
+                throw new IllegalArgumentException("Unknown broadcast target: " + target.kind);
+        }
+    }
+
+    private int[] activeOnly(int[] empIds) {
+        int[] active = employeeService.getActiveEmployeeIds(null);
+        int[] result = new int[empIds.length];
+        int count = 0;
+        for (int empId : empIds) {
+            if (Arrays.binarySearch(active, empId) >= 0) {
+                result[count++] = empId;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
     /**
      * Get all notifications for employee
      */
@@ -124,11 +215,28 @@ public class NotificationService {
     }
 
     /**
-     * Get unread notification count
+     * One page of the inbox, newest first. 'after' is the last notification of
+     * the previous page, or null to start; the page size is capped at MAX_INBOX_PAGE_SIZE.
+     */
+    public List<Notification> getNotificationsPage(int empId, boolean unreadOnly, Notification after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        try {
+            return notificationDAO.getNotificationsPage(empId, unreadOnly, after,
+                Math.min(pageSize, MAX_INBOX_PAGE_SIZE));
+        } catch (Exception e) {
+            logger.error("Error getting notification page: " + e.getMessage());
+            throw new RuntimeException("Failed to retrieve notifications", e);
+        }
+    }
+
+    /**
+     * Get unread notification count, served from the in-memory counters
      */
     public int getUnreadNotificationCount(int empId) {
         try {
-            return notificationDAO.getUnreadNotificationCount(empId);
+            return unreadCounters.getUnreadCount(empId);
         } catch (Exception e) {
             logger.error("Error getting unread notification count: " + e.getMessage());
             return 0;
@@ -136,11 +244,22 @@ public class NotificationService {
     }
 
     /**
-     * Mark notification as read
+     * Count notifications written outside the outbox once their transaction has committed
+     */
+    public void recordDelivered(List<Notification> notifications) {
+        unreadCounters.recordCreated(notifications);
+    }
+
+    /**
+     * Mark notification as read. Returns false if it was already read.
      */
     public boolean markNotificationAsRead(int notificationId) {
         try {
-            return notificationDAO.markNotificationAsRead(notificationId);
+            Integer empId = notificationDAO.markUnreadNotificationAsRead(notificationId);
+            if (empId != null) {
+                unreadCounters.recordRead(empId);
+            }
+            return empId != null;
         } catch (Exception e) {
             logger.error("Error marking notification as read: " + e.getMessage());
             return false;
@@ -152,7 +271,11 @@ public class NotificationService {
      */
     public boolean markAllNotificationsAsRead(int empId) {
         try {
-            return notificationDAO.markAllNotificationsAsRead(empId);
+            boolean updated = notificationDAO.markAllNotificationsAsRead(empId);
+            if (updated) {
+                unreadCounters.recordAllRead(empId);
+            }
+            return updated;
         } catch (Exception e) {
             logger.error("Error marking all notifications as read: " + e.getMessage());
             return false;
@@ -160,11 +283,11 @@ public class NotificationService {
     }
 
     /**
-     * Clean up old notifications
+     * Clean up old notifications now, in chunks, using the configured retention periods
      */
     public int cleanupOldNotifications() {
         try {
-            return notificationDAO.deleteOldNotifications();
+            return NotificationRetentionJob.getInstance().runNow().rowsPurged;
         } catch (Exception e) {
             logger.error("Error cleaning up old notifications: " + e.getMessage());
             return 0;
@@ -190,4 +313,89 @@ public class NotificationService {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Who an announcement goes to
+     */
+    public static class BroadcastTarget {
+        public enum Kind { ALL, DEPARTMENT, MANAGER_SUBTREE, EMPLOYEES }
+
+        private final Kind kind;
+        private final int id;
+        private final int[] empIds;
+
+        private BroadcastTarget(Kind kind, int id, int[] empIds) {
+            this.kind = kind;
+            this.id = id;
+            this.empIds = empIds;
+        }
+
+        public static BroadcastTarget all() {
+            return new BroadcastTarget(Kind.ALL, 0, null);
+        }
+
+        public static BroadcastTarget department(int deptId) {
+            return new BroadcastTarget(Kind.DEPARTMENT, deptId, null);
+        }
+
+        /**
+         * Everyone reporting to the manager directly or indirectly, not the manager
+         */
+        public static BroadcastTarget managerSubtree(int managerId) {
+            return new BroadcastTarget(Kind.MANAGER_SUBTREE, managerId, null);
+        }
+
+        public static BroadcastTarget employees(List<Integer> empIds) {
+            // Duplicates would send the same announcement twice
+            int[] ids = empIds.stream().mapToInt(Integer::intValue).distinct().toArray();
+            return new BroadcastTarget(Kind.EMPLOYEES, 0, ids);
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case DEPARTMENT:
+                    return "DEPARTMENT " + id;
+                case MANAGER_SUBTREE:
+                    return "MANAGER_SUBTREE " + id;
+                case EMPLOYEES:
+                    return "EMPLOYEES (" + empIds.length + " listed)";
+                default:
+                    return kind.name();
+            }
+        }
+    }
+
+    /**
+     * Outcome of one broadcast
+     */
+    public static class BroadcastResult {
+        public final String target;
+        public final int recipients;
+        public final long elapsedMillis;
+
+        public BroadcastResult(String target, int recipients, long elapsedMillis) {
+            this.target = target;
+            this.recipients = recipients;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getRowsPerSecond() {
+            return recipients * 1000L / Math.max(1, elapsedMillis);
+        }
+
+        @Override
+        public String toString() {
+            return "BroadcastResult{" +
+                    "target=" + target +
+                    ", recipients=" + recipients +
+                    ", elapsedMillis=" + elapsedMillis +
+                    ", rowsPerSecond=" + getRowsPerSecond() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.revwf.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Manager to report edges held in int arrays indexed by emp_id. Each node
+ * stores its manager, its first direct report and its next sibling, so
+ * hierarchy questions never go back to the database.
+ */
+public class OrgChart {
+    private static final Logger logger = LogManager.getLogger(OrgChart.class);
+    private static final int ABSENT = -1;
+    private static final int NONE = 0;
+    private static OrgChart instance;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int[] managerOf = new int[0];
+    private int[] firstReport = new int[0];
+    private int[] nextSibling = new int[0];
+    private int[] reportCount = new int[0];
+    private int size;
+    private volatile boolean loaded;
+
+    OrgChart() {
+    }
+
+    public static OrgChart getInstance() {
+        if (instance == null) {
+            synchronized (OrgChart.class) {
+                if (instance == null) {
+                    instance = new OrgChart();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replace the whole chart. managerIds[i] is the manager of empIds[i], or 0 for none.
+     */
+    public void rebuild(int[] empIds, int[] managerIds) {
+        lock.writeLock().lock();
+        try {
+            int maxId = 0;
+            for (int empId : empIds) {
+                maxId = Math.max(maxId, empId);
+            }
+            managerOf = new int[maxId + 1];
+            firstReport = new int[maxId + 1];
+            nextSibling = new int[maxId + 1];
+            reportCount = new int[maxId + 1];
+            Arrays.fill(managerOf, ABSENT);
+            size = 0;
+
+            for (int empId : empIds) {
+                managerOf[empId] = NONE;
+                size++;
+            }
+            for (int i = 0; i < empIds.length; i++) {
+                if (managerIds[i] != NONE && isPresent(managerIds[i])) {
+                    link(empIds[i], managerIds[i]);
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built org chart for {} employees", empIds.length);
+    }
+
+    /**
+     * Add an employee or move it under a new manager (null for none)
+     */
+    public void setManager(int empId, Integer managerId) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(Math.max(empId, managerId != null ? managerId : 0));
+            if (!isPresent(empId)) {
+                managerOf[empId] = NONE;
+                size++;
+            } else {
+                unlink(empId);
+            }
+            if (managerId != null && managerId != NONE) {
+                if (!isPresent(managerId)) {
+                    managerOf[managerId] = NONE;
+                    size++;
+                }
+                link(empId, managerId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop an employee that no longer exists. Its direct reports stay in the
+     * chart without a manager, as the database leaves them.
+     */
+    public void remove(int empId) {
+        lock.writeLock().lock();
+        try {
+            if (!isPresent(empId)) {
+                return;
+            }
+            unlink(empId);
+            int child = firstReport[empId];
+            while (child != NONE) {
+                int next = nextSibling[child];
+                managerOf[child] = NONE;
+                nextSibling[child] = NONE;
+                child = next;
+            }
+            firstReport[empId] = NONE;
+            reportCount[empId] = 0;
+            managerOf[empId] = ABSENT;
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * True when putting empId under managerId would make empId its own ancestor
+     */
+    public boolean wouldCreateCycle(int empId, int managerId) {
+        if (empId == managerId) {
+            return true;
+        }
+        lock.readLock().lock();
+        try {
+            int current = managerId;
+            // A walk longer than the chart means the stored data already has a loop
+            for (int steps = 0; steps <= size; steps++) {
+                if (current == empId) {
+                    return true;
+                }
+                if (!isPresent(current) || managerOf[current] == NONE) {
+                    return false;
+                }
+                current = managerOf[current];
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Managers above the employee, nearest first
+     */
+    public int[] getAncestors(int empId) {
+        lock.readLock().lock();
+        try {
+            int[] chain = new int[8];
+            int count = 0;
+            int current = isPresent(empId) ? managerOf[empId] : NONE;
+            while (current != NONE && count <= size) {
+                if (count == chain.length) {
+                    chain = Arrays.copyOf(chain, count * 2);
+                }
+                chain[count++] = current;
+                current = isPresent(current) ? managerOf[current] : NONE;
+            }
+            return Arrays.copyOf(chain, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int[] getDirectReports(int empId) {
+        lock.readLock().lock();
+        try {
+            if (!isPresent(empId)) {
+                return new int[0];
+            }
+            int[] reports = new int[reportCount[empId]];
+            int i = 0;
+            for (int child = firstReport[empId]; child != NONE; child = nextSibling[child]) {
+                reports[i++] = child;
+            }
+            return reports;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of direct reports
+     */
+    public int getSpanOfControl(int empId) {
+        lock.readLock().lock();
+        try {
+            return isPresent(empId) ? reportCount[empId] : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of direct and indirect reports, not counting the employee
+     */
+    public int getSubtreeSize(int empId) {
+        return getDescendants(empId).length;
+    }
+
+    /**
+     * All direct and indirect reports, not including the employee
+     */
+    public int[] getDescendants(int empId) {
+        lock.readLock().lock();
+        try {
+            if (!isPresent(empId)) {
+                return new int[0];
+            }
+            // The stack doubles as the result: everything below 'next' has been expanded
+            int[] nodes = new int[Math.max(16, reportCount[empId] + 1)];
+            int count = 0;
+            nodes[count++] = empId;
+            for (int next = 0; next < count && count <= size; next++) {
+                for (int child = firstReport[nodes[next]]; child != NONE; child = nextSibling[child]) {
+                    if (count == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, count * 2);
+                    }
+                    nodes[count++] = child;
+                }
+            }
+            return Arrays.copyOfRange(nodes, 1, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isPresent(int empId) {
+        return empId > 0 && empId < managerOf.length && managerOf[empId] != ABSENT;
+    }
+
+    private void link(int empId, int managerId) {
+        managerOf[empId] = managerId;
+        nextSibling[empId] = firstReport[managerId];
+        firstReport[managerId] = empId;
+        reportCount[managerId]++;
+    }
+
+    private void unlink(int empId) {
+        int managerId = managerOf[empId];
+        if (managerId == NONE) {
+            return;
+        }
+        if (firstReport[managerId] == empId) {
+            firstReport[managerId] = nextSibling[empId];
+        } else {
+            int prev = firstReport[managerId];
+            while (nextSibling[prev] != empId) {
+                prev = nextSibling[prev];
+            }
+            nextSibling[prev] = nextSibling[empId];
+        }
+        nextSibling[empId] = NONE;
+        managerOf[empId] = NONE;
+        reportCount[managerId]--;
+    }
+
+    private void ensureCapacity(int empId) {
+        if (empId < managerOf.length) {
+            return;
+        }
+        int oldLength = managerOf.length;
+        int newLength = Math.max(empId + 1, oldLength * 2);
+        managerOf = Arrays.copyOf(managerOf, newLength);
+        firstReport = Arrays.copyOf(firstReport, newLength);
+        nextSibling = Arrays.copyOf(nextSibling, newLength);
+        reportCount = Arrays.copyOf(reportCount, newLength);
+        Arrays.fill(managerOf, oldLength, newLength, ABSENT);
+    }
+}
@@ -0,0 +1,233 @@
+package com.revwf.service;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.model.Permission;
+import com.revwf.model.User;
+import com.revwf.model.UserSession;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * All live sessions, looked up by token. A session ends after sitting idle
+ * for the idle timeout or at its absolute expiry, whichever comes first.
+ * Expiry is swept by a timer wheel: each session sits in the slot for its
+ * current deadline, and when the wheel reaches that slot the session is
+ * either removed or, if it was used in the meantime, moved to its new slot.
+ * Touching a session is therefore O(1) and never reorders anything.
+ */
+public class SessionRegistry {
+    private static final Logger logger = LogManager.getLogger(SessionRegistry.class);
+    private static final int WHEEL_SLOTS = 512;
+    private static final int TOKEN_BYTES = 32;
+    private static SessionRegistry instance;
+
+    private final Map<String, UserSession> sessions = new ConcurrentHashMap<>();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Set<String>[] wheel = new Set[WHEEL_SLOTS];
+    private final SecureRandom random = new SecureRandom();
+    private final long idleTimeoutMillis;
+    private final long absoluteTimeoutMillis;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private long lastTick;
+
+    SessionRegistry(long idleTimeoutMillis, long absoluteTimeoutMillis, long tickMillis, LongSupplier clock) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.absoluteTimeoutMillis = absoluteTimeoutMillis;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.lastTick = clock.getAsLong() / tickMillis;
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    public static SessionRegistry getInstance() {
+        if (instance == null) {
+            synchronized (SessionRegistry.class) {
+                if (instance == null) {
+                    DatabaseConfig config = DatabaseConfig.getInstance();
+                    int idleSeconds = config.getIntProperty("app.session.timeout",
+                            config.getIntProperty("session.timeout.minutes", 30) * 60);
+                    SessionRegistry registry = new SessionRegistry(idleSeconds * 1000L,
+                            config.getIntProperty("session.absolute.timeout.minutes", 480) * 60_000L,
+                            1000, System::currentTimeMillis);
+                    registry.startSweeper();
+                    instance = registry;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Open a session for an authenticated user
+     */
+    public UserSession create(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        long now = clock.getAsLong();
+        UserSession session = new UserSession(token, user, now, now + absoluteTimeoutMillis);
+        sessions.put(token, session);
+        schedule(token, deadline(session));
+        logger.info("Session opened for {} ({} active)", user.getEmployeeId(), sessions.size());
+        return session;
+    }
+
+    /**
+     * The live session for a token, marked as used, or null if unknown or expired
+     */
+    public UserSession touch(String token) {
+        UserSession session = peek(token);
+        if (session != null) {
+            session.setLastAccessedAt(clock.getAsLong());
+        }
+        return session;
+    }
+
+    /**
+     * The live session for a token without extending it
+     */
+    public UserSession peek(String token) {
+        if (token == null) {
+            return null;
+        }
+        UserSession session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        // The sweep may lag by a tick, so expiry is also checked on every lookup
+        if (deadline(session) <= clock.getAsLong()) {
+            sessions.remove(token, session);
+            return null;
+        }
+        return session;
+    }
+
+    public void invalidate(String token) {
+        if (token != null && sessions.remove(token) != null) {
+            logger.info("Session closed ({} active)", sessions.size());
+        }
+    }
+
+    /**
+     * End every session of a user, for example after deactivation
+     */
+    public int invalidateUser(int userId) {
+        return invalidateUser(userId, null);
+    }
+
+    /**
+     * End every session of a user except the one behind keepToken, for example
+     * the other logins of someone who just changed their password
+     */
+    public int invalidateUser(int userId, String keepToken) {
+        int closed = 0;
+        for (UserSession session : sessions.values()) {
+            if (session.getUser().getUserId() == userId && !session.getToken().equals(keepToken)
+                    && sessions.remove(session.getToken(), session)) {
+                closed++;
+            }
+        }
+        if (closed > 0) {
+            logger.info("Closed {} sessions of user {} ({} active)", closed, userId, sessions.size());
+        }
+        return closed;
+    }
+
+    /**
+     * Apply a changed role to every open session of the user
+     */
+    public int refreshUser(User user) {
+        long permissions = Permission.maskOf(user.getRole());
+        int refreshed = 0;
+        for (UserSession session : sessions.values()) {
+            if (session.getUser().getUserId() == user.getUserId()) {
+                session.getUser().setRole(user.getRole());
+                session.setPermissions(permissions);
+                refreshed++;
+            }
+        }
+        if (refreshed > 0) {
+            logger.info("Refreshed permissions of {} sessions for {}", refreshed, user.getEmployeeId());
+        }
+        return refreshed;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Process every tick up to the current time. Called by the sweeper thread.
+     */
+    synchronized int advance() {
+        long currentTick = clock.getAsLong() / tickMillis;
+        // After a long pause one full turn visits every slot
+        long firstTick = Math.max(lastTick + 1, currentTick - WHEEL_SLOTS + 1);
+        long now = clock.getAsLong();
+        int expired = 0;
+
+        for (long tick = firstTick; tick <= currentTick; tick++) {
+            Set<String> slot = wheel[(int) (tick % WHEEL_SLOTS)];
+            // Copied first because a rescheduled token can land back in this slot
+            for (String token : new ArrayList<>(slot)) {
+                slot.remove(token);
+                UserSession session = sessions.get(token);
+                if (session == null) {
+                    continue;
+                }
+                long deadline = deadline(session);
+                if (deadline <= now) {
+                    if (sessions.remove(token, session)) {
+                        expired++;
+                    }
+                } else {
+                    schedule(token, Math.max(deadline, (currentTick + 1) * tickMillis));
+                }
+            }
+        }
+        lastTick = currentTick;
+        if (expired > 0) {
+            logger.info("Expired {} idle sessions ({} active)", expired, sessions.size());
+        }
+        return expired;
+    }
+
+    private long deadline(UserSession session) {
+        return Math.min(session.getLastAccessedAt() + idleTimeoutMillis, session.getExpiresAt());
+    }
+
+    private void schedule(String token, long deadline) {
+        // Deadlines more than a turn away land in an earlier slot and are rescheduled when visited
+        wheel[(int) ((deadline / tickMillis) % WHEEL_SLOTS)].add(token);
+    }
+
+    private void startSweeper() {
+        Thread sweeper = new Thread(() -> {
+            while (true) {
+                try {
+                    Thread.sleep(tickMillis);
+                    advance();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (RuntimeException e) {
+                    logger.warn("Session sweep failed: {}", e.getMessage());
+                }
+            }
+        }, "revwf-session-wheel");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+}
@@ -0,0 +1,201 @@
+package com.revwf.service;
+
+import com.revwf.config.DatabaseConfig;
+import com.revwf.dao.NotificationDAO;
+import com.revwf.model.Notification;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Unread notification count per employee, kept in memory so the inbox badge
+ * needs no query. Writes adjust the counts as they commit; a background
+ * thread reloads all counts from the database at a fixed interval to repair
+ * any drift, for example from rows written by another process.
+ */
+public class UnreadNotificationCounters {
+    private static final Logger logger = LogManager.getLogger(UnreadNotificationCounters.class);
+    private static UnreadNotificationCounters instance;
+
+    /**
+     * Loads the unread count of every employee that has any
+     */
+    @FunctionalInterface
+    public interface CountSource {
+        Map<Integer, Integer> loadUnreadCounts() throws SQLException;
+    }
+
+    private final CountSource source;
+    private final Map<Integer, AtomicInteger> counts = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
+
+    // Bumped by every in-memory change so a reload can tell it raced with a write.
+    // Changes hold the read side; a reload applies its snapshot under the write side.
+    private final AtomicLong changes = new AtomicLong();
+    private final ReadWriteLock applyLock = new ReentrantReadWriteLock();
+    private final AtomicLong reconciliations = new AtomicLong();
+    private final AtomicLong corrections = new AtomicLong();
+
+    UnreadNotificationCounters(CountSource source) {
+        this.source = source;
+    }
+
+    public static UnreadNotificationCounters getInstance() {
+        if (instance == null) {
+            synchronized (UnreadNotificationCounters.class) {
+                if (instance == null) {
+                    NotificationDAO notificationDAO = new NotificationDAO();
+                    UnreadNotificationCounters counters =
+                            new UnreadNotificationCounters(notificationDAO::getUnreadNotificationCounts);
+                    counters.startReconciler(DatabaseConfig.getInstance()
+                            .getIntProperty("notification.unread.reconcile.interval.ms", 60000));
+                    instance = counters;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public int getUnreadCount(int empId) {
+        ensureLoaded();
+        AtomicInteger count = counts.get(empId);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Count notifications that have been committed
+     */
+    public void recordCreated(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            recordCreated(notification.getEmpId(), 1);
+        }
+    }
+
+    public void recordCreated(int empId, int count) {
+        applyLock.readLock().lock();
+        try {
+            changes.incrementAndGet();
+            counts.computeIfAbsent(empId, id -> new AtomicInteger()).addAndGet(count);
+        } finally {
+            applyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One notification of the employee went from unread to read
+     */
+    public void recordRead(int empId) {
+        applyLock.readLock().lock();
+        try {
+            changes.incrementAndGet();
+            AtomicInteger count = counts.get(empId);
+            if (count != null) {
+                count.updateAndGet(value -> Math.max(0, value - 1));
+            }
+        } finally {
+            applyLock.readLock().unlock();
+        }
+    }
+
+    public void recordAllRead(int empId) {
+        applyLock.readLock().lock();
+        try {
+            changes.incrementAndGet();
+            counts.remove(empId);
+        } finally {
+            applyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the counts with what the database holds. A reload that overlapped
+     * an in-memory change is discarded (except the first) and retried next run.
+     */
+    public boolean reconcile() throws SQLException {
+        synchronized (loadLock) {
+            long before = changes.get();
+            Map<Integer, Integer> actual = source.loadUnreadCounts();
+
+            // No change can land between the overlap check and the end of the apply
+            applyLock.writeLock().lock();
+            try {
+                if (loaded && changes.get() != before) {
+                    logger.debug("Unread count reload overlapped a write; retrying next run");
+                    return false;
+                }
+
+                int drift = 0;
+                for (Map.Entry<Integer, AtomicInteger> entry : counts.entrySet()) {
+                    if (!actual.containsKey(entry.getKey()) && entry.getValue().get() != 0) {
+                        drift++;
+                    }
+                }
+                counts.keySet().retainAll(actual.keySet());
+                for (Map.Entry<Integer, Integer> entry : actual.entrySet()) {
+                    AtomicInteger count = counts.computeIfAbsent(entry.getKey(), id -> new AtomicInteger());
+                    if (count.getAndSet(entry.getValue()) != entry.getValue()) {
+                        drift++;
+                    }
+                }
+
+                if (loaded) {
+                    corrections.addAndGet(drift);
+                }
+                loaded = true;
+            } finally {
+                applyLock.writeLock().unlock();
+            }
+            reconciliations.incrementAndGet();
+            return true;
+        }
+    }
+
+    public long getReconciliationCount() {
+        return reconciliations.get();
+    }
+
+    /**
+     * Counts that differed from the database when it was reloaded
+     */
+    public long getCorrectionCount() {
+        return corrections.get();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load unread notification counts", e);
+        }
+    }
+
+    private void startReconciler(long intervalMillis) {
+        Thread reconciler = new Thread(() -> {
+            while (true) {
+                try {
+                    Thread.sleep(intervalMillis);
+                    reconcile();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (SQLException | RuntimeException e) {
+                    logger.warn("Unread count reconciliation failed: {}", e.getMessage());
+                }
+            }
+        }, "revwf-unread-reconciler");
+        reconciler.setDaemon(true);
+        reconciler.start();
+    }
+}
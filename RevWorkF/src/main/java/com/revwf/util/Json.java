@@ -0,0 +1,352 @@
+package com.revwf.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal JSON reading and writing for the HTTP facade, so the project does
+ * not need a JSON library. Models are written from their getters, result
+ * classes from their public fields; the accessor list is cached per class.
+ */
+public class Json {
+    private static final Set<String> HIDDEN_PROPERTIES = Set.of("class", "passwordHash");
+    private static final Map<Class<?>, Map<String, Object>> ACCESSORS = new ConcurrentHashMap<>();
+
+    private Json() {
+    }
+
+    public static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(value, out);
+        return out.toString();
+    }
+
+    /**
+     * Parse a JSON object. Numbers come back as Long or Double, arrays as List.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        Parser parser = new Parser(json);
+        Object value = parser.readValue();
+        parser.expectEnd();
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private static void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String || value instanceof Character) {
+            writeString(value.toString(), out);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Enum) {
+            writeString(((Enum<?>) value).name(), out);
+        } else if (value instanceof java.util.Date || value instanceof java.time.temporal.Temporal) {
+            writeString(value.toString(), out);
+        } else if (value instanceof Map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                writeString(String.valueOf(entry.getKey()), out);
+                out.append(':');
+                write(entry.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object item : (Collection<?>) value) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                write(item, out);
+            }
+            out.append(']');
+        } else if (value instanceof int[]) {
+            out.append('[');
+            int[] items = (int[]) value;
+            for (int i = 0; i < items.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(items[i]);
+            }
+            out.append(']');
+        } else {
+            writeBean(value, out);
+        }
+    }
+
+    private static void writeBean(Object bean, StringBuilder out) {
+        Map<String, Object> accessors = ACCESSORS.computeIfAbsent(bean.getClass(), Json::findAccessors);
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : accessors.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            writeString(entry.getKey(), out);
+            out.append(':');
+            try {
+                Object accessor = entry.getValue();
+                write(accessor instanceof Field ? ((Field) accessor).get(bean) : ((Method) accessor).invoke(bean), out);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read " + entry.getKey() + " of " + bean.getClass(), e);
+            }
+        }
+        out.append('}');
+    }
+
+    private static Map<String, Object> findAccessors(Class<?> type) {
+        Map<String, Object> accessors = new LinkedHashMap<>();
+        for (Field field : type.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !HIDDEN_PROPERTIES.contains(field.getName())) {
+                accessors.put(field.getName(), field);
+            }
+        }
+        if (!accessors.isEmpty()) {
+            return accessors;
+        }
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String name = method.getName();
+            String property = null;
+            if (name.startsWith("get") && name.length() > 3) {
+                property = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+            } else if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+                property = Character.toLowerCase(name.charAt(2)) + name.substring(3);
+            }
+            if (property != null && !HIDDEN_PROPERTIES.contains(property)) {
+                accessors.put(property, method);
+            }
+        }
+        return accessors;
+    }
+
+    private static void writeString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    private static class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Object readValue() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            char c = text.charAt(pos);
+            if (c == '{') {
+                return readObject();
+            } else if (c == '[') {
+                return readArray();
+            } else if (c == '"') {
+                return readString();
+            } else if (text.startsWith("true", pos)) {
+                pos += 4;
+                return Boolean.TRUE;
+            } else if (text.startsWith("false", pos)) {
+                pos += 5;
+                return Boolean.FALSE;
+            } else if (text.startsWith("null", pos)) {
+                pos += 4;
+                return null;
+            }
+            return readNumber();
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw error("Unexpected trailing content");
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"') {
+                    throw error("Expected a field name");
+                }
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                map.put(key, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+
+        private String readString() {
+            StringBuilder sb = new StringBuilder();
+            pos++;
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("Bad unicode escape");
+                        }
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Object readNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            String number = text.substring(start, pos);
+            if (number.isEmpty()) {
+                throw error("Unexpected character");
+            }
+            try {
+                if (number.contains(".") || number.contains("e") || number.contains("E")) {
+                    return Double.parseDouble(number);
+                }
+                return Long.parseLong(number);
+            } catch (NumberFormatException e) {
+                throw error("Bad number " + number);
+            }
+        }
+
+        private char peek() {
+            return pos < text.length() ? text.charAt(pos) : '\0';
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
@@ -1,52 +1,149 @@
 package com.revwf.util;
 
+import com.revwf.config.DatabaseConfig;
+
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
 public class PasswordUtil {
     private static final String ALGORITHM = "SHA-256";
+    private static final String KDF_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String KDF_PREFIX = "pbkdf2-sha256";
     private static final int SALT_LENGTH = 16;
-    
+    private static final int KEY_LENGTH_BITS = 256;
+    public static final int DEFAULT_ITERATIONS = 210000;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Used when the user does not exist so a miss costs the same as a wrong password
+    private static final class DummyHash {
+        static final String VALUE = hashPassword(generateRandomPassword(16));
+    }
+
+    private static final class WorkFactor {
+        static final int ITERATIONS = load();
+
+        private static int load() {
+            try {
+                return DatabaseConfig.getInstance().getIntProperty("password.hash.iterations", DEFAULT_ITERATIONS);
+            } catch (RuntimeException e) {
+                return DEFAULT_ITERATIONS;
+            }
+        }
+    }
+
+    /**
+     * Configured PBKDF2 iteration count (password.hash.iterations)
+     */
+    public static int getIterations() {
+        return WorkFactor.ITERATIONS;
+    }
+
     /**
-     * Hash a password with salt
+     * Hash a password with a random salt using the configured work factor
      */
     public static String hashPassword(String password) {
-        try {
-            // Generate salt
-            SecureRandom random = new SecureRandom();
-            byte[] salt = new byte[SALT_LENGTH];
-            random.nextBytes(salt);
-            
-            // Hash password with salt
-            MessageDigest md = MessageDigest.getInstance(ALGORITHM);
-            md.update(salt);
-            byte[] hashedPassword = md.digest(password.getBytes());
-            
-            // Combine salt and hash
-            byte[] combined = new byte[salt.length + hashedPassword.length];
-            System.arraycopy(salt, 0, combined, 0, salt.length);
-            System.arraycopy(hashedPassword, 0, combined, salt.length, hashedPassword.length);
-            
-            return Base64.getEncoder().encodeToString(combined);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error hashing password", e);
-        }
+        return hashPassword(password, getIterations());
     }
-    
+
     /**
-     * Verify a password against its hash
+     * Hash a password as pbkdf2-sha256$iterations$salt$hash, salt and hash in Base64
+     */
+    public static String hashPassword(String password, int iterations) {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterations);
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        return KDF_PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Verify a password against its stored hash in constant time. Rows written
+     * before hashing was introduced hold the plain password or its unsalted
+     * SHA-256 hex; both still verify, and needsRehash reports them for upgrade.
+     * A legacy value is classified first, so a SHA-256 row only accepts the
+     * password that hashes to it and never the hex string itself.
      */
     public static boolean verifyPassword(String plainPassword, String storedHash) {
         if (plainPassword == null || storedHash == null) {
             return false;
         }
 
-        String hashedInput = hashPassword(plainPassword);
-        return hashedInput.equals(storedHash);
+        if (!storedHash.startsWith(KDF_PREFIX + "$")) {
+            String candidate = isSha256Hex(storedHash) ? simpleHash(plainPassword) : plainPassword;
+            return MessageDigest.isEqual(storedHash.getBytes(StandardCharsets.UTF_8),
+                candidate.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] parts = storedHash.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, pbkdf2(plainPassword, salt, iterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 64 lowercase hex characters, the shape simpleHash produces
+     */
+    private static boolean isSha256Hex(String value) {
+        if (value.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
     }
 
+    /**
+     * Burn the same time as a real verification, for logins with an unknown user
+     */
+    public static void verifyAgainstDummy(String plainPassword) {
+        verifyPassword(plainPassword != null ? plainPassword : "", DummyHash.VALUE);
+    }
+
+    /**
+     * True when the stored hash is a legacy format or uses another work factor
+     */
+    public static boolean needsRehash(String storedHash) {
+        return needsRehash(storedHash, getIterations());
+    }
+
+    public static boolean needsRehash(String storedHash, int iterations) {
+        if (storedHash == null || !storedHash.startsWith(KDF_PREFIX + "$")) {
+            return true;
+        }
+        String[] parts = storedHash.split("\\$");
+        return parts.length != 4 || !parts[1].equals(String.valueOf(iterations));
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_LENGTH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(KDF_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new RuntimeException("Error hashing password", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
     
     /**
      * Simple hash for demo purposes
@@ -83,11 +180,10 @@ public class PasswordUtil {
      */
     public static String generateRandomPassword(int length) {
         String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        SecureRandom random = new SecureRandom();
         StringBuilder password = new StringBuilder();
         
         for (int i = 0; i < length; i++) {
-            password.append(chars.charAt(random.nextInt(chars.length())));
+            password.append(chars.charAt(RANDOM.nextInt(chars.length())));
         }
         
         return password.toString();
@@ -1,5 +1,8 @@
 package com.revwf.view;
 
+import com.revwf.config.DatabaseConfig;
+import com.revwf.config.LatencyHistogram;
+import com.revwf.config.SqlStats;
 import com.revwf.model.Department;
 import com.revwf.model.Designation;
 import com.revwf.model.Employee;
@@ -7,10 +10,15 @@ import com.revwf.model.Holiday;
 import com.revwf.model.LeaveApplication;
 import com.revwf.model.LeaveBalance;
 import com.revwf.model.LeaveType;
+import com.revwf.model.LeaveUsageSummary;
 import com.revwf.model.UserRole;
 import com.revwf.service.AuthService;
 import com.revwf.service.EmployeeService;
+import com.revwf.service.LeaveReportService;
 import com.revwf.service.LeaveService;
+import com.revwf.service.NotificationOutbox;
+import com.revwf.service.NotificationRetentionJob;
+import com.revwf.service.NotificationService;
 import com.revwf.util.InputValidator;
 
 import java.util.Scanner;
@@ -24,12 +32,16 @@ public class AdminDashboard {
     private final AuthService authService;
     private final EmployeeService employeeService;
     private final LeaveService leaveService;
+    private final LeaveReportService leaveReportService;
+    private final NotificationService notificationService;
 
     public AdminDashboard(AuthService authService) {
         this.scanner = new Scanner(System.in);
         this.authService = authService;
         this.employeeService = new EmployeeService();
         this.leaveService = new LeaveService();
+        this.leaveReportService = new LeaveReportService();
+        this.notificationService = new NotificationService();
     }
 
     public void show() {
@@ -240,7 +252,7 @@ public class AdminDashboard {
             String confirm = scanner.nextLine().trim().toLowerCase();
 
             if ("y".equals(confirm) || "yes".equals(confirm)) {
-                boolean success = leaveService.assignLeaveQuotasToAllEmployees();
+                boolean success = leaveService.assignLeaveQuotasToAllEmployees(this::printQuotaProgress);
 
                 if (success) {
                     System.out.println("✅ Leave quotas assigned to all employees successfully!");
@@ -257,6 +269,10 @@ public class AdminDashboard {
         }
     }
 
+    private void printQuotaProgress(int employeesAssigned, int balancesCreated) {
+        System.out.printf("  ... %d employees, %d balances assigned%n", employeesAssigned, balancesCreated);
+    }
+
     private void assignQuotasToSpecificEmployee() {
         System.out.println("\n👤 ASSIGN TO SPECIFIC EMPLOYEE");
         System.out.println("=".repeat(40));
@@ -367,7 +383,7 @@ public class AdminDashboard {
             String confirm = scanner.nextLine().trim().toLowerCase();
 
             if ("y".equals(confirm) || "yes".equals(confirm)) {
-                boolean success = leaveService.assignLeaveQuotasByDepartment(deptId);
+                boolean success = leaveService.assignLeaveQuotasByDepartment(deptId, this::printQuotaProgress);
 
                 if (success) {
                     System.out.printf("✅ Leave quotas assigned to %s department successfully!%n", department);
@@ -584,9 +600,9 @@ public class AdminDashboard {
         System.out.println("=".repeat(50));
 
         try {
-            List<Employee> employees = employeeService.getAllEmployees();
+            List<LeaveUsageSummary> summaries = leaveReportService.getEmployeeLeaveSummary();
 
-            if (employees.isEmpty()) {
+            if (summaries.isEmpty()) {
                 System.out.println("No employees found.");
                 return;
             }
@@ -595,26 +611,13 @@ public class AdminDashboard {
                     "Employee ID", "Name", "Allocated", "Used", "Remaining");
             System.out.println("=".repeat(70));
 
-            for (Employee emp : employees) {
-                try {
-                    List<LeaveBalance> balances = leaveService.getEmployeeLeaveBalances(emp.getEmpId());
-
-                    int totalAllocated = balances.stream().mapToInt(LeaveBalance::getAllocatedDays).sum();
-                    int totalUsed = balances.stream().mapToInt(LeaveBalance::getUsedDays).sum();
-                    int totalRemaining = balances.stream().mapToInt(LeaveBalance::getRemainingDays).sum();
-
-                    System.out.printf("%-15s | %-20s | %-10d | %-8d | %-10d%n",
-                            "EMP" + String.format("%03d", emp.getEmpId()),
-                            emp.getFullName(),
-                            totalAllocated,
-                            totalUsed,
-                            totalRemaining);
-                } catch (Exception e) {
-                    System.out.printf("%-15s | %-20s | %-10s | %-8s | %-10s%n",
-                            "EMP" + String.format("%03d", emp.getEmpId()),
-                            emp.getFullName(),
-                            "No Data", "No Data", "No Data");
-                }
+            for (LeaveUsageSummary summary : summaries) {
+                System.out.printf("%-15s | %-20s | %-10d | %-8d | %-10d%n",
+                        "EMP" + String.format("%03d", summary.getGroupId()),
+                        summary.getGroupName(),
+                        summary.getAllocatedDays(),
+                        summary.getUsedDays(),
+                        summary.getRemainingDays());
             }
 
             System.out.println("=".repeat(70));
@@ -628,42 +631,24 @@ public class AdminDashboard {
         System.out.println("\n🏢 DEPARTMENT-WISE LEAVE ANALYSIS");
         System.out.println("=".repeat(45));
 
-        String[] departments = { "Information Technology", "Human Resources", "Finance", "Marketing" };
+        List<LeaveUsageSummary> summaries;
+        try {
+            summaries = leaveReportService.getDepartmentLeaveSummary();
+        } catch (Exception e) {
+            System.out.println("❌ Error generating department leave analysis: " + e.getMessage());
+            return;
+        }
 
         System.out.printf("%-20s | %-10s | %-8s | %-10s | %-12s%n",
                 "Department", "Employees", "Allocated", "Used", "Utilization%");
         System.out.println("=".repeat(70));
 
-        for (int i = 0; i < departments.length; i++) {
-            try {
-                List<Employee> deptEmployees = employeeService.searchEmployeesByDepartment(departments[i]);
-
-                int totalAllocated = 0;
-                int totalUsed = 0;
-                int employeesWithData = 0;
-
-                for (Employee emp : deptEmployees) {
-                    try {
-                        List<LeaveBalance> balances = leaveService.getEmployeeLeaveBalances(emp.getEmpId());
-                        if (!balances.isEmpty()) {
-                            totalAllocated += balances.stream().mapToInt(LeaveBalance::getAllocatedDays).sum();
-                            totalUsed += balances.stream().mapToInt(LeaveBalance::getUsedDays).sum();
-                            employeesWithData++;
-                        }
-                    } catch (Exception e) {
-                        // Skip employees without leave data
-                    }
-                }
-
-                double utilization = totalAllocated > 0 ? (double) totalUsed / totalAllocated * 100 : 0;
-
-                System.out.printf("%-20s | %-10d | %-8d | %-10d | %-11.1f%%n",
-                        departments[i], employeesWithData, totalAllocated, totalUsed, utilization);
-
-            } catch (Exception e) {
-                System.out.printf("%-20s | %-10s | %-8s | %-10s | %-12s%n",
-                        departments[i], "Error", "Error", "Error", "Error");
-            }
+        int employeesWithLeaveData = 0;
+        for (LeaveUsageSummary summary : summaries) {
+            System.out.printf("%-20s | %-10d | %-8d | %-10d | %-11.1f%%n",
+                    summary.getGroupName(), summary.getEmployeesWithBalances(), summary.getAllocatedDays(),
+                    summary.getUsedDays(), summary.getUtilizationPercent());
+            employeesWithLeaveData += summary.getEmployeesWithBalances();
         }
 
         System.out.println("=".repeat(70));
@@ -671,20 +656,7 @@ public class AdminDashboard {
         // Additional insights
         System.out.println("\n📊 Department Insights:");
         try {
-            List<Employee> allEmployees = employeeService.getAllEmployees();
-            int totalEmployees = allEmployees.size();
-            int employeesWithLeaveData = 0;
-
-            for (Employee emp : allEmployees) {
-                try {
-                    List<LeaveBalance> balances = leaveService.getEmployeeLeaveBalances(emp.getEmpId());
-                    if (!balances.isEmpty()) {
-                        employeesWithLeaveData++;
-                    }
-                } catch (Exception e) {
-                    // Skip
-                }
-            }
+            int totalEmployees = employeeService.getTotalEmployeeCount();
 
             System.out.printf("- Total Employees: %d%n", totalEmployees);
             System.out.printf("- Employees with Leave Data: %d%n", employeesWithLeaveData);
@@ -701,8 +673,7 @@ public class AdminDashboard {
         System.out.println("=".repeat(35));
 
         try {
-            List<LeaveType> leaveTypes = leaveService.getAllLeaveTypes();
-            List<Employee> allEmployees = employeeService.getAllEmployees();
+            List<LeaveUsageSummary> summaries = leaveReportService.getLeaveTypeSummary();
 
             System.out.printf("%-15s | %-10s | %-8s | %-10s | %-12s%n",
                     "Leave Type", "Allocated", "Used", "Available", "Usage%");
@@ -711,30 +682,13 @@ public class AdminDashboard {
             int grandTotalAllocated = 0;
             int grandTotalUsed = 0;
 
-            for (LeaveType lt : leaveTypes) {
-                int typeAllocated = 0;
-                int typeUsed = 0;
-
-                for (Employee emp : allEmployees) {
-                    try {
-                        List<LeaveBalance> balances = leaveService.getEmployeeLeaveBalances(emp.getEmpId());
-                        for (LeaveBalance balance : balances) {
-                            if (balance.getLeaveTypeId() == lt.getLeaveTypeId()) {
-                                typeAllocated += balance.getAllocatedDays();
-                                typeUsed += balance.getUsedDays();
-                                break;
-                            }
-                        }
-                    } catch (Exception e) {
-                        // Skip employees without leave data
-                    }
-                }
-
-                int available = typeAllocated - typeUsed;
-                double usagePercent = typeAllocated > 0 ? (double) typeUsed / typeAllocated * 100 : 0;
+            for (LeaveUsageSummary summary : summaries) {
+                int typeAllocated = summary.getAllocatedDays();
+                int typeUsed = summary.getUsedDays();
 
                 System.out.printf("%-15s | %-10d | %-8d | %-10d | %-11.1f%%n",
-                        lt.getLeaveTypeName(), typeAllocated, typeUsed, available, usagePercent);
+                        summary.getGroupName(), typeAllocated, typeUsed, typeAllocated - typeUsed,
+                        summary.getUtilizationPercent());
 
                 grandTotalAllocated += typeAllocated;
                 grandTotalUsed += typeUsed;
@@ -772,38 +726,15 @@ public class AdminDashboard {
                 return;
             }
 
-            // Count applications by month
-            int[] monthlyCount = new int[12];
-            int[] monthlyApproved = new int[12];
-            int[] monthlyRejected = new int[12];
-            int[] monthlyPending = new int[12];
+            LeaveReportService.MonthlyLeaveTrends trends = LeaveReportService.summarizeMonthlyTrends(applications);
+            int[] monthlyCount = trends.monthlyCount;
+            int[] monthlyApproved = trends.monthlyApproved;
+            int[] monthlyRejected = trends.monthlyRejected;
+            int[] monthlyPending = trends.monthlyPending;
 
             String[] monthNames = { "Jan", "Feb", "Mar", "Apr", "May", "Jun",
                     "Jul", "Aug", "Sep", "Oct", "Nov", "Dec" };
 
-            for (LeaveApplication app : applications) {
-                if (app.getStartDate() != null) {
-                    int month = app.getStartDate().toLocalDate().getMonthValue() - 1; // 0-based
-                    monthlyCount[month]++;
-
-                    switch (app.getStatus()) {
-                        case APPROVED:
-                            monthlyApproved[month]++;
-                            break;
-                        case REJECTED:
-                            monthlyRejected[month]++;
-                            break;
-                        case PENDING:
-                            monthlyPending[month]++;
-                            break;
-                        case CANCELLED:
-                            // Count cancelled as rejected for trend analysis
-                            monthlyRejected[month]++;
-                            break;
-                    }
-                }
-            }
-
             System.out.printf("%-5s | %-7s | %-8s | %-8s | %-7s | %-12s%n",
                     "Month", "Total", "Approved", "Rejected", "Pending", "Approval%");
             System.out.println("=".repeat(60));
@@ -821,13 +752,10 @@ public class AdminDashboard {
             System.out.println("=".repeat(60));
 
             // Summary statistics
-            int totalApps = applications.size();
-            long approvedCount = applications.stream()
-                    .filter(app -> app.getStatus() == LeaveApplication.LeaveStatus.APPROVED).count();
-            long rejectedCount = applications.stream()
-                    .filter(app -> app.getStatus() == LeaveApplication.LeaveStatus.REJECTED).count();
-            long pendingCount = applications.stream()
-                    .filter(app -> app.getStatus() == LeaveApplication.LeaveStatus.PENDING).count();
+            int totalApps = trends.totalApplications;
+            int approvedCount = trends.approvedCount;
+            int rejectedCount = trends.rejectedCount;
+            int pendingCount = trends.pendingCount;
 
             System.out.println("\n📊 Overall Statistics:");
             System.out.printf("- Total Applications: %d%n", totalApps);
@@ -1260,23 +1188,22 @@ public class AdminDashboard {
         System.out.println("=".repeat(80));
 
         try {
-            List<Employee> employees = employeeService.getAllEmployees();
+            // Rows are printed as they are fetched so large organisations never sit in memory
+            int shown = employeeService.forEachEmployee(emp -> {
+                String status = emp.isActive() ? "Active" : "Inactive";
+                String statusIcon = emp.isActive() ? "✅" : "❌";
 
-            if (employees.isEmpty()) {
-                System.out.println("No employees found.");
-            } else {
-                for (Employee emp : employees) {
-                    String status = emp.isActive() ? "Active" : "Inactive";
-                    String statusIcon = emp.isActive() ? "✅" : "❌";
+                System.out.printf("%-8s | %-18s | %-12s | %-15s | %s %s%n",
+                        "EMP" + String.format("%03d", emp.getEmpId()),
+                        emp.getFullName(),
+                        emp.getDepartmentName() != null ? emp.getDepartmentName() : "N/A",
+                        emp.getDesignationName() != null ? emp.getDesignationName() : "N/A",
+                        statusIcon,
+                        status);
+            });
 
-                    System.out.printf("%-8s | %-18s | %-12s | %-15s | %s %s%n",
-                            "EMP" + String.format("%03d", emp.getEmpId()),
-                            emp.getFullName(),
-                            emp.getDepartmentName() != null ? emp.getDepartmentName() : "N/A",
-                            emp.getDesignationName() != null ? emp.getDesignationName() : "N/A",
-                            statusIcon,
-                            status);
-                }
+            if (shown == 0) {
+                System.out.println("No employees found.");
             }
         } catch (Exception e) {
             System.out.println("❌ Error loading employees: " + e.getMessage());
@@ -1743,14 +1670,15 @@ public class AdminDashboard {
             System.out.println("5. View System Audit Logs");
             System.out.println("6. Database Management");
             System.out.println("7. User Role Management");
-            System.out.println("8. Back");
+            System.out.println("8. Send Announcement");
+            System.out.println("9. Back");
             System.out.println("=".repeat(40));
 
             System.out.print("Enter your choice: ");
             String choice = scanner.nextLine().trim();
 
-            if (!InputValidator.isValidMenuChoice(choice, 8)) {
-                System.out.println("❌ Invalid choice! Please enter a number between 1-8.");
+            if (!InputValidator.isValidMenuChoice(choice, 9)) {
+                System.out.println("❌ Invalid choice! Please enter a number between 1-9.");
                 continue;
             }
 
@@ -1785,6 +1713,9 @@ public class AdminDashboard {
                 userRoleManagement();
                 break;
             case 8:
+                sendAnnouncement();
+                break;
+            case 9:
                 return true; // Back
             default:
                 System.out.println("❌ Invalid choice!");
@@ -1792,6 +1723,72 @@ public class AdminDashboard {
         return false;
     }
 
+    private void sendAnnouncement() {
+        System.out.println("\n📢 SEND ANNOUNCEMENT");
+        System.out.println("=".repeat(30));
+        System.out.println("1. All employees");
+        System.out.println("2. One department");
+        System.out.println("3. Everyone under a manager");
+        System.out.println("4. Specific employees");
+        System.out.print("Send to: ");
+        String choice = scanner.nextLine().trim();
+
+        if (!InputValidator.isValidMenuChoice(choice, 4)) {
+            System.out.println("❌ Invalid choice! Please enter a number between 1-4.");
+            return;
+        }
+
+        try {
+            NotificationService.BroadcastTarget target;
+            switch (Integer.parseInt(choice)) {
+                case 2:
+                    System.out.print("Enter department ID: ");
+                    target = NotificationService.BroadcastTarget.department(Integer.parseInt(scanner.nextLine().trim()));
+                    break;
+                case 3:
+                    System.out.print("Enter manager's employee ID (numeric): ");
+                    target = NotificationService.BroadcastTarget.managerSubtree(Integer.parseInt(scanner.nextLine().trim()));
+                    break;
+                case 4:
+                    System.out.print("Enter employee IDs (numeric, comma separated): ");
+                    List<Integer> empIds = new ArrayList<>();
+                    for (String part : scanner.nextLine().split(",")) {
+                        if (!part.trim().isEmpty()) {
+                            empIds.add(Integer.parseInt(part.trim()));
+                        }
+                    }
+                    target = NotificationService.BroadcastTarget.employees(empIds);
+                    break;
+                default:
+                    target = NotificationService.BroadcastTarget.all();
+            }
+
+            System.out.print("Title: ");
+            String title = scanner.nextLine().trim();
+            System.out.print("Message: ");
+            String message = scanner.nextLine().trim();
+            if (title.isEmpty() || message.isEmpty()) {
+                System.out.println("❌ Title and message are required.");
+                return;
+            }
+
+            NotificationService.BroadcastResult result =
+                    notificationService.broadcastAnnouncement(target, title, message);
+            if (result.recipients == 0) {
+                System.out.println("⚠️ No active employees matched that target.");
+            } else {
+                System.out.printf("✅ Sent to %d employees in %d ms (%d/sec)%n",
+                        result.recipients, result.elapsedMillis, result.getRowsPerSecond());
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("❌ IDs must be numbers.");
+        } catch (Exception e) {
+            System.out.println("❌ Error sending announcement: " + e.getMessage());
+        }
+
+        waitForEnter();
+    }
+
     private void manageDepartments() {
         while (true) {
             System.out.println("\n🏢 MANAGE DEPARTMENTS");
@@ -2040,6 +2037,30 @@ public class AdminDashboard {
         System.out.println("📈 Performance: Good");
         System.out.println("💾 Storage: 85% available");
         System.out.println("🔄 Last Backup: Today 02:00 AM");
+        NotificationOutbox.OutboxMetrics outbox = notificationService.getOutboxMetrics();
+        System.out.printf("📬 Notification Queue: %d/%d queued, %d written, %d direct writes, %d failed%n",
+                outbox.queueDepth, outbox.capacity, outbox.written, outbox.syncFallbacks, outbox.failed);
+        NotificationRetentionJob.RetentionRun retention = NotificationRetentionJob.getInstance().getLastRun();
+        if (retention != null) {
+            System.out.printf("🧹 Last Notification Purge: %s, %d rows in %d ms%s%n",
+                    retention.startedAt.withNano(0), retention.rowsPurged, retention.elapsedMillis,
+                    retention.completed ? "" : " (incomplete)");
+        } else {
+            System.out.println("🧹 Last Notification Purge: not run yet");
+        }
+        SqlStats sqlStats = DatabaseConfig.getInstance().getSqlStats();
+        LatencyHistogram connectionWait = sqlStats.getConnectionWait();
+        System.out.printf("⏱️ Connection Wait: p95 %d µs, max %d µs over %d borrows%n",
+                connectionWait.getPercentileMicros(95), connectionWait.getMaxMicros(), connectionWait.getCount());
+        List<SqlStats.QuerySnapshot> queries = sqlStats.snapshot();
+        if (!queries.isEmpty()) {
+            System.out.println("🐢 Top Queries by Total Time:");
+            for (SqlStats.QuerySnapshot query : queries.subList(0, Math.min(5, queries.size()))) {
+                String sql = query.queryId.length() > 60 ? query.queryId.substring(0, 57) + "..." : query.queryId;
+                System.out.printf("   %6d ms | %6d runs | p95 %7d µs | %d slow | %s%n",
+                        query.totalMillis, query.executions, query.p95Micros, query.slowExecutions, sql);
+            }
+        }
         System.out.println("=".repeat(30));
         System.out.println("🛠️ Available Operations:");
         System.out.println("- Database backup");
@@ -2068,7 +2089,12 @@ public class AdminDashboard {
             System.out.println("- Assign/change user roles");
             System.out.println("- Role-based permissions");
             System.out.println("- Access control management");
-            System.out.println("📝 Note: Role management system available.");
+
+            System.out.print("\nChange a user's role? (y/N): ");
+            String answer = scanner.nextLine().trim().toLowerCase();
+            if ("y".equals(answer) || "yes".equals(answer)) {
+                changeUserRole();
+            }
 
         } catch (Exception e) {
             System.out.println("❌ Error loading user statistics: " + e.getMessage());
@@ -2077,6 +2103,28 @@ public class AdminDashboard {
         waitForEnter();
     }
 
+    private void changeUserRole() {
+        System.out.print("Login ID of the user: ");
+        String employeeId = scanner.nextLine().trim();
+        System.out.print("New role (EMPLOYEE, MANAGER, ADMIN): ");
+        String roleName = scanner.nextLine().trim().toUpperCase();
+
+        UserRole role;
+        try {
+            role = UserRole.valueOf(roleName);
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ Unknown role: " + roleName);
+            return;
+        }
+
+        if (authService.changeUserRole(employeeId, role)) {
+            System.out.println("✅ " + employeeId + " is now " + role.getDisplayName()
+                    + ". Open sessions use the new permissions immediately.");
+        } else {
+            System.out.println("❌ Could not change the role of " + employeeId + ".");
+        }
+    }
+
     private void showReportsAnalytics() {
         while (true) {
             System.out.println("\n" + "=".repeat(40));
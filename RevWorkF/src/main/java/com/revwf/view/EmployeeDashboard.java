@@ -21,6 +21,9 @@ import java.util.Scanner;
 import java.util.List;
 
 public class EmployeeDashboard {
+    private static final int DIRECTORY_PAGE_SIZE = 20;
+    private static final int INBOX_PAGE_SIZE = 10;
+
     private final Scanner scanner;
     private final AuthService authService;
     private final EmployeeService employeeService;
@@ -1201,13 +1204,6 @@ public class EmployeeDashboard {
         System.out.println("=".repeat(40));
 
         try {
-            List<Employee> employees = employeeService.getAllEmployees();
-
-            if (employees.isEmpty()) {
-                System.out.println("No employees found.");
-                return;
-            }
-
             System.out.println("🔍 Search Options:");
             System.out.println("1. View All Employees");
             System.out.println("2. Search by Department");
@@ -1219,13 +1215,13 @@ public class EmployeeDashboard {
 
             switch (choice) {
                 case "1":
-                    showAllEmployees(employees);
+                    showEmployeeDirectoryPages();
                     break;
                 case "2":
-                    searchByDepartment(employees);
+                    searchByDepartment();
                     break;
                 case "3":
-                    searchByName(employees);
+                    searchByName();
                     break;
                 case "4":
                     return;
@@ -1240,6 +1236,46 @@ public class EmployeeDashboard {
         waitForEnter();
     }
 
+    /**
+     * Page through the directory one screen at a time, seeking on the last emp_id shown
+     */
+    private void showEmployeeDirectoryPages() {
+        System.out.println("\n📋 ALL EMPLOYEES");
+        System.out.println("=".repeat(60));
+        System.out.printf("%-12s | %-20s | %-15s | %-10s%n", "Employee ID", "Name", "Department", "Phone");
+        System.out.println("=".repeat(60));
+
+        int lastEmpId = 0;
+        int total = 0;
+        while (true) {
+            List<Employee> page = employeeService.getEmployeesPage(lastEmpId, DIRECTORY_PAGE_SIZE);
+            for (Employee emp : page) {
+                System.out.printf("%-12s | %-20s | %-15s | %-10s%n",
+                        "EMP" + String.format("%03d", emp.getEmpId()),
+                        emp.getFullName(),
+                        emp.getDepartmentName() != null ? emp.getDepartmentName() : "N/A",
+                        emp.getPhone() != null ? emp.getPhone() : "N/A");
+            }
+            total += page.size();
+
+            if (page.size() < DIRECTORY_PAGE_SIZE) {
+                break;
+            }
+            lastEmpId = page.get(page.size() - 1).getEmpId();
+
+            System.out.print("-- Press Enter for more, or 'q' to stop: ");
+            if ("q".equalsIgnoreCase(scanner.nextLine().trim())) {
+                break;
+            }
+        }
+
+        if (total == 0) {
+            System.out.println("No employees found.");
+        }
+        System.out.println("=".repeat(60));
+        System.out.println("Employees shown: " + total);
+    }
+
     private void showAllEmployees(List<Employee> employees) {
         System.out.println("\n📋 ALL EMPLOYEES");
         System.out.println("=".repeat(60));
@@ -1258,14 +1294,11 @@ public class EmployeeDashboard {
         System.out.println("Total Employees: " + employees.size());
     }
 
-    private void searchByDepartment(List<Employee> employees) {
+    private void searchByDepartment() {
         System.out.print("Enter department name: ");
         String deptName = scanner.nextLine().trim();
 
-        List<Employee> filtered = employees.stream()
-                .filter(emp -> emp.getDepartmentName() != null &&
-                        emp.getDepartmentName().toLowerCase().contains(deptName.toLowerCase()))
-                .collect(java.util.stream.Collectors.toList());
+        List<Employee> filtered = employeeService.searchEmployeesByDepartment(deptName);
 
         if (filtered.isEmpty()) {
             System.out.println("No employees found in department: " + deptName);
@@ -1275,13 +1308,11 @@ public class EmployeeDashboard {
         }
     }
 
-    private void searchByName(List<Employee> employees) {
+    private void searchByName() {
         System.out.print("Enter name to search: ");
         String name = scanner.nextLine().trim();
 
-        List<Employee> filtered = employees.stream()
-                .filter(emp -> emp.getFullName().toLowerCase().contains(name.toLowerCase()))
-                .collect(java.util.stream.Collectors.toList());
+        List<Employee> filtered = employeeService.searchEmployeesByName(name);
 
         if (filtered.isEmpty()) {
             System.out.println("No employees found with name: " + name);
@@ -1302,14 +1333,20 @@ public class EmployeeDashboard {
                 return;
             }
 
-            // Get real notifications from database
-            List<Notification> notifications = notificationService.getEmployeeNotifications(currentEmployee.getEmpId());
             int unreadCount = notificationService.getUnreadNotificationCount(currentEmployee.getEmpId());
+            boolean unreadOnly = false;
+            if (unreadCount > 0) {
+                System.out.print("Show unread only? (y/N): ");
+                String filter = scanner.nextLine().trim().toLowerCase();
+                unreadOnly = "y".equals(filter) || "yes".equals(filter);
+            }
 
             System.out.println("📬 Your Notifications (" + unreadCount + " unread):");
             System.out.println("=".repeat(40));
 
-            if (notifications.isEmpty()) {
+            List<Notification> notifications = notificationService.getNotificationsPage(
+                    currentEmployee.getEmpId(), unreadOnly, null, INBOX_PAGE_SIZE);
+            if (notifications.isEmpty() && !unreadOnly) {
                 System.out.println("📭 No notifications found.");
 
                 // Option to create sample notifications for testing
@@ -1329,13 +1366,25 @@ public class EmployeeDashboard {
                 System.out.println("- Remember to update your profile information");
                 System.out.println("- Check company calendar for upcoming holidays");
             } else {
-                for (Notification notification : notifications) {
-                    String status = notification.isRead() ? "📖" : "📩";
-                    String typeIcon = getNotificationTypeIcon(notification.getType());
+                while (true) {
+                    for (Notification notification : notifications) {
+                        String status = notification.isRead() ? "📖" : "📩";
+                        String typeIcon = getNotificationTypeIcon(notification.getType());
+
+                        System.out.printf("%s %s %s%n", status, typeIcon, notification.getTitle());
+                        System.out.printf("   %s%n", notification.getMessage());
+                        System.out.printf("   📅 %s%n%n", notification.getCreatedAt().toString());
+                    }
 
-                    System.out.printf("%s %s %s%n", status, typeIcon, notification.getTitle());
-                    System.out.printf("   %s%n", notification.getMessage());
-                    System.out.printf("   📅 %s%n%n", notification.getCreatedAt().toString());
+                    if (notifications.size() < INBOX_PAGE_SIZE) {
+                        break;
+                    }
+                    System.out.print("-- Press Enter for older notifications, or 'q' to stop: ");
+                    if ("q".equalsIgnoreCase(scanner.nextLine().trim())) {
+                        break;
+                    }
+                    notifications = notificationService.getNotificationsPage(currentEmployee.getEmpId(),
+                            unreadOnly, notifications.get(notifications.size() - 1), INBOX_PAGE_SIZE);
                 }
 
                 // Option to mark all as read
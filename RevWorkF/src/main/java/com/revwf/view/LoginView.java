@@ -8,6 +8,7 @@ import java.util.Scanner;
 public class LoginView {
     private final Scanner scanner;
     private final AuthService authService;
+    private boolean loggedOutByUser;
 
     public LoginView() {
         this.scanner = new Scanner(System.in);
@@ -51,6 +52,13 @@ public class LoginView {
                 System.out.println("Welcome, " + authService.getCurrentUser().getEmployeeId() + "!");
                 return true;
             } else {
+                long lockedSeconds = authService.getLockoutRemainingSeconds(employeeId);
+                if (lockedSeconds > 0) {
+                    System.out.println("🔒 Too many failed attempts. Try again in "
+                            + ((lockedSeconds + 59) / 60) + " minute(s).");
+                    return false;
+                }
+
                 attempts++;
                 int remainingAttempts = maxAttempts - attempts;
 
@@ -84,6 +92,9 @@ public class LoginView {
             int option = Integer.parseInt(choice);
             handleMainMenuChoice(option);
         }
+        if (!loggedOutByUser) {
+            System.out.println("⏰ Your session has expired. Please log in again.");
+        }
     }
 
     private void displayWelcomeMessage() {
@@ -193,6 +204,7 @@ public class LoginView {
     private void logout() {
         System.out.println("\nLogging out...");
         authService.logout();
+        loggedOutByUser = true;
         System.out.println("✅ Logged out successfully!");
        
     }
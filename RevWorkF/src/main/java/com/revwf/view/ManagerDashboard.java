@@ -1,17 +1,28 @@
 package com.revwf.view;
 
+import com.revwf.dao.LeaveApprovalPipeline;
+import com.revwf.model.Employee;
+import com.revwf.model.LeaveApplication;
 import com.revwf.service.AuthService;
+import com.revwf.service.EmployeeService;
+import com.revwf.service.LeaveService;
 import com.revwf.util.InputValidator;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 public class ManagerDashboard {
     private final Scanner scanner;
     private final AuthService authService;
+    private final EmployeeService employeeService;
+    private final LeaveService leaveService;
     
     public ManagerDashboard(AuthService authService) {
         this.scanner = new Scanner(System.in);
         this.authService = authService;
+        this.employeeService = new EmployeeService();
+        this.leaveService = new LeaveService();
     }
     
     public void show() {
@@ -294,12 +305,46 @@ public class ManagerDashboard {
     private void viewTeamStructure() {
         System.out.println("\n🏢 TEAM STRUCTURE");
         System.out.println("=".repeat(30));
-        System.out.println("Manager: " + authService.getCurrentUser().getEmployeeId());
-        System.out.println("├── John Doe (Software Engineer)");
-        System.out.println("├── Jane Smith (Senior Software Engineer)");
-        System.out.println("└── Mike Johnson (Software Engineer)");
-        System.out.println("=".repeat(30));
-        System.out.println("📝 Note: This will be loaded from database");
+
+        try {
+            Employee manager = getCurrentEmployee();
+            if (manager == null) {
+                System.out.println("❌ Could not load your employee record.");
+                waitForEnter();
+                return;
+            }
+
+            System.out.println("Manager: " + manager.getFullName());
+            List<Employee> chain = employeeService.getReportingChain(manager.getEmpId());
+            if (!chain.isEmpty()) {
+                StringBuilder reportsTo = new StringBuilder();
+                for (Employee above : chain) {
+                    reportsTo.append(reportsTo.length() == 0 ? "" : " → ").append(above.getFullName());
+                }
+                System.out.println("Reports to: " + reportsTo);
+            }
+
+            List<Employee> team = employeeService.getTeamMembers(manager.getEmpId());
+            if (team.isEmpty()) {
+                System.out.println("No direct reports.");
+            } else {
+                for (int i = 0; i < team.size(); i++) {
+                    Employee member = team.get(i);
+                    int below = employeeService.getOrganizationSize(member.getEmpId());
+                    System.out.printf("%s %s (%s)%s%n",
+                            i == team.size() - 1 ? "└──" : "├──",
+                            member.getFullName(),
+                            member.getDesignationName() != null ? member.getDesignationName() : "N/A",
+                            below > 0 ? " - " + below + " below" : "");
+                }
+            }
+
+            System.out.println("=".repeat(30));
+            System.out.println("Direct reports: " + employeeService.getSpanOfControl(manager.getEmpId()));
+            System.out.println("Total organization: " + employeeService.getOrganizationSize(manager.getEmpId()));
+        } catch (Exception e) {
+            System.out.println("❌ Error loading team structure: " + e.getMessage());
+        }
         waitForEnter();
     }
     
@@ -319,12 +364,78 @@ public class ManagerDashboard {
     private void approveRejectLeaveRequests() {
         System.out.println("\n✅❌ APPROVE/REJECT LEAVE REQUESTS");
         System.out.println("=".repeat(45));
-        System.out.println("No pending leave requests to review.");
-        System.out.println("📝 Note: This will show detailed leave requests");
-        System.out.println("Features to include:");
-        System.out.println("- View leave details");
-        System.out.println("- Add manager comments");
-        System.out.println("- Approve/Reject with reasons");
+
+        try {
+            Employee manager = getCurrentEmployee();
+            if (manager == null) {
+                System.out.println("❌ Could not load your employee record.");
+                waitForEnter();
+                return;
+            }
+
+            List<LeaveApplication> pending = leaveService.getPendingLeaveApplicationsForManager(manager.getEmpId());
+            if (pending.isEmpty()) {
+                System.out.println("No pending leave requests to review.");
+                waitForEnter();
+                return;
+            }
+
+            System.out.printf("%-4s | %-20s | %-15s | %-10s | %-10s | %s%n",
+                    "#", "Employee", "Leave Type", "From", "To", "Days");
+            System.out.println("=".repeat(80));
+            for (int i = 0; i < pending.size(); i++) {
+                LeaveApplication app = pending.get(i);
+                System.out.printf("%-4d | %-20s | %-15s | %-10s | %-10s | %d%n",
+                        i + 1, app.getEmployeeName(), app.getLeaveTypeName(),
+                        app.getStartDate(), app.getEndDate(), app.getTotalDays());
+            }
+            System.out.println("=".repeat(80));
+
+            System.out.print("Select requests (e.g. 1,3,4 or 'all'): ");
+            String selection = scanner.nextLine().trim();
+            List<Integer> applicationIds = new ArrayList<>();
+            if (selection.equalsIgnoreCase("all")) {
+                for (LeaveApplication app : pending) {
+                    applicationIds.add(app.getApplicationId());
+                }
+            } else {
+                for (String part : selection.split(",")) {
+                    String number = part.trim();
+                    if (!InputValidator.isValidMenuChoice(number, pending.size())) {
+                        System.out.println("❌ Invalid selection: " + number);
+                        waitForEnter();
+                        return;
+                    }
+                    applicationIds.add(pending.get(Integer.parseInt(number) - 1).getApplicationId());
+                }
+            }
+
+            System.out.print("Approve or Reject? (A/R): ");
+            String decisionInput = scanner.nextLine().trim().toUpperCase();
+            LeaveApplication.LeaveStatus decision;
+            if (decisionInput.equals("A")) {
+                decision = LeaveApplication.LeaveStatus.APPROVED;
+            } else if (decisionInput.equals("R")) {
+                decision = LeaveApplication.LeaveStatus.REJECTED;
+            } else {
+                System.out.println("❌ Invalid choice!");
+                waitForEnter();
+                return;
+            }
+
+            System.out.print("Comments: ");
+            String comments = scanner.nextLine().trim();
+
+            LeaveApprovalPipeline.BatchResult result = leaveService.decideLeaveApplications(
+                    applicationIds, decision, comments, manager.getEmpId());
+
+            System.out.printf("✅ %d request(s) %s.%n", result.applied.size(), decision.name().toLowerCase());
+            if (!result.skipped.isEmpty()) {
+                System.out.println("⚠️ Skipped (already handled or changed): " + result.skipped.size());
+            }
+        } catch (Exception e) {
+            System.out.println("❌ Error processing leave requests: " + e.getMessage());
+        }
         waitForEnter();
     }
     
@@ -353,6 +464,14 @@ public class ManagerDashboard {
         waitForEnter();
     }
     
+    private Employee getCurrentEmployee() {
+        try {
+            return employeeService.getEmployeeByEmployeeId(authService.getCurrentUser().getEmployeeId());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
     private void waitForEnter() {
         System.out.print("\nPress Enter to continue...");
         scanner.nextLine();
@@ -0,0 +1,119 @@
+package com.revwf.api;
+
+import com.revwf.model.User;
+import com.revwf.model.UserRole;
+import com.revwf.service.SessionRegistry;
+import com.revwf.util.Json;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ApiServerTest {
+
+    private ApiServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new ApiServer(0, 2, 10);
+        server.listen();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private String login(UserRole role) {
+        User user = new User("EMP9" + role.ordinal(), "api@revwf.com", "hash", role);
+        user.setUserId(9000 + role.ordinal());
+        return SessionRegistry.getInstance().create(user).getToken();
+    }
+
+    private HttpURLConnection request(String method, String path, String token) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path)
+                .openConnection();
+        conn.setRequestMethod(method);
+        if (token != null) {
+            conn.setRequestProperty("Authorization", "Bearer " + token);
+        }
+        return conn;
+    }
+
+    private Map<String, Object> body(HttpURLConnection conn) throws IOException {
+        InputStream in = conn.getResponseCode() < 400 ? conn.getInputStream() : conn.getErrorStream();
+        try (InputStream body = in) {
+            return Json.parseObject(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testMissingTokenIsRejected() throws IOException {
+        HttpURLConnection conn = request("GET", "/api/metrics", null);
+
+        assertEquals(401, conn.getResponseCode());
+        assertEquals("Missing bearer token", body(conn).get("error"));
+    }
+
+    @Test
+    public void testUnknownTokenIsRejected() throws IOException {
+        HttpURLConnection conn = request("GET", "/api/me", "not-a-session");
+
+        assertEquals(401, conn.getResponseCode());
+        assertEquals("Session expired or unknown", body(conn).get("error"));
+    }
+
+    @Test
+    public void testMetricsRequireConfigureSystem() throws IOException {
+        assertEquals(403, request("GET", "/api/metrics", login(UserRole.EMPLOYEE)).getResponseCode());
+
+        HttpURLConnection conn = request("GET", "/api/metrics", login(UserRole.ADMIN));
+        assertEquals(200, conn.getResponseCode());
+        assertTrue("Admin should see pool metrics", body(conn).containsKey("pool"));
+    }
+
+    @Test
+    public void testUnknownEndpointIsNotFound() throws IOException {
+        assertEquals(404, request("GET", "/api/nothing-here", login(UserRole.EMPLOYEE)).getResponseCode());
+    }
+
+    @Test
+    public void testWrongMethodIsRejected() throws IOException {
+        assertEquals(405, request("POST", "/api/health", null).getResponseCode());
+        assertEquals(405, request("DELETE", "/api/me", login(UserRole.EMPLOYEE)).getResponseCode());
+    }
+
+    @Test
+    public void testNonStringOptionalFieldIsBadRequest() throws IOException {
+        HttpURLConnection conn = request("POST", "/api/leaves", login(UserRole.EMPLOYEE));
+        conn.setDoOutput(true);
+        try (OutputStream out = conn.getOutputStream()) {
+            out.write("{\"leaveTypeId\":1,\"startDate\":\"2026-11-02\",\"endDate\":\"2026-11-03\",\"reason\":5}"
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(400, conn.getResponseCode());
+        assertEquals("reason must be a string", body(conn).get("error"));
+    }
+
+    @Test
+    public void testHealthNeedsNoTokenAndRevealsOnlyStatus() throws IOException {
+        HttpURLConnection conn = request("GET", "/api/health", null);
+        int status = conn.getResponseCode();
+        Map<String, Object> body = body(conn);
+
+        assertTrue("Health should be up or down, not an auth failure", status == 200 || status == 503);
+        assertEquals("Health should carry a single field", 1, body.size());
+        assertFalse("Pool internals belong to /api/metrics", body.containsKey("pool"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.revwf.config;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConnectionPoolTest {
+
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private Connection stubConnection(AtomicBoolean valid) {
+        opened.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            closed.set(true);
+                            return null;
+                        case "isClosed":
+                            return closed.get();
+                        case "isValid":
+                            return valid.get();
+                        case "getAutoCommit":
+                            return true;
+                        case "prepareStatement":
+                            return stubStatement(PreparedStatement.class);
+                        case "prepareCall":
+                            return stubStatement(CallableStatement.class);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private Object stubStatement(Class<?> type) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> null);
+    }
+
+    @Test
+    public void testWarmUpOpensInitialConnections() {
+        ConnectionPool pool = new ConnectionPool(() -> stubConnection(new AtomicBoolean(true)), 3, 5, 100, 1, 0);
+        pool.warmUp();
+
+        assertEquals("Warm-up should open the initial size", 3, opened.get());
+        assertEquals("All warmed connections should be idle", 3, pool.getMetrics().idleConnections);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testClosedConnectionIsReused() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(() -> stubConnection(new AtomicBoolean(true)), 0, 2, 100, 1, 0);
+
+        Connection first = pool.getConnection();
+        assertEquals("One connection should be active", 1, pool.getMetrics().activeConnections);
+        first.close();
+        assertTrue("Returned proxy should report closed", first.isClosed());
+
+        pool.getConnection().close();
+        assertEquals("Second borrow should reuse the physical connection", 1, opened.get());
+        assertEquals("Two borrows should be counted", 2, pool.getMetrics().borrowCount);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testInvalidConnectionIsReplacedOnBorrow() throws SQLException {
+        AtomicBoolean valid = new AtomicBoolean(true);
+        ConnectionPool pool = new ConnectionPool(() -> stubConnection(valid), 1, 2, 100, 1, 0);
+        pool.warmUp();
+
+        valid.set(false);
+        Connection conn = pool.getConnection();
+
+        assertNotNull("Borrow should still succeed", conn);
+        assertEquals("A replacement connection should be opened", 2, opened.get());
+        assertEquals("Validation failure should be counted", 1, pool.getMetrics().validationFailures);
+        conn.close();
+        pool.shutdown();
+    }
+
+    @Test
+    public void testBorrowTimesOutWhenExhausted() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(() -> stubConnection(new AtomicBoolean(true)), 0, 1, 50, 1, 0);
+        Connection held = pool.getConnection();
+
+        try {
+            pool.getConnection();
+            fail("Borrow should time out when the pool is exhausted");
+        } catch (SQLException expected) {
+            assertEquals("Timeout should be counted", 1, pool.getMetrics().timeoutCount);
+        }
+
+        held.close();
+        pool.shutdown();
+    }
+
+    @Test
+    public void testPrepareCallIsNotWrappedAsPreparedStatement() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(() -> stubConnection(new AtomicBoolean(true)), 0, 1, 100, 1, 0,
+                new SqlStats(10, 0));
+        Connection conn = pool.getConnection();
+
+        CallableStatement call = conn.prepareCall("{call refresh_stats()}");
+        PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM dual");
+
+        assertNotNull("prepareCall should return the driver's CallableStatement", call);
+        assertEquals("prepareStatement should still be instrumented", InstrumentedStatements.class,
+                Proxy.getInvocationHandler(stmt).getClass().getEnclosingClass());
+        conn.close();
+        pool.shutdown();
+    }
+}
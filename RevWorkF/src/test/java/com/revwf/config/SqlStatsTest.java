@@ -0,0 +1,112 @@
+package com.revwf.config;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SqlStatsTest {
+
+    private static PreparedStatement stubStatement(int rows) {
+        AtomicInteger served = new AtomicInteger();
+        ResultSet rs = (ResultSet) Proxy.newProxyInstance(SqlStatsTest.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("next")) {
+                        return served.incrementAndGet() <= rows;
+                    }
+                    return null;
+                });
+        return (PreparedStatement) Proxy.newProxyInstance(SqlStatsTest.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeQuery":
+                            return rs;
+                        case "executeUpdate":
+                            return 2;
+                        case "executeBatch":
+                            return new int[] { 1, PreparedStatement.SUCCESS_NO_INFO, 1 };
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100_000); // 100 µs
+        }
+        histogram.record(50_000_000); // 50 ms
+
+        assertEquals(100, histogram.getCount());
+        assertEquals("Median lands in the 64-128 µs bucket", 128, histogram.getPercentileMicros(50));
+        assertEquals("Top percentile is capped at the max", 50_000, histogram.getPercentileMicros(100));
+        assertEquals(50_000, histogram.getMaxMicros());
+    }
+
+    @Test
+    public void testQueriesWithDifferentInListsShareAnId() {
+        SqlStats stats = new SqlStats(10, -1);
+        assertEquals(stats.queryId("SELECT * FROM t WHERE id IN (?, ?)"),
+                stats.queryId("SELECT *\n  FROM t WHERE id IN (?,?,?)"));
+    }
+
+    @Test
+    public void testTrackedQueriesAreBounded() {
+        SqlStats stats = new SqlStats(2, -1);
+        for (int i = 0; i < 10; i++) {
+            stats.record("SELECT " + i + " FROM dual", 1_000, 1);
+        }
+
+        List<SqlStats.QuerySnapshot> snapshot = stats.snapshot();
+        assertEquals("Two tracked plus the overflow entry", 3, snapshot.size());
+        long executions = 0;
+        for (SqlStats.QuerySnapshot query : snapshot) {
+            executions += query.executions;
+        }
+        assertEquals("Nothing is dropped", 10, executions);
+    }
+
+    @Test
+    public void testSlowExecutionsAreCounted() {
+        SqlStats stats = new SqlStats(10, 5);
+        stats.record("SELECT 1 FROM dual", 1_000_000, 1);
+        stats.record("SELECT 1 FROM dual", 6_000_000, 1);
+
+        assertEquals(1, stats.snapshot().get(0).slowExecutions);
+    }
+
+    @Test
+    public void testInstrumentedStatementRecordsRowsAndBatches() throws Exception {
+        SqlStats stats = new SqlStats(10, -1);
+
+        PreparedStatement query = InstrumentedStatements.prepared(stubStatement(3), "SELECT a FROM t", stats);
+        ResultSet rs = query.executeQuery();
+        while (rs.next()) {
+            // drain
+        }
+        rs.close();
+        query.close();
+
+        PreparedStatement batch = InstrumentedStatements.prepared(stubStatement(0), "INSERT INTO t VALUES (?)", stats);
+        batch.executeBatch();
+        batch.executeUpdate();
+
+        for (SqlStats.QuerySnapshot snapshot : stats.snapshot()) {
+            if (snapshot.queryId.startsWith("SELECT")) {
+                assertEquals("Query is recorded once, when the rows run out", 1, snapshot.executions);
+                assertEquals(3, snapshot.rows);
+            } else {
+                assertEquals(2, snapshot.executions);
+                assertEquals("Batch of 3 plus an update of 2", 5, snapshot.rows);
+            }
+        }
+        assertEquals(2, stats.snapshot().size());
+    }
+}
@@ -0,0 +1,55 @@
+package com.revwf.dao;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DataGeneratorTest {
+
+    @Test
+    public void testOrgTreeHasRequestedDepth() {
+        int[] managerIndex = DataGenerator.buildOrgTree(new Random(42), 10_000, 5);
+        int[] level = DataGenerator.levelsOf(managerIndex);
+
+        assertEquals("Single root", -1, managerIndex[0]);
+        assertEquals(1, Arrays.stream(managerIndex).filter(m -> m < 0).count());
+        assertEquals("Deepest level", 4, Arrays.stream(level).max().getAsInt());
+        for (int i = 1; i < managerIndex.length; i++) {
+            assertTrue("Managers come before their reports", managerIndex[i] < i);
+            assertEquals("Reports sit one level below their manager", level[managerIndex[i]] + 1, level[i]);
+        }
+    }
+
+    @Test
+    public void testOrgTreeIsDeterministicForSeed() {
+        assertArrayEquals(DataGenerator.buildOrgTree(new Random(7), 5_000, 5),
+                DataGenerator.buildOrgTree(new Random(7), 5_000, 5));
+        assertFalse(Arrays.equals(DataGenerator.buildOrgTree(new Random(7), 5_000, 5),
+                DataGenerator.buildOrgTree(new Random(8), 5_000, 5)));
+    }
+
+    @Test
+    public void testSmallOrgs() {
+        assertArrayEquals(new int[] {-1}, DataGenerator.buildOrgTree(new Random(1), 1, 5));
+        int[] level = DataGenerator.levelsOf(DataGenerator.buildOrgTree(new Random(1), 3, 5));
+        assertArrayEquals("Fewer employees than levels gives a chain", new int[] {0, 1, 2}, level);
+    }
+
+    @Test
+    public void testParseOptions() {
+        DataGenerator.Options options = DataGenerator.Options.parse(
+                new String[] {"--seed=9", "--employees=500", "--as-of=2025-01-31"});
+        assertEquals(9, options.seed);
+        assertEquals(500, options.employees);
+        assertEquals("2025-01-31", options.asOf.toString());
+        assertEquals("Unset options keep defaults", 5, options.levels);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseRejectsUnknownOption() {
+        DataGenerator.Options.parse(new String[] {"--colour=blue"});
+    }
+}
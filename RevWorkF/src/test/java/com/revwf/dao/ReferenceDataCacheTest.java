@@ -0,0 +1,87 @@
+package com.revwf.dao;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ReferenceDataCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private List<String> loadDepartments() {
+        loads.incrementAndGet();
+        return Arrays.asList("Finance", "Marketing");
+    }
+
+    @Test
+    public void testSecondReadIsServedFromCache() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(60000);
+
+        List<String> first = cache.get(ReferenceDataCache.Kind.DEPARTMENTS, this::loadDepartments);
+        List<String> second = cache.get(ReferenceDataCache.Kind.DEPARTMENTS, this::loadDepartments);
+
+        assertEquals("Loader should run once", 1, loads.get());
+        assertEquals("Cached rows should match", first, second);
+        assertEquals("One hit expected", 1, cache.getStats(ReferenceDataCache.Kind.DEPARTMENTS).hits);
+        assertEquals("One miss expected", 1, cache.getStats(ReferenceDataCache.Kind.DEPARTMENTS).misses);
+    }
+
+    @Test
+    public void testInvalidateForcesReload() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(60000);
+
+        cache.get(ReferenceDataCache.Kind.DEPARTMENTS, this::loadDepartments);
+        cache.invalidate(ReferenceDataCache.Kind.DEPARTMENTS);
+        cache.get(ReferenceDataCache.Kind.DEPARTMENTS, this::loadDepartments);
+
+        assertEquals("Loader should run again after invalidation", 2, loads.get());
+        assertEquals("Invalidation should be counted", 1,
+                cache.getStats(ReferenceDataCache.Kind.DEPARTMENTS).invalidations);
+    }
+
+    @Test
+    public void testExpiredEntryIsReloaded() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(0);
+
+        cache.get(ReferenceDataCache.Kind.HOLIDAYS, this::loadDepartments);
+        cache.get(ReferenceDataCache.Kind.HOLIDAYS, this::loadDepartments);
+
+        assertEquals("Zero TTL should reload every time", 2, loads.get());
+    }
+
+    @Test
+    public void testCallerCannotCorruptCachedRows() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(60000);
+
+        cache.get(ReferenceDataCache.Kind.LEAVE_TYPES, this::loadDepartments).clear();
+        List<String> rows = cache.get(ReferenceDataCache.Kind.LEAVE_TYPES, this::loadDepartments);
+
+        assertEquals("Cached list should be unaffected by caller changes", 2, rows.size());
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        ReferenceDataCache cache = new ReferenceDataCache(60000);
+
+        try {
+            cache.get(ReferenceDataCache.Kind.DESIGNATIONS, () -> {
+                throw new SQLException("down");
+            });
+            fail("Load failure should propagate");
+        } catch (SQLException expected) {
+            // expected
+        }
+
+        try {
+            cache.get(ReferenceDataCache.Kind.DESIGNATIONS, this::loadDepartments);
+        } catch (SQLException e) {
+            fail("Retry should succeed");
+        }
+        assertEquals("Retry should hit the loader", 1, loads.get());
+    }
+}
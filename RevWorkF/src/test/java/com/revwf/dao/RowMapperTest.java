@@ -0,0 +1,111 @@
+package com.revwf.dao;
+
+import com.revwf.model.Employee;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RowMapperTest {
+
+    private static final List<String> COLUMNS = Arrays.asList(
+            "emp_id", "user_id", "first_name", "last_name", "phone", "address", "date_of_birth",
+            "joining_date", "dept_id", "designation_id", "manager_id", "salary", "emergency_contact",
+            "created_at", "updated_at", "dept_name", "designation_name", "manager_name", "is_active");
+
+    private final AtomicInteger labelLookups = new AtomicInteger();
+
+    /**
+     * Forward-only result set over the given rows that counts lookups by label
+     */
+    private ResultSet resultSet(Object[][] rows) {
+        int[] row = {-1};
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++row[0] < rows.length;
+                        case "wasNull":
+                            return wasNull[0];
+                        case "findColumn": {
+                            labelLookups.incrementAndGet();
+                            int index = COLUMNS.indexOf(((String) args[0]).toLowerCase());
+                            if (index < 0) {
+                                throw new SQLException("No column " + args[0]);
+                            }
+                            return index + 1;
+                        }
+                        default:
+                            if (!(args[0] instanceof Integer)) {
+                                throw new SQLException("Looked up by label: " + args[0]);
+                            }
+                            Object value = rows[row[0]][(Integer) args[0] - 1];
+                            wasNull[0] = value == null;
+                            if (method.getName().equals("getInt")) {
+                                return value == null ? 0 : value;
+                            }
+                            if (method.getName().equals("getDouble")) {
+                                return value == null ? 0.0 : value;
+                            }
+                            return value;
+                    }
+                });
+    }
+
+    private static Object[] employeeRow(int empId, Integer managerId, String dept) {
+        return new Object[] {empId, empId, "First" + empId, "Last" + empId, null, null, null, null, 1, 1,
+                managerId, 50000.0, null, null, null, new String(dept), new String("Engineer"), null, 1};
+    }
+
+    @Test
+    public void testColumnsResolvedOncePerResultSet() throws SQLException {
+        ResultSet rs = resultSet(new Object[][] {
+                employeeRow(1, null, "Finance"), employeeRow(2, 1, "Finance"), employeeRow(3, 1, "Sales")});
+
+        EmployeeDAO.EmployeeMapper mapper = new EmployeeDAO.EmployeeMapper(rs);
+        List<Employee> employees = new ArrayList<>();
+        while (rs.next()) {
+            employees.add(mapper.map());
+        }
+
+        assertEquals(3, employees.size());
+        assertEquals("One lookup per column, not per row", COLUMNS.size(), labelLookups.get());
+        assertEquals(2, employees.get(1).getEmpId());
+        assertEquals("Sales", employees.get(2).getDepartmentName());
+        assertTrue(employees.get(0).isActive());
+    }
+
+    @Test
+    public void testNullManagerStaysNull() throws SQLException {
+        ResultSet rs = resultSet(new Object[][] {employeeRow(1, null, "Finance"), employeeRow(2, 1, "Finance")});
+
+        EmployeeDAO.EmployeeMapper mapper = new EmployeeDAO.EmployeeMapper(rs);
+        rs.next();
+        assertNull(mapper.map().getManagerId());
+        rs.next();
+        assertEquals(Integer.valueOf(1), mapper.map().getManagerId());
+    }
+
+    @Test
+    public void testRepeatedNamesShareOneString() throws SQLException {
+        ResultSet rs = resultSet(new Object[][] {employeeRow(1, null, "Finance"), employeeRow(2, 1, "Finance")});
+
+        EmployeeDAO.EmployeeMapper mapper = new EmployeeDAO.EmployeeMapper(rs);
+        rs.next();
+        Employee first = mapper.map();
+        rs.next();
+        Employee second = mapper.map();
+
+        assertSame(first.getDepartmentName(), second.getDepartmentName());
+        assertSame(first.getDesignationName(), second.getDesignationName());
+    }
+}
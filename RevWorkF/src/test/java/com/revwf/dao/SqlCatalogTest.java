@@ -0,0 +1,51 @@
+package com.revwf.dao;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class SqlCatalogTest {
+
+    // A fragment missing its trailing space glues two keywords or identifiers together
+    private static final Pattern GLUED = Pattern.compile("(?i)[a-z_)](FROM|WHERE|ORDER|LEFT|JOIN|AND|FETCH)\\b");
+
+    private static Map<String, String> statements() throws IllegalAccessException {
+        Map<String, String> statements = new HashMap<>();
+        for (Field field : SqlCatalog.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                field.setAccessible(true);
+                statements.put(field.getName(), (String) field.get(null));
+            }
+        }
+        return statements;
+    }
+
+    @Test
+    public void testStatementsAreDistinct() throws IllegalAccessException {
+        Map<String, String> namesBySql = new HashMap<>();
+        for (Map.Entry<String, String> entry : statements().entrySet()) {
+            String previous = namesBySql.put(entry.getValue(), entry.getKey());
+            assertNull(entry.getKey() + " duplicates " + previous, previous);
+        }
+    }
+
+    @Test
+    public void testFragmentsAreSeparatedBySpaces() throws IllegalAccessException {
+        for (Map.Entry<String, String> entry : statements().entrySet()) {
+            assertFalse(entry.getKey() + " has a missing space", GLUED.matcher(entry.getValue()).find());
+        }
+    }
+
+    @Test
+    public void testNamedStatementsExtendTheirSelect() {
+        assertTrue(SqlCatalog.EMPLOYEE_BY_ID.startsWith(SqlCatalog.EMPLOYEE_SELECT));
+        assertTrue(SqlCatalog.LEAVE_APPLICATIONS_PENDING_FOR_MANAGER.startsWith(SqlCatalog.LEAVE_APPLICATION_SELECT));
+        assertTrue(SqlCatalog.PERFORMANCE_REVIEW_BY_ID.startsWith(SqlCatalog.PERFORMANCE_REVIEW_SELECT));
+    }
+}
@@ -0,0 +1,85 @@
+package com.revwf.service;
+
+import com.revwf.model.Employee;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex index;
+
+    private Employee employee(int empId, String first, String last, String dept, String designation) {
+        Employee employee = new Employee();
+        employee.setEmpId(empId);
+        employee.setFirstName(first);
+        employee.setLastName(last);
+        employee.setDepartmentName(dept);
+        employee.setDesignationName(designation);
+        return employee;
+    }
+
+    @Before
+    public void setUp() {
+        index = new EmployeeSearchIndex();
+        Map<Integer, String> codes = new HashMap<>();
+        codes.put(1, "EMP001");
+        codes.put(2, "EMP002");
+        codes.put(3, "EMP003");
+        index.rebuild(Arrays.asList(
+                employee(1, "Priya", "Sharma", "Engineering", "Software Engineer"),
+                employee(2, "Arjun", "Mehta", "Finance", "Accountant"),
+                employee(3, "Anita", "Sharma", "Engineering", "Team Lead")), codes);
+    }
+
+    @Test
+    public void testLongTermMatchesSubstringIgnoringCase() {
+        List<Employee> results = index.search(EmployeeSearchIndex.Field.NAME, "SHARM");
+
+        assertEquals("Two Sharmas expected", 2, results.size());
+        assertEquals("Results should be ordered by first name", "Anita", results.get(0).getFirstName());
+    }
+
+    @Test
+    public void testShortTermUsesSingleGramLookup() {
+        assertEquals("'fi' only appears in Finance", 1,
+                index.search(EmployeeSearchIndex.Field.DEPARTMENT, "fi").size());
+        assertEquals("Employee ID lookup", 3,
+                index.search(EmployeeSearchIndex.Field.EMPLOYEE_ID, "003").get(0).getEmpId());
+    }
+
+    @Test
+    public void testTrigramCandidatesAreConfirmed() {
+        // Every trigram of "ngine" occurs in this department, but never as one run
+        index.put(employee(4, "Ravi", "Kumar", "Ngi Gin Ine", "Engineer"), "EMP004");
+
+        List<Employee> results = index.search(EmployeeSearchIndex.Field.DEPARTMENT, "ngine");
+
+        assertEquals("Only true substring matches should be returned", 2, results.size());
+    }
+
+    @Test
+    public void testPutReplacesPreviousValues() {
+        index.put(employee(2, "Arjun", "Mehta", "Operations", "Manager"));
+
+        assertTrue("Old department should no longer match",
+                index.search(EmployeeSearchIndex.Field.DEPARTMENT, "finance").isEmpty());
+        assertEquals("New department should match", 1,
+                index.search(EmployeeSearchIndex.Field.DEPARTMENT, "operations").size());
+        assertEquals("Employee ID should be kept", 1,
+                index.search(EmployeeSearchIndex.Field.EMPLOYEE_ID, "emp002").size());
+    }
+
+    @Test
+    public void testBlankTermReturnsNothing() {
+        assertTrue(index.search(EmployeeSearchIndex.Field.NAME, "  ").isEmpty());
+        assertEquals(3, index.size());
+    }
+}
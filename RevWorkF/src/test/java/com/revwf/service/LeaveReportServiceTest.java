@@ -0,0 +1,51 @@
+package com.revwf.service;
+
+import com.revwf.model.LeaveApplication;
+import com.revwf.model.LeaveApplication.LeaveStatus;
+
+import org.junit.Test;
+
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class LeaveReportServiceTest {
+
+    private static LeaveApplication application(String startDate, LeaveStatus status) {
+        LeaveApplication application = new LeaveApplication();
+        application.setStartDate(startDate != null ? Date.valueOf(startDate) : null);
+        application.setStatus(status);
+        return application;
+    }
+
+    @Test
+    public void testMonthlyTrendsCountByStartMonthAndStatus() {
+        LeaveReportService.MonthlyLeaveTrends trends = LeaveReportService.summarizeMonthlyTrends(Arrays.asList(
+                application("2024-01-10", LeaveStatus.APPROVED),
+                application("2024-01-20", LeaveStatus.PENDING),
+                application("2024-03-05", LeaveStatus.REJECTED),
+                application("2024-03-06", LeaveStatus.CANCELLED),
+                application(null, LeaveStatus.APPROVED)));
+
+        assertEquals(2, trends.monthlyCount[0]);
+        assertEquals(1, trends.monthlyApproved[0]);
+        assertEquals(1, trends.monthlyPending[0]);
+        assertEquals(2, trends.monthlyCount[2]);
+        assertEquals("Cancelled counts as rejected per month", 2, trends.monthlyRejected[2]);
+
+        assertEquals(5, trends.totalApplications);
+        assertEquals("Undated applications still count overall", 2, trends.approvedCount);
+        assertEquals("Only REJECTED counts as rejected overall", 1, trends.rejectedCount);
+        assertEquals(1, trends.pendingCount);
+    }
+
+    @Test
+    public void testMonthlyTrendsOfNothing() {
+        LeaveReportService.MonthlyLeaveTrends trends =
+                LeaveReportService.summarizeMonthlyTrends(Collections.emptyList());
+        assertEquals(0, trends.totalApplications);
+        assertEquals(0, Arrays.stream(trends.monthlyCount).sum());
+    }
+}
@@ -0,0 +1,135 @@
+package com.revwf.service;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LoginThrottleTest {
+
+    private long now;
+    private LoginThrottle throttle;
+
+    @Before
+    public void setUp() {
+        now = 1_000_000L;
+        // 3 attempts in 60 seconds, then locked for 5 minutes
+        throttle = new LoginThrottle(3, 60_000, 300_000, null, () -> now);
+    }
+
+    @Test
+    public void testLocksAfterMaxAttemptsInWindow() {
+        assertFalse(throttle.recordFailure("EMP001"));
+        assertFalse(throttle.recordFailure("EMP001"));
+        assertTrue("Third failure locks", throttle.recordFailure("EMP001"));
+
+        assertEquals(300_000, throttle.getLockoutRemainingMillis("EMP001"));
+        assertEquals("Other IDs are unaffected", 0, throttle.getLockoutRemainingMillis("EMP002"));
+
+        now += 300_000;
+        assertEquals("Lock expires", 0, throttle.getLockoutRemainingMillis("EMP001"));
+    }
+
+    @Test
+    public void testOldFailuresSlideOutOfWindow() {
+        throttle.recordFailure("EMP001");
+        throttle.recordFailure("EMP001");
+        now += 61_000;
+
+        assertFalse("Earlier failures have expired", throttle.recordFailure("EMP001"));
+        assertEquals(0, throttle.getLockoutRemainingMillis("EMP001"));
+    }
+
+    @Test
+    public void testSuccessResetsFailures() {
+        throttle.recordFailure(" EMP001 ");
+        throttle.recordFailure("EMP001");
+        throttle.recordSuccess("EMP001");
+
+        assertFalse(throttle.recordFailure("EMP001"));
+        assertFalse(throttle.recordFailure("EMP001"));
+    }
+
+    @Test
+    public void testConcurrentAttemptsCannotExceedLimit() throws InterruptedException {
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    if (throttle.tryBeginAttempt("EMP001")) {
+                        admitted.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals("Only the limit may be verifying at once", 3, admitted.get());
+        throttle.recordFailure("EMP001");
+        throttle.recordFailure("EMP001");
+        assertTrue("The last admitted failure locks", throttle.recordFailure("EMP001"));
+        assertFalse(throttle.tryBeginAttempt("EMP001"));
+    }
+
+    @Test
+    public void testFinishedAttemptsReleaseTheirSlot() {
+        assertTrue(throttle.tryBeginAttempt("EMP001"));
+        assertTrue(throttle.tryBeginAttempt("EMP001"));
+        throttle.recordFailure("EMP001");
+        throttle.abandonAttempt("EMP001");
+        assertTrue(throttle.tryBeginAttempt("EMP001"));
+        assertTrue("One failure and one attempt in flight leave one slot", throttle.tryBeginAttempt("EMP001"));
+        assertFalse(throttle.tryBeginAttempt("EMP001"));
+
+        throttle.recordSuccess("EMP001");
+        throttle.recordSuccess("EMP001");
+        assertTrue("Success clears the failures", throttle.tryBeginAttempt("EMP001"));
+    }
+
+    @Test
+    public void testLockoutsAreStoredAndRestored() {
+        Map<String, Long> stored = new HashMap<>();
+        LoginThrottle.LockoutStore store = new LoginThrottle.LockoutStore() {
+            @Override
+            public void saveLockout(String employeeId, long lockedUntilMillis) {
+                stored.put(employeeId, lockedUntilMillis);
+            }
+
+            @Override
+            public void clearLockout(String employeeId) {
+                stored.remove(employeeId);
+            }
+
+            @Override
+            public Map<String, Long> loadActiveLockouts() {
+                return new HashMap<>(stored);
+            }
+        };
+        LoginThrottle first = new LoginThrottle(1, 60_000, 300_000, store, () -> now);
+        first.recordFailure("EMP001");
+
+        LoginThrottle restarted = new LoginThrottle(1, 60_000, 300_000, store, () -> now);
+        restarted.restoreLockouts();
+        assertEquals("Lock survives a restart", 300_000, restarted.getLockoutRemainingMillis("EMP001"));
+
+        restarted.unlock("EMP001");
+        assertEquals(0, restarted.getLockoutRemainingMillis("EMP001"));
+        assertTrue(stored.isEmpty());
+    }
+}
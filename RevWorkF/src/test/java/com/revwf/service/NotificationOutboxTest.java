@@ -0,0 +1,139 @@
+package com.revwf.service;
+
+import com.revwf.model.Notification;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class NotificationOutboxTest {
+
+    private Notification notification(int empId) {
+        return new Notification(empId, "Test", "Message", "SYSTEM_ANNOUNCEMENT");
+    }
+
+    @Test
+    public void testBackgroundWriterBatchesQueuedNotifications() throws InterruptedException {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch allQueued = new CountDownLatch(1);
+        // The writer holds its first batch until everything is queued, so the rest drain together
+        NotificationOutbox outbox = new NotificationOutbox(batch -> {
+            try {
+                allQueued.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batchSizes.add(batch.size());
+        }, 100, 50, 20, 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(outbox.enqueue(notification(i)));
+        }
+        allQueued.countDown();
+        outbox.shutdown();
+
+        assertEquals("All notifications should be written", 10, outbox.getMetrics().written);
+        assertEquals("Nothing should be left queued", 0, outbox.getMetrics().queueDepth);
+        assertTrue("Writes should be batched", batchSizes.size() <= 2);
+    }
+
+    @Test
+    public void testFullQueueFallsBackToDirectWrite() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationOutbox outbox = new NotificationOutbox(batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1, 1, 5, 5);
+
+        // The first is taken by the blocked writer, the second fills the queue
+        outbox.enqueue(notification(1));
+        Thread.sleep(50);
+        outbox.enqueue(notification(2));
+        release.countDown();
+        outbox.enqueue(notification(3));
+        outbox.shutdown();
+
+        NotificationOutbox.OutboxMetrics metrics = outbox.getMetrics();
+        assertEquals("Every notification is written exactly once", 3, metrics.written);
+        assertEquals("No failures expected", 0, metrics.failed);
+    }
+
+    @Test
+    public void testEnqueueAfterShutdownWritesDirectly() {
+        List<Integer> stored = new CopyOnWriteArrayList<>();
+        NotificationOutbox outbox = new NotificationOutbox(batch -> {
+            for (Notification notification : batch) {
+                stored.add(notification.getEmpId());
+            }
+        }, 10, 10, 20, 10);
+        outbox.shutdown();
+
+        assertTrue(outbox.enqueue(notification(7)));
+        assertEquals("Nothing is left in the stopped queue", 0, outbox.getMetrics().queueDepth);
+        assertTrue(stored.contains(7));
+    }
+
+    @Test
+    public void testFailedBatchIsCounted() {
+        NotificationOutbox outbox = new NotificationOutbox(batch -> {
+            throw new SQLException("down");
+        }, 10, 10, 1000, 10);
+
+        outbox.enqueue(notification(1));
+        outbox.shutdown();
+
+        assertEquals("Failed notification should be counted", 1, outbox.getMetrics().failed);
+    }
+
+    @Test
+    public void testBadRowOnlyDropsItself() {
+        List<Integer> stored = new CopyOnWriteArrayList<>();
+        NotificationOutbox outbox = new NotificationOutbox(batch -> {
+            for (Notification notification : batch) {
+                if (notification.getEmpId() == 13) {
+                    throw new SQLException("ORA-02291: parent key not found");
+                }
+            }
+            for (Notification notification : batch) {
+                stored.add(notification.getEmpId());
+            }
+        }, 10, 10, 1000, 10);
+
+        for (int i = 10; i < 15; i++) {
+            outbox.enqueue(notification(i));
+        }
+        outbox.shutdown();
+
+        assertEquals("Only the bad row is dropped", 1, outbox.getMetrics().failed);
+        assertEquals(4, outbox.getMetrics().written);
+        assertFalse(stored.contains(13));
+    }
+
+    @Test
+    public void testTransientFailureIsRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        NotificationOutbox outbox = new NotificationOutbox(batch -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new SQLException("connection reset");
+            }
+        }, 10, 10, 1000, 10);
+
+        outbox.enqueue(notification(1));
+        outbox.enqueue(notification(2));
+        outbox.shutdown();
+
+        assertTrue("The first write failed", calls.get() > 1);
+        assertEquals("The retry writes what failed", 2, outbox.getMetrics().written);
+        assertEquals(0, outbox.getMetrics().failed);
+    }
+}
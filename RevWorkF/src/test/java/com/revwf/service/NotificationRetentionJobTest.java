@@ -0,0 +1,80 @@
+package com.revwf.service;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class NotificationRetentionJobTest {
+
+    /**
+     * Pretends the table holds a fixed number of expired rows per type key
+     */
+    private static class FakeTable implements NotificationRetentionJob.ChunkDeleter {
+        final Map<String, Integer> expired = new HashMap<>();
+        final List<Collection<String>> exclusions = new ArrayList<>();
+
+        @Override
+        public int deleteChunk(String type, Collection<String> excludedTypes, int retentionDays, int chunkSize) {
+            String key = type != null ? type : "OTHER";
+            int remaining = expired.getOrDefault(key, 0);
+            int deleted = Math.min(remaining, chunkSize);
+            expired.put(key, remaining - deleted);
+            if (type == null) {
+                exclusions.add(excludedTypes);
+            }
+            return deleted;
+        }
+    }
+
+    @Test
+    public void testDeletesInChunksUntilShortChunk() {
+        FakeTable table = new FakeTable();
+        table.expired.put("OTHER", 25);
+        NotificationRetentionJob job = new NotificationRetentionJob(table, Collections.emptyMap(), 30, 10, 0);
+
+        NotificationRetentionJob.RetentionRun run = job.runNow();
+
+        assertEquals(25, run.rowsPurged);
+        assertEquals("10 + 10 + 5", 3, run.chunks);
+        assertTrue(run.completed);
+        assertSame(run, job.getLastRun());
+    }
+
+    @Test
+    public void testPerTypeRetentionIsExcludedFromDefaultPass() {
+        FakeTable table = new FakeTable();
+        table.expired.put("SYSTEM_ANNOUNCEMENT", 4);
+        table.expired.put("OTHER", 3);
+        Map<String, Integer> retention = new HashMap<>();
+        retention.put("SYSTEM_ANNOUNCEMENT", 90);
+        NotificationRetentionJob job = new NotificationRetentionJob(table, retention, 30, 10, 0);
+
+        NotificationRetentionJob.RetentionRun run = job.runNow();
+
+        assertEquals(Integer.valueOf(4), run.purgedByType.get("SYSTEM_ANNOUNCEMENT"));
+        assertEquals(Integer.valueOf(3), run.purgedByType.get("OTHER"));
+        assertTrue("Default pass skips types with their own period",
+                table.exclusions.get(0).contains("SYSTEM_ANNOUNCEMENT"));
+    }
+
+    @Test
+    public void testErrorEndsRunAsIncomplete() {
+        NotificationRetentionJob job = new NotificationRetentionJob((type, excluded, days, size) -> {
+            throw new SQLException("locked");
+        }, Collections.emptyMap(), 30, 10, 0);
+
+        NotificationRetentionJob.RetentionRun run = job.runNow();
+
+        assertFalse(run.completed);
+        assertEquals(0, run.rowsPurged);
+        assertEquals(1, job.getHistory().size());
+    }
+}
@@ -0,0 +1,72 @@
+package com.revwf.service;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class OrgChartTest {
+
+    private OrgChart chart;
+
+    @Before
+    public void setUp() {
+        // 1 is the top; 2 and 3 report to 1; 4 and 5 report to 2
+        chart = new OrgChart();
+        chart.rebuild(new int[] { 1, 2, 3, 4, 5 }, new int[] { 0, 1, 1, 2, 2 });
+    }
+
+    @Test
+    public void testSpanAndSubtreeSize() {
+        assertEquals("Direct reports of 1", 2, chart.getSpanOfControl(1));
+        assertEquals("Everyone below 1", 4, chart.getSubtreeSize(1));
+        assertEquals("Everyone below 2", 2, chart.getSubtreeSize(2));
+        assertEquals("Leaf has no reports", 0, chart.getSubtreeSize(5));
+    }
+
+    @Test
+    public void testDescendantsCoverWholeSubtree() {
+        int[] below = chart.getDescendants(1);
+        Arrays.sort(below);
+        assertArrayEquals(new int[] { 2, 3, 4, 5 }, below);
+        assertArrayEquals(new int[0], chart.getDescendants(99));
+    }
+
+    @Test
+    public void testAncestorsNearestFirst() {
+        assertArrayEquals(new int[] { 2, 1 }, chart.getAncestors(4));
+        assertArrayEquals(new int[0], chart.getAncestors(1));
+    }
+
+    @Test
+    public void testCycleDetection() {
+        assertTrue("Manager under own report", chart.wouldCreateCycle(1, 4));
+        assertTrue("Self as manager", chart.wouldCreateCycle(3, 3));
+        assertFalse("Sideways move is fine", chart.wouldCreateCycle(4, 3));
+    }
+
+    @Test
+    public void testRemovedEmployeeLeavesTheHierarchy() {
+        chart.remove(2);
+
+        assertArrayEquals(new int[] { 3 }, chart.getDirectReports(1));
+        assertArrayEquals(new int[] { 3 }, chart.getDescendants(1));
+        assertArrayEquals("Reports of the removed manager are detached", new int[0], chart.getAncestors(4));
+        assertEquals(4, chart.size());
+    }
+
+    @Test
+    public void testSetManagerMovesEdges() {
+        chart.setManager(4, 3);
+
+        assertEquals("2 lost a report", 1, chart.getSpanOfControl(2));
+        assertEquals("3 gained a report", 1, chart.getSpanOfControl(3));
+        assertArrayEquals(new int[] { 3, 1 }, chart.getAncestors(4));
+
+        chart.setManager(40, 5);
+        assertEquals("New employee beyond the arrays", 6, chart.size());
+        assertEquals("Subtree of 2 includes the new hire", 2, chart.getSubtreeSize(2));
+    }
+}
@@ -0,0 +1,110 @@
+package com.revwf.service;
+
+import com.revwf.model.Permission;
+import com.revwf.model.User;
+import com.revwf.model.UserRole;
+import com.revwf.model.UserSession;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SessionRegistryTest {
+
+    private long now;
+    private SessionRegistry registry;
+
+    @Before
+    public void setUp() {
+        now = 10_000_000L;
+        // 30 second idle timeout, 2 minute absolute limit, 1 second ticks
+        registry = new SessionRegistry(30_000, 120_000, 1000, () -> now);
+    }
+
+    private User user(int userId) {
+        User user = new User("EMP00" + userId, "emp" + userId + "@revwf.com", "hash", UserRole.EMPLOYEE);
+        user.setUserId(userId);
+        return user;
+    }
+
+    @Test
+    public void testSessionsAreIndependent() {
+        UserSession first = registry.create(user(1));
+        UserSession second = registry.create(user(2));
+
+        assertNotEquals(first.getToken(), second.getToken());
+        assertSame(first, registry.touch(first.getToken()));
+        assertEquals(2, registry.size());
+
+        registry.invalidate(first.getToken());
+        assertNull(registry.touch(first.getToken()));
+        assertSame(second, registry.touch(second.getToken()));
+    }
+
+    @Test
+    public void testIdleSessionIsSweptAndActiveOneKept() {
+        UserSession idle = registry.create(user(1));
+        UserSession active = registry.create(user(2));
+
+        for (int second = 0; second < 40; second++) {
+            now += 1000;
+            registry.touch(active.getToken());
+            registry.advance();
+        }
+
+        assertEquals("Only the idle session was swept", 1, registry.size());
+        assertNull(registry.peek(idle.getToken()));
+        assertNotNull(registry.peek(active.getToken()));
+    }
+
+    @Test
+    public void testAbsoluteExpiryEndsActiveSession() {
+        UserSession session = registry.create(user(1));
+
+        for (int second = 0; second < 121; second++) {
+            now += 1000;
+            registry.touch(session.getToken());
+            registry.advance();
+        }
+
+        assertNull("Activity cannot outlive the absolute limit", registry.peek(session.getToken()));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testInvalidateUserClosesAllSessions() {
+        registry.create(user(1));
+        registry.create(user(1));
+        registry.create(user(2));
+
+        assertEquals(2, registry.invalidateUser(1));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testInvalidateUserCanKeepTheCurrentSession() {
+        UserSession current = registry.create(user(1));
+        registry.create(user(1));
+
+        assertEquals(1, registry.invalidateUser(1, current.getToken()));
+        assertSame(current, registry.peek(current.getToken()));
+    }
+
+    @Test
+    public void testPermissionBitsFollowRole() {
+        UserSession session = registry.create(user(1));
+        long approvals = Permission.maskOf(Permission.VIEW_TEAM, Permission.APPROVE_LEAVE);
+
+        assertTrue(session.hasPermission(Permission.APPLY_LEAVE));
+        assertFalse(session.hasAny(approvals));
+
+        User promoted = user(1);
+        promoted.setRole(UserRole.MANAGER);
+        assertEquals(1, registry.refreshUser(promoted));
+
+        assertTrue("Open session picks up the new role", session.hasAll(approvals));
+        assertFalse(session.hasPermission(Permission.MANAGE_USERS));
+        assertEquals(UserRole.MANAGER, session.getUser().getRole());
+    }
+}
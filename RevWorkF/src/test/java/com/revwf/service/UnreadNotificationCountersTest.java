@@ -0,0 +1,66 @@
+package com.revwf.service;
+
+import com.revwf.model.Notification;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class UnreadNotificationCountersTest {
+
+    @Test
+    public void testCountsFollowWritesWithoutReloading() throws SQLException {
+        Map<Integer, Integer> database = new HashMap<>();
+        database.put(1, 2);
+        int[] loads = new int[1];
+        UnreadNotificationCounters counters = new UnreadNotificationCounters(() -> {
+            loads[0]++;
+            return new HashMap<>(database);
+        });
+
+        assertEquals("Initial count comes from the database", 2, counters.getUnreadCount(1));
+        counters.recordCreated(Arrays.asList(
+                new Notification(1, "A", "a", "SYSTEM_ANNOUNCEMENT"),
+                new Notification(2, "B", "b", "SYSTEM_ANNOUNCEMENT")));
+        counters.recordRead(1);
+
+        assertEquals("Two plus one minus one", 2, counters.getUnreadCount(1));
+        assertEquals("New employee counted", 1, counters.getUnreadCount(2));
+        counters.recordAllRead(2);
+        assertEquals("All read", 0, counters.getUnreadCount(2));
+        assertEquals("Database loaded only once", 1, loads[0]);
+    }
+
+    @Test
+    public void testReadNeverGoesNegative() {
+        UnreadNotificationCounters counters = new UnreadNotificationCounters(HashMap::new);
+
+        counters.recordCreated(5, 1);
+        counters.recordRead(5);
+        counters.recordRead(5);
+
+        assertEquals(0, counters.getUnreadCount(5));
+    }
+
+    @Test
+    public void testReconcileRepairsDrift() throws SQLException {
+        Map<Integer, Integer> database = new HashMap<>();
+        database.put(1, 3);
+        UnreadNotificationCounters counters = new UnreadNotificationCounters(() -> new HashMap<>(database));
+        assertEquals(3, counters.getUnreadCount(1));
+
+        // Another process marked everything read and wrote for employee 2
+        database.remove(1);
+        database.put(2, 4);
+        assertTrue(counters.reconcile());
+
+        assertEquals(0, counters.getUnreadCount(1));
+        assertEquals(4, counters.getUnreadCount(2));
+        assertEquals("Both employees were off", 2, counters.getCorrectionCount());
+    }
+}
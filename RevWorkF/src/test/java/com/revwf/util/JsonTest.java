@@ -0,0 +1,78 @@
+package com.revwf.util;
+
+import org.junit.Test;
+
+import com.revwf.model.User;
+import com.revwf.model.UserRole;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class JsonTest {
+
+    public static class Result {
+        public final boolean success;
+        public final String message;
+
+        public Result(boolean success, String message) {
+            this.success = success;
+            this.message = message;
+        }
+    }
+
+    @Test
+    public void testWriteValuesAndEscapes() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "a \"quoted\"\nline");
+        map.put("count", 3);
+        map.put("ids", new int[] {1, 2});
+        map.put("list", Arrays.asList(true, null));
+        map.put("role", UserRole.ADMIN);
+
+        assertEquals("{\"name\":\"a \\\"quoted\\\"\\nline\",\"count\":3,\"ids\":[1,2],"
+                + "\"list\":[true,null],\"role\":\"ADMIN\"}", Json.write(map));
+    }
+
+    @Test
+    public void testWriteUsesPublicFieldsOfResultClasses() {
+        assertEquals("{\"success\":true,\"message\":\"ok\"}", Json.write(new Result(true, "ok")));
+    }
+
+    @Test
+    public void testWriteOmitsPasswordHash() {
+        User user = new User("EMP001", "emp@example.com", "secret-hash", UserRole.EMPLOYEE);
+        String json = Json.write(user);
+
+        assertTrue(json.contains("\"employeeId\":\"EMP001\""));
+        assertFalse("Password hash must never be serialized", json.contains("secret-hash"));
+        assertFalse(json.contains("\"class\""));
+    }
+
+    @Test
+    public void testParseObject() {
+        Map<String, Object> body = Json.parseObject(
+                "{ \"id\": 42, \"ratio\": 1.5, \"ok\": false, \"name\": \"x\\u0041\", \"ids\": [1, 2], \"none\": null }");
+
+        assertEquals(42L, body.get("id"));
+        assertEquals(1.5, body.get("ratio"));
+        assertEquals(Boolean.FALSE, body.get("ok"));
+        assertEquals("xA", body.get("name"));
+        assertEquals(List.of(1L, 2L), body.get("ids"));
+        assertTrue(body.containsKey("none"));
+        assertTrue(Json.parseObject("").isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseRejectsTrailingContent() {
+        Json.parseObject("{\"a\":1} x");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseRejectsNonObject() {
+        Json.parseObject("[1,2]");
+    }
+}
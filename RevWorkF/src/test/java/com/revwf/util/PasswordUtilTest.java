@@ -21,17 +21,45 @@ public class PasswordUtilTest {
         assertEquals("Same password should produce same hash", hash, hash2);
     }
     
-//    @Test
-//    public void testVerifyPassword() {
-//        String password = "admin123";
-//        
-//        // For simple implementation, password verification is direct comparison
-//        assertTrue("Password should verify correctly", 
-//                  PasswordUtil.verifyPassword(password, password));
-//        
-//        assertFalse("Wrong password should not verify", 
-//                   PasswordUtil.verifyPassword(password, "wrongpassword"));
-//    }
+    @Test
+    public void testVerifyPassword() {
+        String hash = PasswordUtil.hashPassword("admin123", 1000);
+
+        assertTrue("Password should verify against its salted hash",
+                  PasswordUtil.verifyPassword("admin123", hash));
+        assertFalse("Wrong password should not verify",
+                   PasswordUtil.verifyPassword("wrongpassword", hash));
+        assertFalse("Corrupt hash should not verify",
+                   PasswordUtil.verifyPassword("admin123", "pbkdf2-sha256$1000$bad"));
+    }
+
+    @Test
+    public void testLegacyHashesVerifyAndNeedRehash() {
+        assertTrue("Plain stored password still verifies",
+                  PasswordUtil.verifyPassword("admin123", "admin123"));
+        assertTrue("Unsalted SHA-256 still verifies",
+                  PasswordUtil.verifyPassword("admin123", PasswordUtil.simpleHash("admin123")));
+        assertTrue("Legacy formats are upgraded",
+                  PasswordUtil.needsRehash(PasswordUtil.simpleHash("admin123"), 1000));
+    }
+
+    @Test
+    public void testLegacyHashIsNotAcceptedAsPassword() {
+        String stored = PasswordUtil.simpleHash("x");
+
+        assertFalse("The stored hex must not work as the password",
+                   PasswordUtil.verifyPassword(stored, stored));
+        assertTrue(PasswordUtil.verifyPassword("x", stored));
+    }
+
+    @Test
+    public void testNeedsRehashWhenWorkFactorChanges() {
+        String hash = PasswordUtil.hashPassword("admin123", 1000);
+
+        assertTrue(hash.startsWith("pbkdf2-sha256$1000$"));
+        assertFalse("Same work factor is current", PasswordUtil.needsRehash(hash, 1000));
+        assertTrue("Raised work factor needs rehash", PasswordUtil.needsRehash(hash, 2000));
+    }
     
     @Test
     public void testIsValidPassword() {
@@ -75,7 +103,6 @@ public class PasswordUtilTest {
         
         // Test that same password produces different hashes (due to salt)
         String hash2 = PasswordUtil.hashPassword(password);
-        // Note: With salt, hashes will be different each time
-        assertNotNull("Second hash should not be null", hash2);
+        assertNotEquals("Salted hashes should differ", hash, hash2);
     }
 }
\ No newline at end of file